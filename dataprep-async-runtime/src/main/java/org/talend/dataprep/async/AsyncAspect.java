@@ -14,6 +14,11 @@ package org.talend.dataprep.async;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.aspectj.lang.ProceedingJoinPoint;
@@ -66,6 +71,12 @@ public class AsyncAspect {
     @Value("${async-runtime.contextPath:}")
     private String contextPath;
 
+    /**
+     * Registrations of executions scheduled by this aspect (by execution id): a registration is added before the
+     * execution is looked up and scheduled, and removed once the scheduled task completes.
+     */
+    private final ConcurrentMap<String, CompletableFuture<AsyncExecution>> registrations = new ConcurrentHashMap<>();
+
     /**
      * Intercept all the calls to a @RequestMapping method annotated with @AsyncOperation.
      *
@@ -74,36 +85,126 @@ public class AsyncAspect {
     @Around(value = "@annotation(org.springframework.web.bind.annotation.RequestMapping) && @annotation(org.talend.dataprep.async.AsyncOperation)")
     public Object runAsynchronously(final ProceedingJoinPoint pjp) {
 
-        String executionId = getExecutionId(pjp);
-        AsyncExecution asyncExecution = repository.get(executionId);
-
-        if (asyncExecution == null || asyncExecution.getStatus() != AsyncExecution.Status.RUNNING) {
-            // the method is not running actually
-            if (executeAsynchronously(pjp)
-                    || (asyncExecution != null && asyncExecution.getStatus() == AsyncExecution.Status.NEW)) {
-                // we need to launch it asynchronously or asyncMethod is on NEW status (we can  resume it)
-                AsyncExecution future = scheduleAsynchroneTask(pjp,
-                        asyncExecution != null && asyncExecution.getStatus() == AsyncExecution.Status.NEW);
-                LOGGER.debug("Scheduling done, Redirecting to execution queue...");
-
-                // return at once with an HTTP 202 + location to get the progress
-                set202HeaderInformation(future);
-                LOGGER.debug("Redirection done.");
+        final String executionId = getExecutionId(pjp);
+        final AsyncExecution asyncExecution;
+        if (executionId == null) {
+            asyncExecution = schedule(pjp, null, null, null);
+        } else {
+            asyncExecution = joinOrRegister(pjp, executionId);
+        }
+
+        if (asyncExecution == null) {
+            try {
+                return pjp.proceed();
+            } catch (Throwable throwable) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, throwable);
+            }
+        }
+
+        // return at once with an HTTP 202 + location to get the progress
+        set202HeaderInformation(asyncExecution);
+        LOGGER.debug("Redirection done.");
+        return null;
+    }
+
+    /**
+     * Joins the execution with the given id if this aspect scheduled it and it is still in flight, registers (and
+     * schedules if needed) the execution otherwise. Identical concurrent requests wait for the first one to be
+     * registered instead of scheduling the same execution again.
+     *
+     * @param pjp the proceeding join point.
+     * @param executionId the execution id.
+     * @return the execution to redirect to, or <code>null</code> if method must be executed synchronously.
+     */
+    private AsyncExecution joinOrRegister(ProceedingJoinPoint pjp, String executionId) {
+        while (true) {
+            final CompletableFuture<AsyncExecution> registration = new CompletableFuture<>();
+            final CompletableFuture<AsyncExecution> registered = registrations.putIfAbsent(executionId, registration);
+            if (registered == null) {
+                return register(pjp, executionId, registration);
+            }
+            final AsyncExecution joined = join(executionId, registered);
+            if (joined != null) {
+                LOGGER.debug("Async Method with id {} is already in flight", executionId);
+                return joined;
+            }
+            // registered execution is over (e.g. cancelled before it ran): forget it and try again
+            registrations.remove(executionId, registered);
+        }
+    }
+
+    /**
+     * @return the registered execution if it is still in flight (as stored in repository), <code>null</code>
+     * otherwise.
+     */
+    private AsyncExecution join(String executionId, CompletableFuture<AsyncExecution> registered) {
+        final AsyncExecution registeredExecution;
+        try {
+            registeredExecution = registered.join();
+        } catch (CompletionException | CancellationException e) {
+            LOGGER.debug("Registration of execution {} failed.", executionId, e);
+            return null;
+        }
+        if (registeredExecution == null) {
+            return null;
+        }
+        final AsyncExecution execution = repository.get(executionId);
+        return execution != null && isInFlight(execution) ? execution : null;
+    }
+
+    /**
+     * Schedules the execution (with the registration held by this request). The registration is kept while the
+     * scheduled task is in flight, and removed at once otherwise.
+     */
+    private AsyncExecution register(ProceedingJoinPoint pjp, String executionId,
+            CompletableFuture<AsyncExecution> registration) {
+        final Runnable unregister = () -> registrations.remove(executionId, registration);
+        AsyncExecution asyncExecution = null;
+        boolean scheduled = false;
+        try {
+            final AsyncExecution existing = repository.get(executionId);
+            if (existing != null && existing.getStatus() == AsyncExecution.Status.RUNNING) {
+                LOGGER.debug("Async Method with id {} is already running", existing.getId());
+                asyncExecution = existing;
             } else {
-                try {
-                    return pjp.proceed();
-                } catch (Throwable throwable) {
-                    throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, throwable);
-                }
+                asyncExecution = schedule(pjp, executionId, existing, unregister);
+                scheduled = asyncExecution != null;
+            }
+            return asyncExecution;
+        } finally {
+            registration.complete(asyncExecution);
+            if (!scheduled) {
+                unregister.run();
             }
-        } else {
-            LOGGER.debug("Async Method with id {} is already running", asyncExecution.getId());
-            set202HeaderInformation(asyncExecution);
         }
+    }
 
+    /**
+     * Schedules the execution (resumes it if it was created by a dispatcher).
+     *
+     * @param pjp the proceeding join point.
+     * @param executionId the execution id (may be <code>null</code>).
+     * @param existing the execution found in repository (may be <code>null</code>).
+     * @param onCompletion called once the scheduled task completes (may be <code>null</code>).
+     * @return the scheduled execution, or <code>null</code> if method must be executed synchronously.
+     */
+    private AsyncExecution schedule(ProceedingJoinPoint pjp, String executionId, AsyncExecution existing,
+            Runnable onCompletion) {
+        // asyncMethod is on NEW status (created by a dispatcher) so we can resume it
+        final boolean resume = existing != null && existing.getStatus() == AsyncExecution.Status.NEW;
+        if (resume || executeAsynchronously(pjp)) {
+            final AsyncExecution future = scheduleAsynchroneTask(pjp, executionId, resume, onCompletion);
+            LOGGER.debug("Scheduling done, Redirecting to execution queue...");
+            return future;
+        }
         return null;
     }
 
+    private static boolean isInFlight(AsyncExecution execution) {
+        return execution.getStatus() == AsyncExecution.Status.NEW
+                || execution.getStatus() == AsyncExecution.Status.RUNNING;
+    }
+
     private void set202HeaderInformation(AsyncExecution future) {
         HttpResponseContext.status(HttpStatus.ACCEPTED);
         String statusCheckURL = generateLocationUrl(future);
@@ -113,7 +214,8 @@ public class AsyncAspect {
         HttpResponseContext.header(HttpHeaders.RETRY_AFTER, "1");
     }
 
-    private AsyncExecution scheduleAsynchroneTask(ProceedingJoinPoint pjp, boolean resumeExistingAsyncExecution) {
+    private AsyncExecution scheduleAsynchroneTask(ProceedingJoinPoint pjp, String executionId,
+            boolean resumeExistingAsyncExecution, Runnable onCompletion) {
         if (LOGGER.isDebugEnabled()) {
             final RequestMapping requestMapping = AspectHelper.getAnnotation(pjp, RequestMapping.class);
             LOGGER.debug("Scheduling for execution of {} ({})", pjp.getSignature().toLongString(),
@@ -124,9 +226,9 @@ public class AsyncAspect {
         @SuppressWarnings("unchecked")
         final AsyncExecution future;
         if (resumeExistingAsyncExecution) {
-            future = executor.resume(toCallable(pjp), getExecutionId(pjp), getResultUrl(pjp));
+            future = executor.resume(toCallable(pjp, onCompletion), executionId, getResultUrl(pjp));
         } else {
-            future = executor.queue(toCallable(pjp), getExecutionId(pjp), getGroupId(pjp), getResultUrl(pjp));
+            future = executor.queue(toCallable(pjp, onCompletion), executionId, getGroupId(pjp), getResultUrl(pjp));
         }
         return future;
     }
@@ -147,9 +249,10 @@ public class AsyncAspect {
      * Wrap the pjp result into a callable to be able to store the latter in a task executor.
      *
      * @param pjp the proceeding join point.
+     * @param onCompletion called once the pjp completes (may be <code>null</code>).
      * @return the callable from the pjp.
      */
-    private ManagedTaskExecutor.ManagedTaskCallable toCallable(ProceedingJoinPoint pjp) {
+    private ManagedTaskExecutor.ManagedTaskCallable toCallable(ProceedingJoinPoint pjp, Runnable onCompletion) {
         return new ManagedTaskExecutor.ManagedTaskCallable() {
 
             @Override
@@ -170,6 +273,10 @@ public class AsyncAspect {
                     throw e;
                 } catch (Throwable throwable) {
                     throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, throwable);
+                } finally {
+                    if (onCompletion != null) {
+                        onCompletion.run();
+                    }
                 }
             }
         };
@@ -31,6 +31,7 @@ import org.springframework.core.task.AsyncListenableTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.springframework.util.concurrent.ListenableFuture;
 import org.springframework.util.concurrent.ListenableFutureCallback;
+import org.springframework.util.concurrent.ListenableFutureTask;
 import org.talend.daikon.exception.ExceptionContext;
 import org.talend.dataprep.async.progress.ExecutionContext;
 import org.talend.dataprep.async.repository.ManagedTaskRepository;
@@ -86,9 +87,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
 
         execution.setResult(resultUrl);
 
-        ListenableFuture future = delegate.submitListenable(wrapper);
-        future.addCallback(new AsyncListenableFutureCallback(execution));
-        futures.put(execution.getId(), future);
+        submit(wrapper, execution);
 
         LOGGER.debug("Execution {} resumed for execution.", execution.getId());
         return execution;
@@ -98,7 +97,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
      * @see ManagedTaskExecutor#queue(ManagedTaskCallable, String, String, AsyncExecutionResult)
      */
     @Override
-    public synchronized AsyncExecution queue(final ManagedTaskCallable task, String executionId, String groupId,
+    public AsyncExecution queue(final ManagedTaskCallable task, String executionId, String groupId,
             AsyncExecutionResult resultUrl) {
 
         // Create async execution
@@ -111,21 +110,42 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
 
         asyncExecution.setUserId(security.getUserId());
         asyncExecution.setTenantId(security.getTenantId());
-        repository.save(asyncExecution);
 
         // Wrap callable to get the running status.
         final Callable wrapper = wrapTaskWithProgressInformation(task, asyncExecution);
 
         asyncExecution.setResult(resultUrl);
 
-        ListenableFuture future = delegate.submitListenable(wrapper);
-        future.addCallback(new AsyncListenableFutureCallback(asyncExecution));
-        futures.put(asyncExecution.getId(), future);
+        submit(wrapper, asyncExecution);
 
         LOGGER.debug("Execution {} queued for execution.", asyncExecution.getId());
         return asyncExecution;
     }
 
+    /**
+     * Registers the task future <b>before</b> the task is submitted: a cancel can not miss a submitted task, and a
+     * task that completes at once removes its (already registered) future.
+     *
+     * @param task the task to run.
+     * @param asyncExecution the matching async execution monitor (saved before the task is submitted).
+     */
+    @SuppressWarnings("unchecked")
+    private void submit(Callable task, AsyncExecution asyncExecution) {
+        final ListenableFutureTask future = new ListenableFutureTask(task);
+        future.addCallback(new AsyncListenableFutureCallback(asyncExecution));
+        futures.put(asyncExecution.getId(), future);
+        repository.save(asyncExecution);
+        try {
+            delegate.execute(future);
+        } catch (RuntimeException e) {
+            futures.remove(asyncExecution.getId());
+            asyncExecution.setException(e);
+            asyncExecution.updateExecutionState(AsyncExecution.Status.FAILED);
+            repository.save(asyncExecution);
+            throw e;
+        }
+    }
+
     /**
      * Wrap the given task with progress information and update execution in the repository.
      *
@@ -158,7 +178,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
      * @see ManagedTaskExecutor#cancel(String)
      */
     @Override
-    public synchronized AsyncExecution cancel(final String id) {
+    public AsyncExecution cancel(final String id) {
         LOGGER.debug("Cancel execution #{}", id);
         final AsyncExecution asyncExecution = repository.get(id);
         if (asyncExecution != null) {
@@ -177,6 +197,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
             } catch (CancellationException e) {
                 LOGGER.debug("Cancel task {} exception.", id, e);
             } finally {
+                futures.remove(id);
                 asyncExecution.updateExecutionState(AsyncExecution.Status.CANCELLED);
                 repository.save(asyncExecution);
             }
@@ -225,6 +246,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
         public void onFailure(Throwable throwable) {
             if (throwable instanceof CancellationException) {
                 LOGGER.info("Execution {} is cancelled.", asyncExecution.getId(), throwable);
+                futures.remove(asyncExecution.getId());
             } else {
                 LOGGER.error("Execution {} finished with error.", asyncExecution.getId(), throwable);
                 try {
@@ -256,6 +278,8 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
                     futures.remove(asyncExecution.getId());
                     repository.save(asyncExecution);
                 }
+            } else {
+                futures.remove(asyncExecution.getId());
             }
         }
     }
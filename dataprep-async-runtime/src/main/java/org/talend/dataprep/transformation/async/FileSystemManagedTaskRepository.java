@@ -0,0 +1,149 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.async;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.async.AsyncExecution;
+import org.talend.dataprep.async.repository.ManagedTaskRepository;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.util.FilesHelper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ManagedTaskRepository implementation backed on the file system: executions are kept in memory (with the same bounds
+ * and expiry as {@link InMemoryManagedTaskRepository}) and each execution is also written as a JSON file so executions
+ * survive a restart.
+ *
+ * Executions that were not finished when the service stopped can't be resumed and are reloaded as failed.
+ */
+@Component
+@ConditionalOnProperty(name = "execution.store", havingValue = "file")
+public class FileSystemManagedTaskRepository extends InMemoryManagedTaskRepository {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemManagedTaskRepository.class);
+
+    /** Where to store the executions. */
+    @Value("${execution.store.file.location}")
+    private String storeLocation;
+
+    /** The dataprep ready jackson builder. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /**
+     * Make sure the root folder is there and load the stored executions.
+     */
+    @PostConstruct
+    void init() {
+        final File root = new File(storeLocation);
+        root.mkdirs();
+        final File[] files = root.listFiles();
+        if (files == null) {
+            return;
+        }
+        int count = 0;
+        for (File file : files) {
+            if (file.getName().startsWith(".")) {
+                LOGGER.info("Ignore hidden file {}", file.getName());
+                continue;
+            }
+            try {
+                final AsyncExecution execution = mapper.readerFor(AsyncExecution.class).readValue(file);
+                if (execution.getStatus() == AsyncExecution.Status.NEW
+                        || execution.getStatus() == AsyncExecution.Status.RUNNING) {
+                    execution.setError(CommonErrorCodes.UNEXPECTED_EXCEPTION);
+                    execution.updateExecutionState(AsyncExecution.Status.FAILED);
+                    save(execution);
+                } else {
+                    super.save(execution);
+                }
+                count++;
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read execution from {}, ignore it.", file, e);
+            }
+        }
+        LOGGER.info("{} execution(s) loaded from {}", count, storeLocation);
+    }
+
+    /**
+     * @see ManagedTaskRepository#save(AsyncExecution)
+     */
+    @Override
+    public void save(AsyncExecution asyncExecution) {
+        super.save(asyncExecution);
+        final File file = getFile(asyncExecution.getId());
+        try {
+            // write in a hidden temporary file first so a concurrent read never sees a partial execution
+            final File temp = File.createTempFile("." + file.getName(), ".tmp", file.getParentFile());
+            mapper.writer().writeValue(temp, asyncExecution);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.error("Error saving {}", asyncExecution, e);
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * @see ManagedTaskRepository#remove(String)
+     */
+    @Override
+    public void remove(String id) {
+        super.remove(id);
+        FilesHelper.deleteQuietly(getFile(id));
+    }
+
+    /**
+     * @see ManagedTaskRepository#clear()
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        final File[] files = new File(storeLocation).listFiles();
+        if (files != null) {
+            for (File file : files) {
+                FilesHelper.deleteQuietly(file);
+            }
+        }
+    }
+
+    @Override
+    protected void evict(AsyncExecution execution) {
+        super.evict(execution);
+        FilesHelper.deleteQuietly(getFile(execution.getId()));
+    }
+
+    /**
+     * @param id the execution id.
+     * @return the file where to read/write the execution.
+     */
+    private File getFile(String id) {
+        return new File(storeLocation + '/' + id);
+    }
+
+}
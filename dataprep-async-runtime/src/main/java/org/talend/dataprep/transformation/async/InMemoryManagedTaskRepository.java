@@ -12,53 +12,173 @@
 
 package org.talend.dataprep.transformation.async;
 
+import static java.util.Collections.emptySet;
+
+import java.util.Comparator;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.async.AsyncExecution;
 import org.talend.dataprep.async.repository.ManagedTaskRepository;
 
 /**
- * In-Memory implementation for the ManagedTaskRepository (only for tests)
+ * In-Memory implementation for the ManagedTaskRepository.
+ *
+ * Finished executions (DONE, FAILED or CANCELLED) expire after <code>execution.store.ttl</code> milliseconds, and the
+ * oldest finished executions are evicted when the repository holds more than <code>execution.store.max-size</code>
+ * executions (executions still running are never evicted). Executions are indexed by group id so listing a group
+ * does not scan all executions.
  */
 @Component
 @ConditionalOnProperty(name = "execution.store", havingValue = "in-memory", matchIfMissing = true)
 public class InMemoryManagedTaskRepository implements ManagedTaskRepository {
 
-    private Map<String, AsyncExecution> executions = new ConcurrentHashMap<>();
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryManagedTaskRepository.class);
+
+    /** Minimum delay between two purges of expired executions. */
+    private static final long PURGE_PERIOD = TimeUnit.MINUTES.toMillis(1);
+
+    /** Maximum number of executions held by the repository. */
+    @Value("${execution.store.max-size:10000}")
+    private int maxSize;
+
+    /** How long (in milliseconds) a finished execution is kept. */
+    @Value("${execution.store.ttl:3600000}")
+    private long timeToLive;
+
+    private final Map<String, AsyncExecution> executions = new ConcurrentHashMap<>();
+
+    /** Group id -> ids of the executions in group. */
+    private final Map<String, Set<String>> groups = new ConcurrentHashMap<>();
+
+    private volatile long lastPurge = System.currentTimeMillis();
 
     @Override
     public AsyncExecution get(String id) {
-        return executions.get(id);
+        final AsyncExecution execution = executions.get(id);
+        if (execution != null && isExpired(execution, System.currentTimeMillis())) {
+            evict(execution);
+            return null;
+        }
+        return execution;
     }
 
     @Override
     public Stream<AsyncExecution> list(String groupId) {
-        return executions.values().stream().filter((task) -> StringUtils.equals(task.getGroup(), groupId));
+        final long now = System.currentTimeMillis();
+        return groups.getOrDefault(StringUtils.defaultString(groupId), emptySet()).stream() //
+                .map(executions::get) //
+                .filter(Objects::nonNull) //
+                .filter(execution -> !isExpired(execution, now));
     }
 
     @Override
     public Stream<AsyncExecution> list() {
-        return executions.values().stream();
+        final long now = System.currentTimeMillis();
+        return executions.values().stream().filter(execution -> !isExpired(execution, now));
     }
 
     @Override
     public void remove(String id) {
-        executions.remove(id);
+        final AsyncExecution execution = executions.remove(id);
+        if (execution != null) {
+            unindex(execution);
+        }
     }
 
     @Override
     public void save(AsyncExecution asyncExecution) {
-        executions.put(asyncExecution.getId(), asyncExecution);
+        final AsyncExecution previous = executions.put(asyncExecution.getId(), asyncExecution);
+        if (previous != null && !StringUtils.equals(previous.getGroup(), asyncExecution.getGroup())) {
+            unindex(previous);
+        }
+        groups.compute(StringUtils.defaultString(asyncExecution.getGroup()), (group, ids) -> {
+            final Set<String> groupIds = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            groupIds.add(asyncExecution.getId());
+            return groupIds;
+        });
+
+        final long now = System.currentTimeMillis();
+        if (executions.size() > maxSize || now - lastPurge > PURGE_PERIOD) {
+            purge(now);
+        }
     }
 
     @Override
     public void clear() {
         executions.clear();
+        groups.clear();
+    }
+
+    /**
+     * Removes the expired executions, then the oldest finished ones if repository still holds too many executions.
+     *
+     * @param now the current time.
+     */
+    private synchronized void purge(long now) {
+        lastPurge = now;
+        executions.values().stream() //
+                .filter(execution -> isExpired(execution, now)) //
+                .forEach(this::evict);
+
+        final int excess = executions.size() - maxSize;
+        if (excess > 0) {
+            executions.values().stream() //
+                    .filter(InMemoryManagedTaskRepository::isFinished) //
+                    .sorted(Comparator.comparingLong(execution -> execution.getTime().getEndDate())) //
+                    .limit(excess) //
+                    .forEach(this::evict);
+            if (executions.size() > maxSize) {
+                LOGGER.warn("{} executions in repository (limit is {}) but all are still running.", executions.size(),
+                        maxSize);
+            }
+        }
+    }
+
+    /**
+     * Removes an execution that expired or got evicted from repository.
+     *
+     * @param execution the execution to evict.
+     */
+    protected void evict(AsyncExecution execution) {
+        LOGGER.debug("Evict execution #{} ({}).", execution.getId(), execution.getStatus());
+        if (executions.remove(execution.getId(), execution)) {
+            unindex(execution);
+        }
+    }
+
+    private void unindex(AsyncExecution execution) {
+        final String group = StringUtils.defaultString(execution.getGroup());
+        groups.computeIfPresent(group, (key, ids) -> {
+            ids.remove(execution.getId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private boolean isExpired(AsyncExecution execution, long now) {
+        return isFinished(execution) && now - execution.getTime().getEndDate() > timeToLive;
+    }
+
+    private static boolean isFinished(AsyncExecution execution) {
+        switch (execution.getStatus()) {
+        case DONE:
+        case FAILED:
+        case CANCELLED:
+            return true;
+        default:
+            return false;
+        }
     }
 
 }
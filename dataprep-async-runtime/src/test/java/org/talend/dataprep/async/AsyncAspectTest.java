@@ -18,9 +18,14 @@ import static org.junit.Assert.*;
 import static org.talend.dataprep.async.AsyncAspectTestMockController.cancelled;
 import static org.talend.dataprep.async.AsyncAspectTestMockController.stopped;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -230,6 +235,72 @@ public class AsyncAspectTest {
         assertGroupId("");
     }
 
+    @Test
+    public void shouldJoinExecutionInFlight() throws Exception {
+        // given
+        final String executionId = "execution-5678";
+        final int scheduled = executor.getScheduled();
+
+        // when
+        controller.executionIdFromPath(executionId);
+        controller.executionIdFromPath(executionId);
+
+        // then
+        assertEquals(scheduled + 1, executor.getScheduled());
+        assertEquals(1, repository.list().count());
+        assertEquals(AsyncExecution.Status.NEW, repository.get(executionId).getStatus());
+    }
+
+    @Test(timeout = 60000)
+    public void shouldScheduleConcurrentIdenticalRequestsOnce() throws Exception {
+        final int threads = 8;
+        final ExecutorService requests = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 20; round++) {
+                // given
+                final String executionId = "concurrent-" + round;
+                final int scheduled = executor.getScheduled();
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    calls.add(requests.submit(() -> {
+                        start.await();
+                        return controller.executionIdFromPath(executionId);
+                    }));
+                }
+
+                // when
+                start.countDown();
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+
+                // then
+                assertEquals(scheduled + 1, executor.getScheduled());
+                assertEquals(AsyncExecution.Status.NEW, repository.get(executionId).getStatus());
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldScheduleAgainOnceExecutionIsOver() throws Exception {
+        // given
+        final String executionId = "execution-9012";
+        final int scheduled = executor.getScheduled();
+        controller.executionIdFromPath(executionId);
+        executor.run(executionId);
+        assertEquals(AsyncExecution.Status.DONE, repository.get(executionId).getStatus());
+
+        // when
+        controller.executionIdFromPath(executionId);
+
+        // then
+        assertEquals(scheduled + 2, executor.getScheduled());
+        assertEquals(AsyncExecution.Status.NEW, repository.get(executionId).getStatus());
+    }
+
     /**
      * Assert that the only execution in the repository belongs to the given group.
      *
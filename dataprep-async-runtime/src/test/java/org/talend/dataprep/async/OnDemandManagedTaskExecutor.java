@@ -14,11 +14,12 @@ package org.talend.dataprep.async;
 
 import static org.talend.dataprep.async.AsyncExecution.Status.*;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,7 +40,10 @@ import org.talend.dataprep.transformation.pipeline.Signal;
 @ConditionalOnProperty(name = "test.managed.tasks", havingValue = "onDemand")
 public class OnDemandManagedTaskExecutor implements ManagedTaskExecutor {
 
-    private final Map<String, Callable> tasks = new HashMap<>();
+    private final Map<String, Callable> tasks = new ConcurrentHashMap<>();
+
+    /** Number of tasks queued or resumed. */
+    private final AtomicInteger scheduled = new AtomicInteger();
 
     /** Where the tasks are stored. */
     @Autowired
@@ -57,6 +61,7 @@ public class OnDemandManagedTaskExecutor implements ManagedTaskExecutor {
         }
 
         execution.setResult(result);
+        scheduled.incrementAndGet();
         tasks.put(execution.getId(), task);
         repository.save(execution);
 
@@ -79,12 +84,20 @@ public class OnDemandManagedTaskExecutor implements ManagedTaskExecutor {
 
         asyncExecution.updateExecutionState(AsyncExecution.Status.NEW);
         asyncExecution.setResult(result);
+        scheduled.incrementAndGet();
         tasks.put(asyncExecution.getId(), task);
         repository.save(asyncExecution);
 
         return asyncExecution;
     }
 
+    /**
+     * @return the number of tasks queued or resumed by this executor.
+     */
+    public int getScheduled() {
+        return scheduled.get();
+    }
+
     /**
      * Synchronously run the task that matches this id.
      *
@@ -0,0 +1,119 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.async.AsyncExecution;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class FileSystemManagedTaskRepositoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSystemManagedTaskRepository repository;
+
+    @Before
+    public void setUp() {
+        repository = newRepository();
+    }
+
+    @Test
+    public void shouldSaveAndGetExecution() {
+        // given
+        final AsyncExecution execution = new AsyncExecution("group-1", "1");
+
+        // when
+        repository.save(execution);
+
+        // then
+        assertNotNull(repository.get("1"));
+        assertTrue(new File(folder.getRoot(), "1").exists());
+        assertEquals(1, repository.list("group-1").count());
+    }
+
+    @Test
+    public void shouldReloadExecutionsOnRestart() {
+        // given
+        final AsyncExecution done = new AsyncExecution("group-1", "1");
+        done.updateExecutionState(AsyncExecution.Status.DONE);
+        final AsyncExecution running = new AsyncExecution("group-1", "2");
+        running.updateExecutionState(AsyncExecution.Status.RUNNING);
+        repository.save(done);
+        repository.save(running);
+
+        // when
+        final FileSystemManagedTaskRepository restarted = newRepository();
+
+        // then (running execution can't be resumed)
+        assertEquals(AsyncExecution.Status.DONE, restarted.get("1").getStatus());
+        assertEquals(AsyncExecution.Status.FAILED, restarted.get("2").getStatus());
+        assertEquals(2, restarted.list("group-1").count());
+    }
+
+    @Test
+    public void shouldDeleteFileOfEvictedExecution() {
+        // given
+        ReflectionTestUtils.setField(repository, "maxSize", 1);
+        final AsyncExecution oldest = new AsyncExecution("group-1", "1");
+        oldest.updateExecutionState(AsyncExecution.Status.DONE);
+        oldest.getTime().setEndDate(1000L);
+        final AsyncExecution newest = new AsyncExecution("group-1", "2");
+        newest.updateExecutionState(AsyncExecution.Status.DONE);
+
+        // when
+        repository.save(oldest);
+        repository.save(newest);
+
+        // then
+        assertNull(repository.get("1"));
+        assertFalse(new File(folder.getRoot(), "1").exists());
+        assertNull(newRepository().get("1"));
+    }
+
+    @Test
+    public void shouldDeleteFileOfRemovedExecution() {
+        // given
+        repository.save(new AsyncExecution("group-1", "1"));
+
+        // when
+        repository.remove("1");
+
+        // then
+        assertFalse(new File(folder.getRoot(), "1").exists());
+        assertNull(newRepository().get("1"));
+    }
+
+    private FileSystemManagedTaskRepository newRepository() {
+        final FileSystemManagedTaskRepository fileSystemRepository = new FileSystemManagedTaskRepository();
+        ReflectionTestUtils.setField(fileSystemRepository, "maxSize", 10);
+        ReflectionTestUtils.setField(fileSystemRepository, "timeToLive", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(fileSystemRepository, "storeLocation", folder.getRoot().getAbsolutePath());
+        ReflectionTestUtils.setField(fileSystemRepository, "mapper", new ObjectMapper());
+        fileSystemRepository.init();
+        return fileSystemRepository;
+    }
+}
@@ -0,0 +1,105 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.async;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.async.AsyncExecution;
+
+public class InMemoryManagedTaskRepositoryTest {
+
+    private final InMemoryManagedTaskRepository repository = new InMemoryManagedTaskRepository();
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(repository, "maxSize", 2);
+        ReflectionTestUtils.setField(repository, "timeToLive", 60000L);
+    }
+
+    @Test
+    public void shouldListExecutionsOfGroup() {
+        // given
+        repository.save(new AsyncExecution("group-1", "1"));
+        repository.save(new AsyncExecution("group-2", "2"));
+
+        // when
+        final List<AsyncExecution> executions = repository.list("group-1").collect(toList());
+
+        // then
+        assertEquals(1, executions.size());
+        assertEquals("1", executions.get(0).getId());
+    }
+
+    @Test
+    public void shouldUpdateGroupIndexOnRemove() {
+        // given
+        repository.save(new AsyncExecution("group-1", "1"));
+
+        // when
+        repository.remove("1");
+
+        // then
+        assertEquals(0, repository.list("group-1").count());
+    }
+
+    @Test
+    public void shouldExpireFinishedExecutions() {
+        // given
+        final AsyncExecution finished = new AsyncExecution("group-1", "1");
+        finished.updateExecutionState(AsyncExecution.Status.DONE);
+        finished.getTime().setEndDate(System.currentTimeMillis() - 120000L);
+        final AsyncExecution running = new AsyncExecution("group-1", "2");
+        running.updateExecutionState(AsyncExecution.Status.RUNNING);
+
+        // when
+        repository.save(finished);
+        repository.save(running);
+
+        // then
+        assertNull(repository.get("1"));
+        assertNotNull(repository.get("2"));
+        assertEquals(1, repository.list("group-1").count());
+    }
+
+    @Test
+    public void shouldEvictOldestFinishedExecutions() {
+        // given
+        final AsyncExecution running = new AsyncExecution("group-1", "1");
+        running.updateExecutionState(AsyncExecution.Status.RUNNING);
+        final AsyncExecution oldest = new AsyncExecution("group-1", "2");
+        oldest.updateExecutionState(AsyncExecution.Status.FAILED);
+        oldest.getTime().setEndDate(1000L);
+        final AsyncExecution newest = new AsyncExecution("group-1", "3");
+        newest.updateExecutionState(AsyncExecution.Status.DONE);
+
+        // when
+        ReflectionTestUtils.setField(repository, "timeToLive", Long.MAX_VALUE);
+        repository.save(running);
+        repository.save(oldest);
+        repository.save(newest);
+
+        // then
+        assertNotNull(repository.get("1"));
+        assertNull(repository.get("2"));
+        assertNotNull(repository.get("3"));
+        assertEquals(2, repository.list().count());
+    }
+}
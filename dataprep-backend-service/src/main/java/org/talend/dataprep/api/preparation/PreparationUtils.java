@@ -12,7 +12,6 @@
 
 package org.talend.dataprep.api.preparation;
 
-import static java.util.stream.Collectors.toList;
 import static org.talend.tql.api.TqlBuilder.in;
 
 import java.beans.PropertyDescriptor;
@@ -20,6 +19,7 @@ import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -125,20 +125,6 @@ public class PreparationUtils {
 
     }
 
-    private void __listSteps(final List<Step> steps, final String limit, final Step step,
-            final PreparationRepository repository) {
-        if (step == null) {
-            return;
-        }
-        steps.add(0, step);
-        if (limit.equals(step.getId())) {
-            return;
-        }
-        if (step.getParent() != null) {
-            __listSteps(steps, limit, repository.get(step.getParent(), Step.class), repository);
-        }
-    }
-
     /**
      * Return a list of all steps ids from root step to the provided step
      *
@@ -159,10 +145,7 @@ public class PreparationUtils {
      * @return The list of step ids from starting (limit) to step
      */
     public List<String> listStepsIds(final String stepId, final String limit, final PreparationRepository repository) {
-        return listSteps(repository.get(stepId, Step.class), limit, repository) //
-                .stream() //
-                .map(Step::id) //
-                .collect(toList());
+        return repository.getStepIds(stepId, limit);
     }
 
     /**
@@ -203,8 +186,13 @@ public class PreparationUtils {
         if (step == null) {
             return Collections.emptyList();
         }
-        final List<Step> steps = new LinkedList<>();
-        __listSteps(steps, limit, step, repository);
+        final List<Step> steps = new ArrayList<>();
+        if (!limit.equals(step.getId()) && step.getParent() != null) {
+            // resolve the ancestry first, then fetch all the steps at once
+            final List<String> parentIds = repository.getStepIds(step.getParent(), limit);
+            steps.addAll(repository.getAll(parentIds, Step.class));
+        }
+        steps.add(step);
         return steps;
     }
 
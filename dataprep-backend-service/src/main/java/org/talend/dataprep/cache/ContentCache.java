@@ -53,6 +53,21 @@ public interface ContentCache {
     @VolumeMetered
     InputStream get(ContentCacheKey key);
 
+    /**
+     * Returns the cached content for given key as stored, without decompression, if it is stored with the given
+     * encoding. This allows callers to serve compressed content as is (e.g. with a <code>Content-Encoding</code>
+     * header).
+     *
+     * @param key content cache key.
+     * @param encoding the expected content encoding (e.g. "gzip").
+     * @return The encoded content, or <code>null</code> if not in the cache or not stored with this encoding (callers
+     * should then use {@link #get(ContentCacheKey)}).
+     */
+    @VolumeMetered
+    default InputStream getEncoded(ContentCacheKey key, String encoding) {
+        return null;
+    }
+
     /**
      * Allow callers to create an entry in cache for given <code>preparationId</code> at step <code>stepId</code>.
      * Please note content is not passed in parameters but return of this method also callers to write in entry.
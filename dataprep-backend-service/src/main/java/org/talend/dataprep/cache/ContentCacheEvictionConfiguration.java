@@ -0,0 +1,123 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Capacity settings of the {@link ContentCache}. When the cache grows above one of the limits, entries are evicted
+ * (least recently or least frequently used first, depending on {@link #getPolicy() policy}).
+ * <p>
+ * Example:
+ * </p>
+ *
+ * <pre>
+ * content-service.cache.eviction.policy=LRU
+ * content-service.cache.eviction.max-bytes=10737418240
+ * content-service.cache.eviction.quotas.transformation-metadata=104857600
+ * </pre>
+ *
+ * Quotas are in bytes and apply per key type (the key prefix, see {@link #getKeyType(String)}): <i>transformation</i>
+ * for {@link TransformationCacheKey}, <i>transformation-metadata</i> for {@link TransformationMetadataCacheKey} and
+ * <i>dataset-sample</i> for {@link DataSetSampleCacheKey}.
+ */
+@Component
+@ConfigurationProperties(prefix = "content-service.cache.eviction")
+public class ContentCacheEvictionConfiguration {
+
+    /** Eviction policy (NONE for no capacity limit). */
+    private Policy policy = Policy.NONE;
+
+    /** Maximum total size of cache entries (in bytes), -1 for no limit. */
+    private long maxBytes = -1;
+
+    /** Maximum number of cache entries, -1 for no limit. */
+    private long maxEntries = -1;
+
+    /** Maximum total size (in bytes) of cache entries per key type. */
+    private Map<String, Long> quotas = new HashMap<>();
+
+    /**
+     * @param key a content cache key (as returned by {@link ContentCacheKey#getKey()}).
+     * @return the type of the key (i.e. its prefix).
+     */
+    public static String getKeyType(String key) {
+        final int index = key.indexOf('_');
+        return index < 0 ? key : key.substring(0, index);
+    }
+
+    /**
+     * @return <code>true</code> if cache capacity is bounded.
+     */
+    public boolean isEnabled() {
+        return policy != Policy.NONE && (maxBytes >= 0 || maxEntries >= 0 || !quotas.isEmpty());
+    }
+
+    /**
+     * @param keyType a key type.
+     * @return the quota (in bytes) for the key type, or -1 if there's no quota.
+     */
+    public long getQuota(String keyType) {
+        final Long quota = quotas.get(keyType);
+        return quota == null ? -1 : quota;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(Policy policy) {
+        this.policy = policy;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Map<String, Long> getQuotas() {
+        return quotas;
+    }
+
+    public void setQuotas(Map<String, Long> quotas) {
+        this.quotas = quotas;
+    }
+
+    /**
+     * Order in which entries are evicted.
+     */
+    public enum Policy {
+        /** No eviction on capacity (only on TTL). */
+        NONE,
+        /** Evict least recently used entries first. */
+        LRU,
+        /** Evict least frequently used entries first (least recently used first on tie). */
+        LFU
+    }
+}
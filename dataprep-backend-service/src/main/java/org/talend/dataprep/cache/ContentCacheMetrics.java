@@ -0,0 +1,108 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit, miss and eviction counters of the {@link ContentCache}, exposed as a JMX bean.
+ */
+@Component
+@ManagedResource(objectName = "org.talend.dataprep:type=ContentCache", description = "Content cache metrics")
+public class ContentCacheMetrics {
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final AtomicLong evictedBytes = new AtomicLong();
+
+    /** Supplies the current total size of cache entries (if known by cache implementation). */
+    private LongSupplier bytes = () -> -1;
+
+    /** Supplies the current number of cache entries (if known by cache implementation). */
+    private LongSupplier entries = () -> -1;
+
+    public void hit() {
+        hits.incrementAndGet();
+    }
+
+    public void miss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * Record the eviction of a cache entry to keep the cache in its capacity.
+     *
+     * @param size the size of the evicted entry.
+     */
+    public void evicted(long size) {
+        evictions.incrementAndGet();
+        evictedBytes.addAndGet(size);
+    }
+
+    /**
+     * Set the cache size suppliers (used by cache implementations that track their size).
+     *
+     * @param bytes supplies the total size of entries.
+     * @param entries supplies the number of entries.
+     */
+    public void setSizeSuppliers(LongSupplier bytes, LongSupplier entries) {
+        this.bytes = bytes;
+        this.entries = entries;
+    }
+
+    @ManagedAttribute(description = "Number of cache hits")
+    public long getHits() {
+        return hits.get();
+    }
+
+    @ManagedAttribute(description = "Number of cache misses")
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @ManagedAttribute(description = "Number of entries evicted to keep cache within its capacity")
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    @ManagedAttribute(description = "Total size of entries evicted to keep cache within its capacity")
+    public long getEvictedBytes() {
+        return evictedBytes.get();
+    }
+
+    @ManagedAttribute(description = "Total size of cache entries (-1 if unknown)")
+    public long getBytes() {
+        return bytes.getAsLong();
+    }
+
+    @ManagedAttribute(description = "Number of cache entries (-1 if unknown)")
+    public long getEntries() {
+        return entries.getAsLong();
+    }
+
+    @Override
+    public String toString() {
+        return "ContentCacheMetrics{" + "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                + ", evictedBytes=" + evictedBytes + ", bytes=" + getBytes() + ", entries=" + getEntries() + '}';
+    }
+}
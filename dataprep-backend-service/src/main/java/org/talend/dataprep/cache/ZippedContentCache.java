@@ -2,32 +2,79 @@ package org.talend.dataprep.cache;
 
 import static java.util.Optional.ofNullable;
 
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipException;
 
+import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.talend.dataprep.cache.codec.ContentCacheCodec;
+import org.talend.dataprep.cache.codec.ContentCacheCodecs;
+import org.talend.dataprep.cache.codec.GzipCodec;
+import org.talend.dataprep.cache.codec.NoCompressionCodec;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.metrics.Timed;
 import org.talend.dataprep.metrics.VolumeMetered;
 
 /**
- * An implementation of {@link ContentCache} that GZIP content for {@link #get(ContentCacheKey) gets} and
+ * An implementation of {@link ContentCache} that compresses content for {@link #get(ContentCacheKey) gets} and
  * {@link #put(ContentCacheKey, TimeToLive) puts}.
+ * <p>
+ * With the default settings (GZIP codec, no threshold), entries are plain GZIP content. Otherwise entries start with a
+ * header ({@link #MAGIC} followed by the {@link ContentCacheCodec#getId() codec id}) so that any entry can be read
+ * whatever the configured codec. Entries with neither header nor GZIP content are returned as is.
+ * </p>
+ * <p>
+ * GZIP entries (with or without header) can also be read without decompression with
+ * {@link #getEncoded(ContentCacheKey, String)}.
+ * </p>
  */
 public class ZippedContentCache implements ContentCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ZippedContentCache.class);
 
+    /** Magic bytes at the start of entries with a codec header. */
+    static final byte[] MAGIC = { 'T', 'D', 'P', 'Z' };
+
+    /** Content encoding of GZIP entries. */
+    public static final String GZIP_ENCODING = "gzip";
+
+    /** Magic bytes at the start of GZIP content. */
+    private static final byte[] GZIP_MAGIC = { (byte) 0x1f, (byte) 0x8b };
+
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+
     private final ContentCache delegate;
 
+    /** The codec for new entries. */
+    private final ContentCacheCodec codec;
+
+    /** Entries smaller than this size (in bytes) are not compressed. */
+    private final int threshold;
+
     public ZippedContentCache(ContentCache delegate) {
+        this(delegate, new GzipCodec(), 0);
+    }
+
+    /**
+     * @param delegate the content cache that stores compressed entries.
+     * @param codec the codec for new entries.
+     * @param threshold the minimum size (in bytes) of compressed entries, smaller entries are stored as is.
+     */
+    public ZippedContentCache(ContentCache delegate, ContentCacheCodec codec, int threshold) {
         this.delegate = delegate;
+        this.codec = codec;
+        this.threshold = Math.max(0, threshold);
     }
 
     @Override
@@ -42,7 +89,12 @@ public class ZippedContentCache implements ContentCache {
         return ofNullable(delegate.get(key)) //
                 .map(entry -> {
                     try {
-                        return new GZIPInputStream(entry);
+                        final InputStream content = entry.markSupported() ? entry : new BufferedInputStream(entry);
+                        final ContentCacheCodec entryCodec = readHeader(content);
+                        if (entryCodec != null) {
+                            return entryCodec.decompress(content);
+                        }
+                        return new GZIPInputStream(content);
                     } catch (ZipException e) {
                         try {
                             entry.close();
@@ -57,13 +109,58 @@ public class ZippedContentCache implements ContentCache {
                 .orElse(null);
     }
 
+    @Override
+    @VolumeMetered
+    public InputStream getEncoded(ContentCacheKey key, String encoding) {
+        if (!GZIP_ENCODING.equalsIgnoreCase(encoding)) {
+            return null;
+        }
+        final InputStream entry = delegate.get(key);
+        if (entry == null) {
+            return null;
+        }
+        try {
+            final byte[] header = new byte[HEADER_LENGTH];
+            if (entry instanceof FileInputStream) {
+                // Read header through file channel to keep the file stream (allows zero-copy transfers).
+                final FileChannel channel = ((FileInputStream) entry).getChannel();
+                final ByteBuffer buffer = ByteBuffer.wrap(header);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // read until header is complete or end of entry
+                }
+                final int offset = getGzipOffset(header, buffer.position());
+                if (offset >= 0) {
+                    channel.position(offset);
+                    return entry;
+                }
+            } else {
+                final InputStream content = entry.markSupported() ? entry : new BufferedInputStream(entry);
+                content.mark(HEADER_LENGTH);
+                final int offset = getGzipOffset(header, IOUtils.read(content, header));
+                if (offset >= 0) {
+                    content.reset();
+                    IOUtils.skipFully(content, offset);
+                    return content;
+                }
+            }
+            entry.close();
+            return null;
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
     @Override
     @VolumeMetered
     public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
         return ofNullable(delegate.put(key, timeToLive)) //
                 .map(entry -> {
                     try {
-                        return new GZIPOutputStream(entry);
+                        if (codec instanceof GzipCodec && threshold == 0) {
+                            // Plain GZIP content (readable by previous versions)
+                            return new GZIPOutputStream(entry);
+                        }
+                        return new CodecOutputStream(entry, codec, threshold);
                     } catch (IOException e) {
                         throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
                     }
@@ -94,4 +191,127 @@ public class ZippedContentCache implements ContentCache {
     public void clear() {
         delegate.clear();
     }
+
+    /**
+     * Reads the codec header (if any) of an entry.
+     *
+     * @param content the entry content (must support mark), positioned after header if entry has one.
+     * @return the codec of the entry or <code>null</code> if entry has no header.
+     * @throws IOException in case of read error, or if entry codec is unknown.
+     */
+    private static ContentCacheCodec readHeader(InputStream content) throws IOException {
+        final byte[] header = new byte[HEADER_LENGTH];
+        content.mark(HEADER_LENGTH);
+        int read = 0;
+        int count;
+        while (read < HEADER_LENGTH && (count = content.read(header, read, HEADER_LENGTH - read)) >= 0) {
+            read += count;
+        }
+        if (read == HEADER_LENGTH && Arrays.equals(MAGIC, Arrays.copyOf(header, MAGIC.length))) {
+            final ContentCacheCodec entryCodec = ContentCacheCodecs.byId(header[MAGIC.length]);
+            if (entryCodec == null) {
+                throw new IOException("Unknown codec for cache entry (id: " + header[MAGIC.length] + ").");
+            }
+            return entryCodec;
+        }
+        content.reset();
+        return null;
+    }
+
+    /**
+     * @param header the first bytes of an entry.
+     * @param length the number of bytes in <code>header</code>.
+     * @return the offset of GZIP content in entry, or -1 if entry does not hold GZIP content.
+     */
+    private static int getGzipOffset(byte[] header, int length) {
+        if (length == HEADER_LENGTH && Arrays.equals(MAGIC, Arrays.copyOf(header, MAGIC.length))) {
+            return ContentCacheCodecs.byId(header[MAGIC.length]) instanceof GzipCodec ? HEADER_LENGTH : -1;
+        }
+        if (length >= GZIP_MAGIC.length && header[0] == GZIP_MAGIC[0] && header[1] == GZIP_MAGIC[1]) {
+            return 0;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the header and the compressed content. The first bytes are buffered until <code>threshold</code> is
+     * reached: smaller entries are written without compression.
+     */
+    private static class CodecOutputStream extends OutputStream {
+
+        private final OutputStream entry;
+
+        private final ContentCacheCodec codec;
+
+        private final byte[] buffer;
+
+        private int count;
+
+        /** Where content is written once threshold is reached (<code>null</code> while buffering). */
+        private OutputStream target;
+
+        private boolean closed;
+
+        private CodecOutputStream(OutputStream entry, ContentCacheCodec codec, int threshold) throws IOException {
+            this.entry = entry;
+            this.codec = codec;
+            this.buffer = new byte[threshold];
+            if (threshold == 0) {
+                start(codec);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (target == null && count == buffer.length) {
+                start(codec);
+            }
+            if (target == null) {
+                buffer[count++] = (byte) b;
+            } else {
+                target.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (target == null && count + len > buffer.length) {
+                start(codec);
+            }
+            if (target == null) {
+                System.arraycopy(b, off, buffer, count, len);
+                count += len;
+            } else {
+                target.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // do not decide on compression on flush (content is flushed on close while buffering)
+            if (target != null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (target == null) {
+                start(new NoCompressionCodec());
+            }
+            target.close();
+        }
+
+        private void start(ContentCacheCodec entryCodec) throws IOException {
+            entry.write(MAGIC);
+            entry.write(entryCodec.getId());
+            target = entryCodec.compress(entry);
+            target.write(buffer, 0, count);
+            count = 0;
+        }
+    }
 }
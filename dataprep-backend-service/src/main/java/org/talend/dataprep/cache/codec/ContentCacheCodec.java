@@ -0,0 +1,51 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A compression codec for content cache entries. Each codec has a unique {@link #getId() id} written in the cache
+ * entry header, so entries can be read whatever the codec configured at the time of read.
+ *
+ * @see org.talend.dataprep.cache.ZippedContentCache
+ */
+public interface ContentCacheCodec {
+
+    /**
+     * @return the codec id (written in cache entries header, must never change for a codec).
+     */
+    byte getId();
+
+    /**
+     * @return the codec name (as used in configuration).
+     */
+    String getName();
+
+    /**
+     * @param out the stream where to write compressed content.
+     * @return a stream that compresses content to <code>out</code> (closing it closes <code>out</code>).
+     * @throws IOException in case of I/O error.
+     */
+    OutputStream compress(OutputStream out) throws IOException;
+
+    /**
+     * @param in the compressed content.
+     * @return a stream of decompressed content (closing it closes <code>in</code>).
+     * @throws IOException in case of I/O error.
+     */
+    InputStream decompress(InputStream in) throws IOException;
+}
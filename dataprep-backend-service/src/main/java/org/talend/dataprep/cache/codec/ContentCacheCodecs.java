@@ -0,0 +1,55 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.cache.codec;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Lookup of the available {@link ContentCacheCodec codecs}.
+ */
+public class ContentCacheCodecs {
+
+    /** Default level for the deflate codec. */
+    public static final int DEFAULT_LEVEL = 1;
+
+    private static final List<ContentCacheCodec> CODECS = Arrays.asList(new NoCompressionCodec(), new GzipCodec(),
+            new DeflateCodec(DEFAULT_LEVEL), new LzBlockCodec());
+
+    private ContentCacheCodecs() {
+    }
+
+    /**
+     * @param name a codec name (case insensitive).
+     * @param level the compression level (only used by codecs that support levels).
+     * @return the codec for the name.
+     * @throws IllegalArgumentException if there's no codec with this name.
+     */
+    public static ContentCacheCodec byName(String name, int level) {
+        if (DeflateCodec.NAME.equalsIgnoreCase(name)) {
+            return new DeflateCodec(level);
+        }
+        return CODECS.stream() //
+                .filter(codec -> codec.getName().equalsIgnoreCase(name)) //
+                .findFirst() //
+                .orElseThrow(() -> new IllegalArgumentException("Unknown content cache codec '" + name + "'."));
+    }
+
+    /**
+     * @param id a codec id (as written in cache entries).
+     * @return the codec for the id, <code>null</code> if there's no such codec.
+     */
+    public static ContentCacheCodec byId(byte id) {
+        return CODECS.stream().filter(codec -> codec.getId() == id).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,48 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.cache.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The GZIP codec (default settings), as used for all content cache entries before codecs were configurable.
+ */
+public class GzipCodec implements ContentCacheCodec {
+
+    /** Codec name for configuration. */
+    public static final String NAME = "gzip";
+
+    @Override
+    public byte getId() {
+        return 1;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out);
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        return new GZIPInputStream(in);
+    }
+}
@@ -0,0 +1,393 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.codec;
+
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A fast, pure Java, LZ77 block codec (in the spirit of LZ4): content is split in blocks of {@link #BLOCK_SIZE} bytes,
+ * each block is compressed independently using a single hash probe per position (no entropy coding). It trades
+ * compression ratio for speed when compared to gzip.
+ * <p>
+ * Stream format: a sequence of blocks, each starting with a type byte ({@link #COMPRESSED_BLOCK},
+ * {@link #STORED_BLOCK} or {@link #END} for the end of stream), followed by the decompressed length and (for compressed
+ * blocks) the compressed length as 4 bytes integers, then the block data.
+ * </p>
+ * <p>
+ * Compressed block format: a sequence of literal length (varint), literals, match length (varint, minus
+ * {@link #MIN_MATCH}, plus 1) and match offset (2 bytes). A block always ends with literals (possibly empty).
+ * </p>
+ */
+public class LzBlockCodec implements ContentCacheCodec {
+
+    /** Codec name for configuration. */
+    public static final String NAME = "lz";
+
+    /** Size of uncompressed blocks. */
+    static final int BLOCK_SIZE = 1 << 16;
+
+    private static final byte END = 0;
+
+    private static final byte COMPRESSED_BLOCK = 1;
+
+    private static final byte STORED_BLOCK = 2;
+
+    private static final int MIN_MATCH = 4;
+
+    private static final int MAX_OFFSET = 0xFFFF;
+
+    private static final int HASH_LOG = 14;
+
+    /** Do not look for matches in the last bytes of a block. */
+    private static final int LAST_LITERALS = 8;
+
+    @Override
+    public byte getId() {
+        return 3;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) {
+        return new LzBlockOutputStream(out);
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) {
+        return new LzBlockInputStream(in);
+    }
+
+    /**
+     * @param length an uncompressed length.
+     * @return the maximum compressed length for <code>length</code> bytes.
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 64 + 16;
+    }
+
+    /**
+     * Compress <code>src[0..length[</code> into <code>dst</code>.
+     *
+     * @param src the content to compress.
+     * @param length the length of content to compress.
+     * @param dst where to write compressed content (length must be at least {@link #maxCompressedLength(int)}).
+     * @param table a hash table (reused between calls) of 2^{@link #HASH_LOG} entries.
+     * @return the compressed length.
+     */
+    static int compress(byte[] src, int length, byte[] dst, int[] table) {
+        Arrays.fill(table, -1);
+        int ip = 0;
+        int anchor = 0;
+        int op = 0;
+        final int limit = length - LAST_LITERALS;
+        while (ip < limit) {
+            final int sequence = readInt(src, ip);
+            final int hash = (sequence * 0x9E3779B1) >>> (32 - HASH_LOG);
+            final int ref = table[hash];
+            table[hash] = ip;
+            if (ref >= 0 && ip - ref <= MAX_OFFSET && readInt(src, ref) == sequence) {
+                int matchLength = MIN_MATCH;
+                while (ip + matchLength < length && src[ref + matchLength] == src[ip + matchLength]) {
+                    matchLength++;
+                }
+                op = writeVarInt(dst, op, ip - anchor);
+                System.arraycopy(src, anchor, dst, op, ip - anchor);
+                op += ip - anchor;
+                op = writeVarInt(dst, op, matchLength - MIN_MATCH + 1);
+                final int offset = ip - ref;
+                dst[op++] = (byte) (offset >>> 8);
+                dst[op++] = (byte) offset;
+                ip += matchLength;
+                anchor = ip;
+            } else {
+                // skip faster in content that does not compress
+                ip += 1 + ((ip - anchor) >>> 6);
+            }
+        }
+        op = writeVarInt(dst, op, length - anchor);
+        System.arraycopy(src, anchor, dst, op, length - anchor);
+        return op + length - anchor;
+    }
+
+    /**
+     * Decompress <code>src[0..length[</code> into <code>dst</code>.
+     *
+     * @param src the compressed content.
+     * @param length the compressed content length.
+     * @param dst where to write decompressed content.
+     * @return the decompressed length.
+     * @throws IOException if compressed content is corrupted.
+     */
+    static int decompress(byte[] src, int length, byte[] dst) throws IOException {
+        final int[] position = { 0 };
+        int op = 0;
+        try {
+            while (true) {
+                final int literals = readVarInt(src, position);
+                System.arraycopy(src, position[0], dst, op, literals);
+                position[0] += literals;
+                op += literals;
+                if (position[0] >= length) {
+                    return op;
+                }
+                final int matchLength = readVarInt(src, position) - 1 + MIN_MATCH;
+                final int offset = ((src[position[0]] & 0xFF) << 8) | (src[position[0] + 1] & 0xFF);
+                position[0] += 2;
+                int ref = op - offset;
+                if (offset == 0 || ref < 0) {
+                    throw new IOException("Corrupted content (invalid match offset " + offset + ").");
+                }
+                // byte per byte copy (match may overlap)
+                for (int i = 0; i < matchLength; i++) {
+                    dst[op++] = dst[ref++];
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Corrupted content.", e);
+        }
+    }
+
+    private static int readInt(byte[] buffer, int index) {
+        return (buffer[index] & 0xFF) | (buffer[index + 1] & 0xFF) << 8 | (buffer[index + 2] & 0xFF) << 16
+                | (buffer[index + 3] & 0xFF) << 24;
+    }
+
+    private static int writeVarInt(byte[] buffer, int index, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer[index++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[index++] = (byte) value;
+        return index;
+    }
+
+    private static int readVarInt(byte[] buffer, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static int readInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            final int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Unexpected end of compressed content.");
+            }
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+
+    private static void readFully(InputStream in, byte[] buffer, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            final int count = in.read(buffer, read, length - read);
+            if (count < 0) {
+                throw new EOFException("Unexpected end of compressed content.");
+            }
+            read += count;
+        }
+    }
+
+    /**
+     * Buffers content in blocks and writes them compressed.
+     */
+    private static class LzBlockOutputStream extends FilterOutputStream {
+
+        private final byte[] block = new byte[BLOCK_SIZE];
+
+        private final byte[] compressed = new byte[maxCompressedLength(BLOCK_SIZE)];
+
+        private final int[] table = new int[1 << HASH_LOG];
+
+        private int length;
+
+        private boolean closed;
+
+        private LzBlockOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (length == BLOCK_SIZE) {
+                flushBlock();
+            }
+            block[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (length == BLOCK_SIZE) {
+                    flushBlock();
+                }
+                final int count = Math.min(len, BLOCK_SIZE - length);
+                System.arraycopy(b, off, block, length, count);
+                length += count;
+                off += count;
+                len -= count;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBlock();
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flushBlock();
+                out.write(END);
+            } finally {
+                out.close();
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            if (length == 0) {
+                return;
+            }
+            final int compressedLength = compress(block, length, compressed, table);
+            if (compressedLength < length) {
+                out.write(COMPRESSED_BLOCK);
+                writeInt(out, length);
+                writeInt(out, compressedLength);
+                out.write(compressed, 0, compressedLength);
+            } else {
+                out.write(STORED_BLOCK);
+                writeInt(out, length);
+                out.write(block, 0, length);
+            }
+            length = 0;
+        }
+    }
+
+    /**
+     * Reads and decompresses blocks.
+     */
+    private static class LzBlockInputStream extends InputStream {
+
+        private final InputStream in;
+
+        private final byte[] block = new byte[BLOCK_SIZE];
+
+        private final byte[] compressed = new byte[maxCompressedLength(BLOCK_SIZE)];
+
+        private int length;
+
+        private int position;
+
+        private boolean end;
+
+        private LzBlockInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == length && !nextBlock()) {
+                return -1;
+            }
+            return block[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (position == length && !nextBlock()) {
+                return -1;
+            }
+            final int count = Math.min(len, length - position);
+            System.arraycopy(block, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return length - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private boolean nextBlock() throws IOException {
+            while (!end) {
+                final int type = in.read();
+                if (type < 0 || type == END) {
+                    end = true;
+                    return false;
+                }
+                final int blockLength = readInt(in);
+                if (blockLength < 0 || blockLength > BLOCK_SIZE) {
+                    throw new IOException("Corrupted content (invalid block length " + blockLength + ").");
+                }
+                if (type == COMPRESSED_BLOCK) {
+                    final int compressedLength = readInt(in);
+                    if (compressedLength < 0 || compressedLength > compressed.length) {
+                        throw new IOException("Corrupted content (invalid block length " + compressedLength + ").");
+                    }
+                    readFully(in, compressed, compressedLength);
+                    if (decompress(compressed, compressedLength, block) != blockLength) {
+                        throw new IOException("Corrupted content (unexpected block length).");
+                    }
+                } else if (type == STORED_BLOCK) {
+                    readFully(in, block, blockLength);
+                } else {
+                    throw new IOException("Corrupted content (unknown block type " + type + ").");
+                }
+                length = blockLength;
+                position = 0;
+                if (length > 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.dataprep.cache.codec;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A codec that leaves content as is (used for small entries, where compression is not worth it).
+ */
+public class NoCompressionCodec implements ContentCacheCodec {
+
+    /** Codec name for configuration. */
+    public static final String NAME = "none";
+
+    @Override
+    public byte getId() {
+        return 0;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) {
+        return out;
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) {
+        return in;
+    }
+}
@@ -0,0 +1,249 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.loader;
+
+import static org.talend.dataprep.cache.ContentCacheEvictionConfiguration.getKeyType;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.talend.dataprep.cache.ContentCacheEvictionConfiguration.Policy;
+
+/**
+ * In memory index of the {@link ResourceLoaderContentCache} entries: cache key → (location, expiry, size, usage). The
+ * index is only a shortcut to the cache entries location, the underlying storage remains the reference (an entry may be
+ * removed by janitor or by an other service instance sharing the same storage).
+ */
+class ContentCacheIndex {
+
+    /** Expired entries are purged from index every PURGE_PERIOD additions. */
+    private static final int PURGE_PERIOD = 1024;
+
+    /** Least recently used first. */
+    private static final Comparator<Candidate> LRU = Comparator.comparingLong(c -> c.lastAccess);
+
+    /** Least frequently used first (then least recently used). */
+    private static final Comparator<Candidate> LFU =
+            Comparator.<Candidate> comparingLong(c -> c.accessCount).thenComparingLong(c -> c.lastAccess);
+
+    /** Cache key → entry. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Count additions to trigger purge of expired entries. */
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /** Total size of indexed entries. */
+    private final AtomicLong bytes = new AtomicLong();
+
+    /** Key type → total size of indexed entries of this type. */
+    private final Map<String, AtomicLong> typeBytes = new ConcurrentHashMap<>();
+
+    /**
+     * Add or replace the entry for a cache key.
+     *
+     * @param key the cache key.
+     * @param location the location of the cache entry.
+     * @param expiry the expiry time of the entry (in ms), {@link Long#MAX_VALUE} for permanent entries.
+     * @param size the size of the entry (0 if not known yet).
+     */
+    synchronized void put(String key, String location, long expiry, long size) {
+        final Entry previous = entries.put(key, new Entry(key, location, expiry, size));
+        if (previous != null) {
+            account(key, -previous.size);
+        }
+        account(key, size);
+        if (additions.incrementAndGet() % PURGE_PERIOD == 0) {
+            final long now = System.currentTimeMillis();
+            entries.values().stream().filter(e -> e.isExpired(now)).map(e -> e.key).forEach(this::remove);
+        }
+    }
+
+    /**
+     * Update the size of an entry (once its content is written).
+     *
+     * @param key the cache key.
+     * @param location the location of the entry (size is not updated if the key now points to another location).
+     * @param size the entry size.
+     */
+    synchronized void setSize(String key, String location, long size) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.location.equals(location)) {
+            account(key, size - entry.size);
+            entry.size = size;
+        }
+    }
+
+    /**
+     * @param key the cache key.
+     * @return the location of the entry for key or <code>null</code> if key is not indexed or expired.
+     */
+    String get(String key) {
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            remove(key);
+            return null;
+        }
+        entry.lastAccess = System.nanoTime();
+        entry.accessCount.incrementAndGet();
+        return entry.location;
+    }
+
+    /**
+     * Remove the entry for the key.
+     *
+     * @param key the cache key.
+     * @return the size of the removed entry (0 if key was not indexed).
+     */
+    synchronized long remove(String key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            account(key, -removed.size);
+            return removed.size;
+        }
+        return 0;
+    }
+
+    /**
+     * Remove the entries whose key matches the predicate.
+     *
+     * @param matcher a predicate on cache keys.
+     */
+    synchronized void removeIf(Predicate<String> matcher) {
+        new ArrayList<>(entries.keySet()).stream().filter(matcher).forEach(this::remove);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        bytes.set(0);
+        typeBytes.clear();
+    }
+
+    /**
+     * @return the number of indexed entries.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total size (in bytes) of indexed entries.
+     */
+    long bytes() {
+        return bytes.get();
+    }
+
+    /**
+     * @param keyType a key type.
+     * @return the total size (in bytes) of indexed entries of this key type.
+     */
+    long bytes(String keyType) {
+        final AtomicLong size = typeBytes.get(keyType);
+        return size == null ? 0 : size.get();
+    }
+
+    /**
+     * Select entries to evict in order to free the requested bytes and entries. Permanent entries and the
+     * <code>excluded</code> key are never selected.
+     *
+     * @param keyType the key type to select entries from, <code>null</code> for all types.
+     * @param bytesToFree the number of bytes to free.
+     * @param entriesToFree the number of entries to free.
+     * @param policy the policy that gives the entries eviction order.
+     * @param excluded a key not to be selected (e.g. the key just added).
+     * @return the keys and locations (key → location) of the entries to evict, in eviction order.
+     */
+    synchronized List<Map.Entry<String, String>> victims(String keyType, long bytesToFree, long entriesToFree,
+            Policy policy, String excluded) {
+        // snapshot usage of entries (usage may change during sort)
+        final List<Candidate> candidates = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            if (entry.expiry != Long.MAX_VALUE && !entry.key.equals(excluded)
+                    && (keyType == null || keyType.equals(getKeyType(entry.key)))) {
+                candidates.add(new Candidate(entry));
+            }
+        }
+        candidates.sort(policy == Policy.LFU ? LFU : LRU);
+        final List<Map.Entry<String, String>> victims = new ArrayList<>();
+        long freedBytes = 0;
+        for (Candidate candidate : candidates) {
+            if (freedBytes >= bytesToFree && victims.size() >= entriesToFree) {
+                break;
+            }
+            victims.add(new SimpleImmutableEntry<>(candidate.entry.key, candidate.entry.location));
+            freedBytes += candidate.entry.size;
+        }
+        return victims;
+    }
+
+    private void account(String key, long delta) {
+        if (delta != 0) {
+            bytes.addAndGet(delta);
+            typeBytes.computeIfAbsent(getKeyType(key), k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    private static class Entry {
+
+        private final String key;
+
+        private final String location;
+
+        private final long expiry;
+
+        private final AtomicLong accessCount = new AtomicLong();
+
+        private volatile long size;
+
+        private volatile long lastAccess = System.nanoTime();
+
+        private Entry(String key, String location, long expiry, long size) {
+            this.key = key;
+            this.location = location;
+            this.expiry = expiry;
+            this.size = size;
+        }
+
+        private boolean isExpired(long now) {
+            return expiry <= now;
+        }
+    }
+
+    /**
+     * An entry with its usage at the time of victims selection.
+     */
+    private static class Candidate {
+
+        private final Entry entry;
+
+        private final long accessCount;
+
+        private final long lastAccess;
+
+        private Candidate(Entry entry) {
+            this.entry = entry;
+            this.accessCount = entry.accessCount.get();
+            this.lastAccess = entry.lastAccess;
+        }
+    }
+}
@@ -17,13 +17,19 @@ import static java.util.Arrays.stream;
 import static java.util.Optional.ofNullable;
 import static java.util.function.BinaryOperator.maxBy;
 import static org.apache.commons.lang3.StringUtils.substringAfterLast;
+import static org.talend.dataprep.cache.ContentCacheEvictionConfiguration.getKeyType;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Predicate;
 
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -35,7 +41,9 @@ import org.talend.daikon.content.ContentServiceEnabled;
 import org.talend.daikon.content.DeletableResource;
 import org.talend.daikon.content.ResourceResolver;
 import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.ContentCacheEvictionConfiguration;
 import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.cache.ContentCacheMetrics;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.metrics.Timed;
@@ -52,23 +60,200 @@ public class ResourceLoaderContentCache implements ContentCache {
     @Autowired
     private ResourceResolver resolver;
 
+    /** Cache capacity settings. */
+    @Autowired
+    private ContentCacheEvictionConfiguration evictionConfiguration = new ContentCacheEvictionConfiguration();
+
+    /** Cache hits / misses / evictions. */
+    @Autowired
+    private ContentCacheMetrics metrics = new ContentCacheMetrics();
+
+    /** In memory index of the cache entries (key → location, expiry, size and usage). */
+    private final ContentCacheIndex index = new ContentCacheIndex();
+
+    /** <code>true</code> once the index is loaded with the entries already present in cache. */
+    private volatile boolean indexLoaded;
+
+    /** <code>true</code> if index load succeeded: index then knows all entries and misses need no cache scan. */
+    private volatile boolean indexComplete;
+
+    /** Lock to prevent concurrent evictions to select the same entries. */
+    private final Object evictionLock = new Object();
+
     public ResourceLoaderContentCache() {
         LOGGER.info("Using content cache: {}", this.getClass().getName());
     }
 
-    private DeletableResource getOrCreateResource(ContentCacheKey key, TimeToLive ttl) {
-        return resolver.getResource(getLocation(key, ttl));
+    @PostConstruct
+    public void init() {
+        metrics.setSizeSuppliers(index::bytes, index::size);
+        if (evictionConfiguration.isEnabled()) {
+            LOGGER.info("Content cache capacity: policy {}, max bytes {}, max entries {}, quotas {}.",
+                    evictionConfiguration.getPolicy(), evictionConfiguration.getMaxBytes(),
+                    evictionConfiguration.getMaxEntries(), evictionConfiguration.getQuotas());
+        }
     }
 
-    private String getLocation(ContentCacheKey key, TimeToLive ttl) {
+    private static long getExpiry(TimeToLive ttl) {
         if (ttl.getTime() > 0) {
-            return CACHE_PREFIX + key.getKey() + "." + (System.currentTimeMillis() + ttl.getTime());
+            return System.currentTimeMillis() + ttl.getTime();
+        } else {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static String getLocation(ContentCacheKey key, long expiry) {
+        if (expiry != Long.MAX_VALUE) {
+            return CACHE_PREFIX + key.getKey() + "." + expiry;
         } else {
             return CACHE_PREFIX + key.getKey();
         }
     }
 
+    /**
+     * Load index with the entries present in cache (performed once, on first cache lookup).
+     */
+    private void loadIndex() {
+        if (indexLoaded) {
+            return;
+        }
+        synchronized (index) {
+            if (indexLoaded) {
+                return;
+            }
+            try {
+                final long start = System.currentTimeMillis();
+                for (DeletableResource resource : resolver.getResources(CACHE_PREFIX + "*")) {
+                    String fileName = resource.getFilename();
+                    if (fileName == null || fileName.startsWith(".")) {
+                        continue;
+                    }
+                    if (fileName.contains(CACHE_PREFIX)) {
+                        fileName = fileName.substring(fileName.indexOf(CACHE_PREFIX) + CACHE_PREFIX.length());
+                    }
+                    final String suffix = substringAfterLast(fileName, ".");
+                    if (NumberUtils.isDigits(suffix)) {
+                        final long expiry = parseLong(suffix);
+                        if (expiry > start) {
+                            final String key = StringUtils.substringBeforeLast(fileName, ".");
+                            final String current = index.get(key);
+                            // keep the entry that expires last (as lookups by pattern do).
+                            if (current == null || expiry > getExpiry(current)) {
+                                index.put(key, CACHE_PREFIX + fileName, expiry, getSize(resource));
+                            }
+                        }
+                    } else {
+                        index.put(fileName, CACHE_PREFIX + fileName, Long.MAX_VALUE, getSize(resource));
+                    }
+                }
+                indexComplete = true;
+                LOGGER.info("Content cache index loaded ({} entries in {} ms).", index.size(),
+                        System.currentTimeMillis() - start);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to load content cache index (lookups will scan cache).", e);
+                index.clear();
+            } finally {
+                indexLoaded = true;
+            }
+        }
+    }
+
+    /**
+     * @return the size of the resource if needed for cache capacity (0 otherwise).
+     */
+    private long getSize(DeletableResource resource) {
+        if (!evictionConfiguration.isEnabled()) {
+            return 0;
+        }
+        try {
+            return resource.contentLength();
+        } catch (IOException e) {
+            LOGGER.debug("Unable to get size of '{}'.", resource.getFilename(), e);
+            return 0;
+        }
+    }
+
+    private static long getExpiry(String location) {
+        final String suffix = substringAfterLast(location, ".");
+        return NumberUtils.isDigits(suffix) ? parseLong(suffix) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the resource for the key from the index. The cache storage is only scanned if the index could not be
+     * loaded: once loaded, all entries go through this cache and the index is trusted (a miss costs no storage access).
+     *
+     * @param key the content cache key.
+     * @return the resource for key or <code>null</code> if not in cache.
+     */
     private DeletableResource getResource(ContentCacheKey key) {
+        loadIndex();
+        final String location = index.get(key.getKey());
+        if (location != null) {
+            final DeletableResource resource = resolver.getResource(location);
+            if (resource.exists()) {
+                return resource;
+            }
+            index.remove(key.getKey());
+        }
+        if (indexComplete) {
+            return null;
+        }
+        final DeletableResource resource = scan(key);
+        if (resource != null) {
+            final String suffix = substringAfterLast(resource.getFilename(), ".");
+            if (NumberUtils.isDigits(suffix)) {
+                index.put(key.getKey(), CACHE_PREFIX + key.getKey() + "." + suffix, parseLong(suffix),
+                        getSize(resource));
+            } else {
+                index.put(key.getKey(), CACHE_PREFIX + key.getKey(), Long.MAX_VALUE, getSize(resource));
+            }
+        }
+        return resource;
+    }
+
+    /**
+     * Evict entries (if needed) so that the cache remains within its configured capacity.
+     *
+     * @param key the key of the last written entry (never evicted by this method).
+     */
+    private void enforceCapacity(String key) {
+        if (!evictionConfiguration.isEnabled()) {
+            return;
+        }
+        synchronized (evictionLock) {
+            final ContentCacheEvictionConfiguration.Policy policy = evictionConfiguration.getPolicy();
+            final String keyType = getKeyType(key);
+            final long quota = evictionConfiguration.getQuota(keyType);
+            if (quota >= 0 && index.bytes(keyType) > quota) {
+                evictEntries(index.victims(keyType, index.bytes(keyType) - quota, 0, policy, key));
+            }
+            final long maxBytes = evictionConfiguration.getMaxBytes();
+            final long maxEntries = evictionConfiguration.getMaxEntries();
+            final long bytesToFree = maxBytes >= 0 ? index.bytes() - maxBytes : 0;
+            final long entriesToFree = maxEntries >= 0 ? index.size() - maxEntries : 0;
+            if (bytesToFree > 0 || entriesToFree > 0) {
+                evictEntries(index.victims(null, bytesToFree, entriesToFree, policy, key));
+            }
+        }
+    }
+
+    private void evictEntries(List<Map.Entry<String, String>> victims) {
+        for (Map.Entry<String, String> victim : victims) {
+            final long size = index.remove(victim.getKey());
+            try {
+                final DeletableResource resource = resolver.getResource(victim.getValue());
+                if (resource.exists()) {
+                    LOGGER.debug("Evict '{}' ({} bytes) to keep cache within capacity.", victim.getKey(), size);
+                    resource.delete();
+                }
+                metrics.evicted(size);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to evict '{}'.", victim.getKey(), e);
+            }
+        }
+    }
+
+    private DeletableResource scan(ContentCacheKey key) {
         try {
             final DeletableResource[] patternMatches = resolver.getResources(CACHE_PREFIX + key.getKey() + "*");
             final DeletableResource[] directMatches = resolver.getResources(CACHE_PREFIX + key.getKey());
@@ -112,6 +297,10 @@ public class ResourceLoaderContentCache implements ContentCache {
     @Override
     public boolean has(ContentCacheKey key) {
         final boolean present = ofNullable(getResource(key)).isPresent();
+        // hits are counted by get() (has() is usually followed by get(), a hit must only count once)
+        if (!present) {
+            metrics.miss();
+        }
         LOGGER.debug("Has '{}': {}", key.getKey(), present);
         return present;
     }
@@ -121,7 +310,13 @@ public class ResourceLoaderContentCache implements ContentCache {
     @Override
     public InputStream get(ContentCacheKey key) {
         LOGGER.debug("Get '{}'", key.getKey());
-        return ofNullable(getResource(key)).map(r -> {
+        final DeletableResource resource = getResource(key);
+        if (resource == null) {
+            metrics.miss();
+        } else {
+            metrics.hit();
+        }
+        return ofNullable(resource).map(r -> {
             try {
                 return r.getInputStream();
             } catch (IOException e) {
@@ -135,8 +330,25 @@ public class ResourceLoaderContentCache implements ContentCache {
     @Override
     public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
         LOGGER.debug("Put '{}' (TTL: {})", key.getKey(), timeToLive);
+        final long expiry = getExpiry(timeToLive);
+        final String location = getLocation(key, expiry);
         try {
-            return getOrCreateResource(key, timeToLive).getOutputStream();
+            final OutputStream outputStream = resolver.getResource(location).getOutputStream();
+            index.put(key.getKey(), location, expiry, 0);
+            return new CountingOutputStream(outputStream) {
+
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    if (!closed) {
+                        closed = true;
+                        index.setSize(key.getKey(), location, getByteCount());
+                        enforceCapacity(key.getKey());
+                    }
+                }
+            };
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -146,7 +358,9 @@ public class ResourceLoaderContentCache implements ContentCache {
     @Override
     public void evict(ContentCacheKey key) {
         LOGGER.debug("Evict '{}'", key.getKey());
-        ofNullable(getResource(key)).ifPresent(r -> {
+        final DeletableResource resource = getResource(key);
+        index.remove(key.getKey());
+        ofNullable(resource).ifPresent(r -> {
             try {
                 r.delete();
             } catch (IOException e) {
@@ -162,6 +376,7 @@ public class ResourceLoaderContentCache implements ContentCache {
         try {
             final DeletableResource[] resources = resolver.getResources(CACHE_PREFIX + key.getPrefix() + "**");
             final Predicate<String> matcher = key.getMatcher();
+            index.removeIf(matcher);
             stream(resources).filter(r -> {
                 String fileName = r.getFilename();
                 if (fileName.contains(CACHE_PREFIX)) {
@@ -187,7 +402,9 @@ public class ResourceLoaderContentCache implements ContentCache {
         LOGGER.debug("Move '{}' -> '{}' (TTL: {})", from.getKey(), to.getKey(), toTimeToLive);
         final DeletableResource resource = getResource(from);
         if (resource != null) {
-            final String destination = getLocation(to, toTimeToLive);
+            final long expiry = getExpiry(toTimeToLive);
+            final String destination = getLocation(to, expiry);
+            final long size = index.remove(from.getKey());
             if (!resource.exists()) {
                 LOGGER.debug("Source file no longer exists.");
                 if (resolver.getResource(destination).exists()) {
@@ -201,6 +418,7 @@ public class ResourceLoaderContentCache implements ContentCache {
             }
             try {
                 resource.move(destination);
+                index.put(to.getKey(), destination, expiry, size);
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
@@ -212,6 +430,7 @@ public class ResourceLoaderContentCache implements ContentCache {
     public void clear() {
         LOGGER.debug("Clear all");
         try {
+            index.clear();
             resolver.clear(CACHE_PREFIX + "**");
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
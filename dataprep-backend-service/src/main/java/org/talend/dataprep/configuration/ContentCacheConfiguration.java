@@ -1,16 +1,31 @@
 package org.talend.dataprep.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.cache.ZippedContentCache;
+import org.talend.dataprep.cache.codec.ContentCacheCodec;
+import org.talend.dataprep.cache.codec.ContentCacheCodecs;
 import org.talend.dataprep.processor.Wrapper;
 
 @Configuration
 public class ContentCacheConfiguration {
 
+    /** Codec for new cache entries (none, gzip, deflate or lz). */
+    @Value("${service.cache.codec:gzip}")
+    private String codec;
+
+    /** Compression level (for codecs that support it). */
+    @Value("${service.cache.codec.level:" + ContentCacheCodecs.DEFAULT_LEVEL + "}")
+    private int level;
+
+    /** Cache entries smaller than this size (in bytes) are not compressed. */
+    @Value("${service.cache.compression.threshold:0}")
+    private int threshold;
+
     @Bean
     @ConditionalOnProperty(name = "service.cache.zipped", havingValue = "true", matchIfMissing = true)
     public Wrapper<ContentCache> zippedContentCacheWrapper() {
@@ -23,7 +38,8 @@ public class ContentCacheConfiguration {
 
             @Override
             public ContentCache doWith(ContentCache instance, String beanName, ApplicationContext applicationContext) {
-                return new ZippedContentCache(instance);
+                final ContentCacheCodec contentCacheCodec = ContentCacheCodecs.byName(codec, level);
+                return new ZippedContentCache(instance, contentCacheCodec, threshold);
             }
         };
     }
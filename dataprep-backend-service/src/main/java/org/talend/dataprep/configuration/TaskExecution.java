@@ -98,6 +98,31 @@ public class TaskExecution {
         return getAsyncExecutor();
     }
 
+    /**
+     * @return A {@link TaskExecutor} for the single pass dataset analysis workers (one thread per worker, as workers
+     * must all run concurrently).
+     */
+    @Bean(name = "analysis#executor")
+    TaskExecutor getAnalysisTaskExecutor() {
+        return new SimpleAsyncTaskExecutor("analysis-");
+    }
+
+    /**
+     * @return A {@link TaskExecutor} for the writer tasks of pipelines that write rows in a dedicated thread (tasks are
+     * never queued as a pipeline waits for its writer task, idle threads are reused).
+     * @see org.talend.dataprep.transformation.pipeline.model.WriterNode
+     */
+    @Bean(name = "pipeline#writer#executor")
+    TaskExecutor getPipelineWriterTaskExecutor() {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("writer-node-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * @return an Authenticated task executor ready to run.
      */
@@ -3,18 +3,36 @@ package org.talend.dataprep.dataset.adapter;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.dataset.adapter.commands.DataSetGetContent;
 import org.talend.dataprep.dataset.adapter.commands.DataSetGetMetadata;
 import org.talend.dataprep.dataset.adapter.commands.DataSetGetSchema;
 import org.talend.dataprep.dataset.adapter.commands.DatasetList;
+import org.talend.dataprep.dataset.event.DatasetMetadataChangedEvent;
+import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
  * Client for catalog HTTP API.
+ * <p>
+ * Dataset metadata and schemas are kept in a short-lived cache (invalidated on {@link DatasetUpdatedEvent} and
+ * {@link DatasetMetadataChangedEvent}): a single dataset read asks for them several times. Concurrent requests for the
+ * same dataset share a single call to the catalog.
+ * </p>
  */
 @Service
 public class DataCatalogClient {
@@ -22,6 +40,33 @@ public class DataCatalogClient {
     @Autowired
     private ApplicationContext context;
 
+    /** How long (in seconds) metadata and schemas are cached, 0 to disable cache. */
+    @Value("${dataset.catalog.cache.ttl:10}")
+    private long cacheTimeToLive;
+
+    @Value("${dataset.catalog.cache.size:500}")
+    private long cacheSize;
+
+    /** Dataset id -> metadata. */
+    private Cache<String, Optional<Dataset>> metadataCache;
+
+    /** Dataset id -> schema. */
+    private Cache<String, Optional<Schema>> schemaCache;
+
+    @PostConstruct
+    void init() {
+        metadataCache = buildCache();
+        schemaCache = buildCache();
+    }
+
+    private <T> Cache<String, T> buildCache() {
+        return CacheBuilder
+                .newBuilder() //
+                .maximumSize(cacheSize) //
+                .expireAfterWrite(cacheTimeToLive, TimeUnit.SECONDS) //
+                .build();
+    }
+
     // ------- Pure API -------
 
     public Stream<Dataset> listDataset(Dataset.CertificationState certification, Boolean favorite) {
@@ -30,12 +75,12 @@ public class DataCatalogClient {
 
     @Nullable
     public Dataset getMetadata(String id) {
-        return context.getBean(DataSetGetMetadata.class, id).execute();
+        return get(metadataCache, id, () -> context.getBean(DataSetGetMetadata.class, id).execute());
     }
 
     @Nullable
     public Schema getDataSetSchema(String id) {
-        return context.getBean(DataSetGetSchema.class, id).execute();
+        return get(schemaCache, id, () -> context.getBean(DataSetGetSchema.class, id).execute());
     }
 
     public Stream<GenericRecord> getDataSetContent(String id, Long limit) {
@@ -43,4 +88,39 @@ public class DataCatalogClient {
         return context.getBean(DataSetGetContent.class, id, schema, limit).execute();
     }
 
+    @EventListener
+    public void cleanCacheEntryOnDatasetModification(DatasetUpdatedEvent event) {
+        invalidate(event.getSource().getId());
+    }
+
+    @EventListener
+    public void cleanCacheEntryOnDatasetMetadataChange(DatasetMetadataChangedEvent event) {
+        invalidate(event.getSource());
+    }
+
+    private void invalidate(String id) {
+        metadataCache.invalidate(id);
+        schemaCache.invalidate(id);
+    }
+
+    /**
+     * Get a value from cache, or load it (only one load at a time per key, concurrent callers wait for its result).
+     */
+    private <T> T get(Cache<String, Optional<T>> cache, String id, Supplier<T> loader) {
+        if (cacheTimeToLive <= 0 || id == null) {
+            return loader.get();
+        }
+        try {
+            final Optional<T> value = cache.get(id, () -> Optional.ofNullable(loader.get()));
+            if (!value.isPresent()) {
+                // do not keep missing datasets (dataset may be created soon)
+                cache.invalidate(id);
+            }
+            return value.orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // source method do not throw checked exception
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
 }
@@ -0,0 +1,76 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.adapter;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.util.avro.AvroUtils;
+
+/**
+ * Converts {@link GenericRecord records} to {@link DataSetRow rows} using field positions: record field <i>i</i> is
+ * the value of column <i>i</i> of the row metadata (the dataset schema is built from the columns, in order). Column
+ * ids are resolved once, so conversion does not look up any field by name and does not keep any reference to the
+ * record (records may then be reused by the reader).
+ *
+ * When the record schema does not match the columns (different number of fields), conversion falls back to
+ * {@link AvroUtils#buildToDataSetRowConverter(RowMetadata)}.
+ */
+public class DataSetRowConverter implements Function<GenericRecord, DataSetRow> {
+
+    private final RowMetadata rowMetadata;
+
+    /** Column ids, indexed by record field position. */
+    private final String[] columnIds;
+
+    /** Record schema <code>columnIds</code> was resolved for. */
+    private Schema schema;
+
+    /** Used for records that do not match the columns. */
+    private Function<GenericRecord, DataSetRow> fallback;
+
+    public DataSetRowConverter(RowMetadata rowMetadata) {
+        this.rowMetadata = rowMetadata;
+        final List<ColumnMetadata> columns = rowMetadata.getColumns();
+        columnIds = new String[columns.size()];
+        for (int i = 0; i < columnIds.length; i++) {
+            columnIds[i] = columns.get(i).getId();
+        }
+    }
+
+    @Override
+    public DataSetRow apply(GenericRecord record) {
+        if (record.getSchema() != schema) {
+            schema = record.getSchema();
+            fallback = schema.getFields().size() == columnIds.length ? null
+                    : AvroUtils.buildToDataSetRowConverter(rowMetadata);
+        }
+        if (fallback != null) {
+            return fallback.apply(record);
+        }
+        // sized so that no rehash happens when actions add a few columns
+        final Map<String, Object> values = new LinkedHashMap<>(columnIds.length * 2);
+        for (int i = 0; i < columnIds.length; i++) {
+            final Object value = record.get(i);
+            values.put(columnIds[i], value == null ? null : value.toString());
+        }
+        return new DataSetRow(rowMetadata, values);
+    }
+}
@@ -4,10 +4,11 @@ import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 import static org.talend.dataprep.command.GenericCommand.DATASET_GROUP;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
@@ -16,12 +17,17 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import javax.annotation.Resource;
+
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSet;
@@ -37,6 +43,7 @@ import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.conversions.inject.OwnerInjection;
 import org.talend.dataprep.dataset.DatasetConfiguration;
 import org.talend.dataprep.dataset.adapter.commands.DataSetGetMetadataLegacy;
+import org.talend.dataprep.dataset.event.DatasetMetadataChangedEvent;
 import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
 import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
 import org.talend.dataprep.quality.AnalyzerService;
@@ -55,8 +62,13 @@ import com.netflix.hystrix.HystrixCommand;
 @Service
 public class DatasetClient {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetClient.class);
+
     private static final Statistics EMPTY_STATS = new Statistics();
 
+    /** Size of the pipe buffer between data set JSON serialization and its reader. */
+    private static final int PIPE_SIZE = 64 * 1024;
+
     @Autowired
     private DataCatalogClient dataCatalogClient;
 
@@ -90,6 +102,10 @@ public class DatasetClient {
     @Autowired
     private ApplicationContext context;
 
+    /** Task executor used to serialize data sets into JSON. */
+    @Resource(name = "serializer#json#executor")
+    private TaskExecutor executor;
+
     // ------- Composite adapters -------
 
     /**
@@ -230,13 +246,36 @@ public class DatasetClient {
             @Override
             protected InputStream run() throws IOException {
                 DataSet dataSet = getDataSet(dataSetId, fullContent, includeInternalContent);
-                ByteArrayOutputStream out = new ByteArrayOutputStream();
-                mapper.writerFor(DataSet.class).writeValue(out, dataSet);
-                return new ByteArrayInputStream(out.toByteArray());
+                return toJson(dataSet);
             }
         };
     }
 
+    /**
+     * Serialize the data set as JSON through a pipe: records are serialized while the returned stream is read, so the
+     * data set content is never held in memory.
+     *
+     * @param dataSet the data set to serialize (its records are closed once serialized).
+     * @return the JSON content of the data set.
+     */
+    private InputStream toJson(DataSet dataSet) throws IOException {
+        final PipedInputStream pipe = new PipedInputStream(PIPE_SIZE);
+        final PipedOutputStream jsonOutput = new PipedOutputStream(pipe);
+        executor.execute(() -> {
+            try (OutputStream output = jsonOutput) {
+                mapper.writerFor(DataSet.class).writeValue(output, dataSet);
+            } catch (IOException e) {
+                // Consumer may very well stop reading before the end of content.
+                LOGGER.debug("Unable to continue data set serialization. Skipping remaining content.", e);
+            } finally {
+                if (dataSet != null && dataSet.getRecords() != null) {
+                    dataSet.getRecords().close();
+                }
+            }
+        });
+        return pipe;
+    }
+
     // ------- Utilities -------
 
     private Stream<DataSetRow> toDataSetRows(Stream<GenericRecord> dataSetContent, RowMetadata rowMetadata) {
@@ -249,9 +288,9 @@ public class DatasetClient {
         return invalidMarker::apply;
     }
 
-    // GenericRecord -> DataSetRow
+    // GenericRecord -> DataSetRow (records are reused by DataSetGetContent: must be converted before next one is read)
     private Function<GenericRecord, DataSetRow> toDatasetRow(RowMetadata rowMetadata) {
-        return AvroUtils.buildToDataSetRowConverter(rowMetadata);
+        return new DataSetRowConverter(rowMetadata);
     }
 
     // Dataset -> DataSetMetadata
@@ -299,7 +338,7 @@ public class DatasetClient {
                 AtomicLong count = new AtomicLong(0);
                 RowMetadata rowMetadata = getDataSetRowMetadata(id);
                 try (Stream<DataSetRow> records =
-                        dataCatalogClient.getDataSetContent(id, sampleSize).map(toDatasetRow(rowMetadata))) {
+                        toDataSetRows(dataCatalogClient.getDataSetContent(id, sampleSize), rowMetadata)) {
                     analyzerService.analyzeFull(records, rowMetadata.getColumns());
                 }
                 return new AnalysisResult(rowMetadata, count.get());
@@ -333,4 +372,9 @@ public class DatasetClient {
         computedMetadataCache.invalidate(event.getSource().getId());
     }
 
+    @EventListener
+    public void cleanCacheEntryOnDatasetMetadataChange(DatasetMetadataChangedEvent event) {
+        computedMetadataCache.invalidate(event.getSource());
+    }
+
 }
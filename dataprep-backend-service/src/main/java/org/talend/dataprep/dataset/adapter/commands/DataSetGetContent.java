@@ -16,11 +16,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import javax.annotation.PostConstruct;
 
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -38,11 +45,15 @@ import static org.apache.http.HttpHeaders.ACCEPT;
 import static org.springframework.beans.factory.config.ConfigurableBeanFactory.SCOPE_PROTOTYPE;
 import static org.talend.daikon.exception.ExceptionContext.build;
 import static org.talend.dataprep.exception.error.APIErrorCodes.UNABLE_TO_RETRIEVE_DATASET_CONTENT;
-import static org.talend.dataprep.util.avro.AvroUtils.readBinaryStream;
 
 /**
  * Command to get the stream of AVRO records of the dataset.
- * 
+ * <p>
+ * Records are decoded straight from the response in a single {@link GenericRecord} instance reused for all records:
+ * a record must be consumed (e.g. converted with {@link org.talend.dataprep.dataset.adapter.DataSetRowConverter})
+ * before the next one is read, and must not be kept.
+ * </p>
+ *
  * @see GenericRecord
  */
 @Component
@@ -91,11 +102,49 @@ public class DataSetGetContent extends GenericCommand<Stream<GenericRecord>> {
     private Stream<GenericRecord> readResult(HttpRequestBase httpRequestBase, HttpResponse httpResponse) {
         try {
             InputStream content = httpResponse.getEntity().getContent();
-            return readBinaryStream(content, contentSchema).asStream();
+            return StreamSupport.stream(new RecordSpliterator(content, contentSchema), false).onClose(() -> {
+                try {
+                    content.close();
+                } catch (IOException e) {
+                    throw new TalendRuntimeException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            });
         } catch (IOException e) {
             throw new TalendRuntimeException(org.talend.dataprep.exception.error.CommonErrorCodes.UNEXPECTED_EXCEPTION,
                     e);
         }
     }
 
+    /**
+     * Decodes records of an AVRO binary stream, reusing the same record instance.
+     */
+    private static class RecordSpliterator extends Spliterators.AbstractSpliterator<GenericRecord> {
+
+        private final BinaryDecoder decoder;
+
+        private final GenericDatumReader<GenericRecord> reader;
+
+        private GenericRecord record;
+
+        private RecordSpliterator(InputStream content, Schema schema) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            decoder = DecoderFactory.get().binaryDecoder(content, null);
+            reader = new GenericDatumReader<>(schema);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super GenericRecord> action) {
+            try {
+                if (decoder.isEnd()) {
+                    return false;
+                }
+                record = reader.read(record, decoder);
+            } catch (IOException e) {
+                throw new TalendRuntimeException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+            action.accept(record);
+            return true;
+        }
+    }
+
 }
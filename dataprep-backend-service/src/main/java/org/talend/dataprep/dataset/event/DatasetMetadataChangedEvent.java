@@ -0,0 +1,40 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event sent when a data set metadata was changed (or the data set deleted) without any change to its content: unlike
+ * {@link DatasetUpdatedEvent}, no analysis is triggered, listeners only have to forget what they know about the data
+ * set.
+ */
+public class DatasetMetadataChangedEvent extends ApplicationEvent {
+
+    /** For the Serialization interface. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default constructor.
+     *
+     * @param datasetId the changed dataset id.
+     */
+    public DatasetMetadataChangedEvent(String datasetId) {
+        super(datasetId);
+    }
+
+    @Override
+    public String getSource() {
+        return (String) super.getSource();
+    }
+}
@@ -14,8 +14,14 @@
 package org.talend.dataprep.dataset.store.content;
 
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -23,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetContent;
+import org.talend.dataprep.api.dataset.DataSetLifecycle;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
@@ -31,6 +38,7 @@ import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataprep.schema.FormatFamilyFactory;
+import org.talend.dataprep.schema.RowSource;
 import org.talend.dataprep.schema.Serializer;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
@@ -120,8 +128,7 @@ public abstract class DataSetContentStore {
     }
 
     /**
-     * Similarly to {@link #get(DataSetMetadata)} returns the content of the data set but as a {@link Stream stream} of
-     * {@link DataSetRow rows} instead of JSON content.
+     * Same as {@link #stream(DataSetMetadata, long, ReadOptions)} with {@link ReadOptions#DEFAULT default options}.
      *
      * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
      * @param limit A limit to pass to raw content supplier (use -1 for "no limit). Used as parameter to call
@@ -129,32 +136,131 @@ public abstract class DataSetContentStore {
      * @return A valid <b>{@link DataSetRow}</b> stream.
      */
     public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
-        final InputStream inputStream = get(dataSetMetadata, limit);
-        final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
-        final Iterable<DataSetRow> rowIterable = () -> iterator;
-        Stream<DataSetRow> dataSetRowStream = StreamSupport.stream(rowIterable.spliterator(), false);
+        return stream(dataSetMetadata, limit, ReadOptions.DEFAULT);
+    }
+
+    /**
+     * Same as {@link #stream(DataSetMetadata)} but with the given read options.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param options The read options.
+     * @return A valid <b>{@link DataSetRow}</b> stream.
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, ReadOptions options) {
+        return stream(dataSetMetadata, sampleSize, options);
+    }
+
+    /**
+     * Similarly to {@link #get(DataSetMetadata)} returns the content of the data set but as a {@link Stream stream} of
+     * {@link DataSetRow rows} instead of JSON content. When the format's {@link Serializer} is also a {@link RowSource},
+     * rows are decoded directly from the raw content and JSON serialization is skipped.
+     * <p>
+     * When invalid values are to be marked, the invalid values computed by the quality analysis (see
+     * {@link org.talend.dataprep.api.dataset.Quality#getInvalidValues()}) are used as long as the quality
+     * analysis covers the whole content, otherwise a quality analyzer is run on the returned rows.
+     * </p>
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param limit A limit to pass to raw content supplier (use -1 for "no limit). Used as parameter to call
+     * {@link #get(DataSetMetadata, long)}.
+     * @param options The read options (invalid values marking, tdp ids, column projection).
+     * @return A valid <b>{@link DataSetRow}</b> stream.
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, ReadOptions options) {
+        final DataSetContent content = dataSetMetadata.getContent();
+        final Serializer serializer = factory.getFormatFamily(content.getFormatFamilyId()).getSerializer();
+        final InputStream inputStream;
+        Stream<DataSetRow> dataSetRowStream;
+        if (serializer instanceof RowSource) {
+            // Decode rows directly from raw content (no JSON round trip)
+            inputStream = getAsRaw(dataSetMetadata, limit);
+            dataSetRowStream = ((RowSource) serializer).rows(inputStream, dataSetMetadata, limit);
+        } else {
+            inputStream = serializer.serialize(getAsRaw(dataSetMetadata, limit), dataSetMetadata, limit);
+            final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
+            final Iterable<DataSetRow> rowIterable = () -> iterator;
+            dataSetRowStream = StreamSupport.stream(rowIterable.spliterator(), false);
+        }
+        dataSetRowStream = dataSetRowStream.filter(r -> !r.isEmpty());
+
+        // column projection
+        List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        final Set<String> projection = options.getColumns();
+        if (projection != null) {
+            columns = columns.stream().filter(c -> projection.contains(c.getId())).collect(Collectors.toList());
+            dataSetRowStream = dataSetRowStream.map(r -> project(r, projection));
+        }
+
+        // invalid values marking
+        if (options.isQualityMarking() && !columns.isEmpty()) {
+            dataSetRowStream = dataSetRowStream.map(invalidMarker(dataSetMetadata, columns));
+        }
+
+        if (options.isTdpIds()) {
+            AtomicLong tdpId = new AtomicLong(1);
+            dataSetRowStream = dataSetRowStream.peek(r -> r.setTdpId(tdpId.getAndIncrement()));
+        }
 
         // make sure to close the original input stream when closing this one
-        AtomicLong tdpId = new AtomicLong(1);
-        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
-        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
-
-        dataSetRowStream = dataSetRowStream
-                .filter(r -> !r.isEmpty())
-                .peek(r -> analyzer.analyze(r.order(columns).toArray(DataSetRow.SKIP_TDP_ID))) //
-                .map(new InvalidMarker(columns, analyzer)) // Mark invalid columns as detected by provided analyzer.
-                .peek(r -> { //
-                    r.setTdpId(tdpId.getAndIncrement());
-                })
-                .onClose(() -> { //
-                    try {
-                        inputStream.close();
-                    } catch (Exception e) {
-                        throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        return dataSetRowStream.onClose(() -> { //
+            try {
+                inputStream.close();
+            } catch (Exception e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+        });
+    }
+
+    /**
+     * Returns the function that marks invalid values in rows. Invalid values computed by the quality analysis are
+     * used if available (a lookup per value), otherwise a quality analyzer is fed with the rows.
+     *
+     * @param dataSetMetadata The data set metadata.
+     * @param columns The columns where invalid values should be marked.
+     * @return A function to mark invalid values in a row.
+     */
+    private Function<DataSetRow, DataSetRow> invalidMarker(DataSetMetadata dataSetMetadata,
+            List<ColumnMetadata> columns) {
+        final DataSetLifecycle lifecycle = dataSetMetadata.getLifecycle();
+        if (lifecycle != null && lifecycle.qualityAnalyzed() && !lifecycle.isInProgress()) {
+            final Map<String, Set<String>> invalidValues = new HashMap<>();
+            for (ColumnMetadata column : columns) {
+                if (column.getQuality() != null && column.getQuality().getInvalidValues() != null
+                        && !column.getQuality().getInvalidValues().isEmpty()) {
+                    invalidValues.put(column.getId(), new HashSet<>(column.getQuality().getInvalidValues()));
+                }
+            }
+            return r -> {
+                invalidValues.forEach((columnId, values) -> {
+                    if (values.contains(r.get(columnId))) {
+                        r.setInvalid(columnId);
                     }
                 });
+                return r;
+            };
+        } else {
+            final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
+            final InvalidMarker marker = new InvalidMarker(columns, analyzer);
+            return r -> {
+                analyzer.analyze(r.order(columns).toArray(DataSetRow.SKIP_TDP_ID));
+                return marker.apply(r);
+            };
+        }
+    }
 
-        return dataSetRowStream;
+    /**
+     * @param row The row to project.
+     * @param columnIds The ids of the columns to keep.
+     * @return A new row with only the values of the given columns.
+     */
+    private static DataSetRow project(DataSetRow row, Set<String> columnIds) {
+        final Map<String, Object> values = new HashMap<>();
+        row.values().forEach((k, v) -> {
+            if (columnIds.contains(k)) {
+                values.put(k, v);
+            }
+        });
+        return new DataSetRow(row.getRowMetadata(), values);
     }
 
     /**
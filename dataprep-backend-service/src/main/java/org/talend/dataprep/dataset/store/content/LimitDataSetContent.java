@@ -52,9 +52,19 @@ class LimitDataSetContent implements DataSetContentLimit {
             return delegate.stream(dataSetMetadata, LimitDataSetContent.this.limit);
         }
 
+        @Override
+        public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, ReadOptions options) {
+            return delegate.stream(dataSetMetadata, LimitDataSetContent.this.limit, options);
+        }
+
         @Override
         public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata) {
-            Stream<DataSetRow> dataSetRowStream = delegate.stream(dataSetMetadata, limit);
+            return stream(dataSetMetadata, ReadOptions.DEFAULT);
+        }
+
+        @Override
+        public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, ReadOptions options) {
+            Stream<DataSetRow> dataSetRowStream = delegate.stream(dataSetMetadata, limit, options);
             // deal with dataset size limit (ignored if limit is <= 0)
             return dataSetRowStream.limit(limit);
         }
@@ -0,0 +1,122 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Options for reading rows out of a {@link DataSetContentStore}. Options are immutable, each <code>with...</code> or
+ * <code>without...</code> method returns a new instance.
+ *
+ * @see DataSetContentStore#stream(org.talend.dataprep.api.dataset.DataSetMetadata, long, ReadOptions)
+ */
+public class ReadOptions {
+
+    /** Default options: rows with invalid values marked, tdp ids set and all columns. */
+    public static final ReadOptions DEFAULT = new ReadOptions(true, true, null);
+
+    /** Options for callers that only read values (e.g. to analyze them): no invalid marking and no tdp id. */
+    public static final ReadOptions VALUES_ONLY = new ReadOptions(false, false, null);
+
+    /** <code>true</code> to mark invalid values in rows. */
+    private final boolean qualityMarking;
+
+    /** <code>true</code> to set the tdp id of each row. */
+    private final boolean tdpIds;
+
+    /** The ids of the columns to keep in rows, <code>null</code> for all columns. */
+    private final Set<String> columns;
+
+    private ReadOptions(boolean qualityMarking, boolean tdpIds, Set<String> columns) {
+        this.qualityMarking = qualityMarking;
+        this.tdpIds = tdpIds;
+        this.columns = columns;
+    }
+
+    /**
+     * @return <code>true</code> if invalid values are marked in rows.
+     */
+    public boolean isQualityMarking() {
+        return qualityMarking;
+    }
+
+    /**
+     * @return <code>true</code> if rows get a tdp id.
+     */
+    public boolean isTdpIds() {
+        return tdpIds;
+    }
+
+    /**
+     * @return the ids of the columns to keep in rows, <code>null</code> for all columns.
+     */
+    public Set<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return options with invalid values marked in rows.
+     */
+    public ReadOptions withQualityMarking() {
+        return new ReadOptions(true, tdpIds, columns);
+    }
+
+    /**
+     * @return options without any invalid value marking (no quality analysis is performed on read).
+     */
+    public ReadOptions withoutQualityMarking() {
+        return new ReadOptions(false, tdpIds, columns);
+    }
+
+    /**
+     * @return options with rows tdp ids.
+     */
+    public ReadOptions withTdpIds() {
+        return new ReadOptions(qualityMarking, true, columns);
+    }
+
+    /**
+     * @return options without rows tdp ids.
+     */
+    public ReadOptions withoutTdpIds() {
+        return new ReadOptions(qualityMarking, false, columns);
+    }
+
+    /**
+     * @param columnIds the ids of the columns to keep in rows, values of other columns are dropped.
+     * @return options with the given column projection.
+     */
+    public ReadOptions withColumns(String... columnIds) {
+        return withColumns(Arrays.asList(columnIds));
+    }
+
+    /**
+     * @param columnIds the ids of the columns to keep in rows, values of other columns are dropped.
+     * @return options with the given column projection.
+     */
+    public ReadOptions withColumns(Collection<String> columnIds) {
+        return new ReadOptions(qualityMarking, tdpIds, unmodifiableSet(new LinkedHashSet<>(columnIds)));
+    }
+
+    @Override
+    public String toString() {
+        return "ReadOptions{" + "qualityMarking=" + qualityMarking + ", tdpIds=" + tdpIds + ", columns=" + columns
+                + '}';
+    }
+}
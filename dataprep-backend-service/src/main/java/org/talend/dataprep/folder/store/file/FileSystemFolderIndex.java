@@ -0,0 +1,228 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.folder.store.file;
+
+import static java.util.Collections.emptySet;
+import static org.talend.dataprep.folder.store.FoldersRepositoriesConstants.PATH_SEPARATOR;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.talend.dataprep.api.folder.FolderContentType;
+
+/**
+ * In memory index of the {@link FileSystemFolderRepository} content:
+ * <ul>
+ * <li>the folders (ordered by path),</li>
+ * <li>folder -> content type -> ids of the contents in folder,</li>
+ * <li>content type -> content id -> folders holding the content.</li>
+ * </ul>
+ * The index is built from the file system on startup and then maintained on each change of the repository.
+ */
+class FileSystemFolderIndex {
+
+    /** All the folders (root included), ordered by path so parents come before their children. */
+    private final NavigableSet<FolderPath> folders = new TreeSet<>(Comparator.comparing(FolderPath::serializeAsString));
+
+    /** Folder -> content type -> content ids. */
+    private final Map<FolderPath, Map<FolderContentType, Set<String>>> contents = new ConcurrentHashMap<>();
+
+    /** Content type -> content id -> folders. */
+    private final Map<FolderContentType, Map<String, Set<FolderPath>>> locations =
+            new EnumMap<>(FolderContentType.class);
+
+    /**
+     * Adds a folder and its parents to the index.
+     *
+     * @param folder the folder to add.
+     */
+    synchronized void addFolder(FolderPath folder) {
+        FolderPath current = folder;
+        while (folders.add(current) && !current.isRoot()) {
+            current = current.getParent();
+        }
+    }
+
+    /**
+     * Removes a folder, its sub folders and their entries from the index.
+     *
+     * @param folder the folder to remove.
+     */
+    synchronized void removeFolder(FolderPath folder) {
+        for (FolderPath removed : subFolders(folder)) {
+            folders.remove(removed);
+            final Map<FolderContentType, Set<String>> folderContents = contents.remove(removed);
+            if (folderContents != null) {
+                folderContents.forEach((type, ids) -> ids.forEach(id -> unlocate(type, id, removed)));
+            }
+        }
+    }
+
+    /**
+     * Moves a folder, its sub folders and their entries to a new path.
+     *
+     * @param from the folder to move.
+     * @param to the new folder path.
+     */
+    synchronized void moveFolder(FolderPath from, FolderPath to) {
+        final String fromPath = from.serializeAsString();
+        final String toPath = to.serializeAsString();
+        for (FolderPath moved : subFolders(from)) {
+            final FolderPath target =
+                    FolderPath.deserializeFromString(toPath + moved.serializeAsString().substring(fromPath.length()));
+            folders.remove(moved);
+            folders.add(target);
+            final Map<FolderContentType, Set<String>> folderContents = contents.remove(moved);
+            if (folderContents != null) {
+                contents.put(target, folderContents);
+                folderContents.forEach((type, ids) -> ids.forEach(id -> {
+                    unlocate(type, id, moved);
+                    locate(type, id, target);
+                }));
+            }
+        }
+        addFolder(to);
+    }
+
+    /**
+     * Adds an entry to the index.
+     *
+     * @param type the content type.
+     * @param contentId the content id.
+     * @param folder the folder holding the entry.
+     */
+    synchronized void addEntry(FolderContentType type, String contentId, FolderPath folder) {
+        addFolder(folder);
+        contents
+                .computeIfAbsent(folder, f -> new EnumMap<>(FolderContentType.class)) //
+                .computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet()) //
+                .add(contentId);
+        locate(type, contentId, folder);
+    }
+
+    /**
+     * Removes an entry from the index.
+     *
+     * @param type the content type.
+     * @param contentId the content id.
+     * @param folder the folder holding the entry.
+     */
+    synchronized void removeEntry(FolderContentType type, String contentId, FolderPath folder) {
+        final Map<FolderContentType, Set<String>> folderContents = contents.get(folder);
+        if (folderContents != null && folderContents.containsKey(type)) {
+            folderContents.get(type).remove(contentId);
+        }
+        unlocate(type, contentId, folder);
+    }
+
+    /**
+     * Removes all entries from the index.
+     */
+    synchronized void clear() {
+        folders.clear();
+        contents.clear();
+        locations.clear();
+    }
+
+    /**
+     * @return all the folders, parents before their children.
+     */
+    synchronized List<FolderPath> folders() {
+        return new ArrayList<>(folders);
+    }
+
+    /**
+     * @param folder a folder.
+     * @param type the content type.
+     * @return the ids of the contents of given type in folder (sub folders excluded).
+     */
+    synchronized Set<String> entries(FolderPath folder, FolderContentType type) {
+        final Map<FolderContentType, Set<String>> folderContents = contents.get(folder);
+        if (folderContents == null || !folderContents.containsKey(type)) {
+            return emptySet();
+        }
+        return new HashSet<>(folderContents.get(type));
+    }
+
+    /**
+     * @param folder a folder.
+     * @return <code>true</code> if folder or one of its sub folders holds at least one entry.
+     */
+    synchronized boolean hasEntry(FolderPath folder) {
+        return subFolders(folder)
+                .stream() //
+                .map(contents::get) //
+                .anyMatch(folderContents -> folderContents != null
+                        && folderContents.values().stream().anyMatch(ids -> !ids.isEmpty()));
+    }
+
+    /**
+     * @param type the content type.
+     * @param contentId the content id.
+     * @return the folders holding the content, parents before their children.
+     */
+    synchronized List<FolderPath> locate(FolderContentType type, String contentId) {
+        final Map<String, Set<FolderPath>> typeLocations = locations.get(type);
+        if (typeLocations == null || !typeLocations.containsKey(contentId)) {
+            return new ArrayList<>();
+        }
+        final NavigableSet<FolderPath> result = new TreeSet<>(folders.comparator());
+        result.addAll(typeLocations.get(contentId));
+        return new ArrayList<>(result);
+    }
+
+    private void locate(FolderContentType type, String contentId, FolderPath folder) {
+        locations
+                .computeIfAbsent(type, t -> new ConcurrentHashMap<>()) //
+                .computeIfAbsent(contentId, id -> ConcurrentHashMap.newKeySet()) //
+                .add(folder);
+    }
+
+    private void unlocate(FolderContentType type, String contentId, FolderPath folder) {
+        final Map<String, Set<FolderPath>> typeLocations = locations.get(type);
+        if (typeLocations != null) {
+            typeLocations.computeIfPresent(contentId, (id, contentFolders) -> {
+                contentFolders.remove(folder);
+                return contentFolders.isEmpty() ? null : contentFolders;
+            });
+        }
+    }
+
+    /**
+     * @param folder a folder.
+     * @return the folder and all its sub folders.
+     */
+    private List<FolderPath> subFolders(FolderPath folder) {
+        final String path = folder.serializeAsString();
+        final String prefix = folder.isRoot() ? path : path + PATH_SEPARATOR;
+        // sub folders are not contiguous in the set ("/a b" sorts between "/a" and "/a/b"), check all the tail
+        final List<FolderPath> result = new ArrayList<>();
+        for (FolderPath candidate : folders.tailSet(folder, true)) {
+            final String candidatePath = candidate.serializeAsString();
+            if (candidatePath.equals(path) || candidatePath.startsWith(prefix)) {
+                result.add(candidate);
+            } else if (!candidatePath.startsWith(path)) {
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -20,16 +20,13 @@ import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_AD
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ADD_FOLDER_ENTRY;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_DELETE_FOLDER;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_LIST_FOLDER_CHILDREN;
-import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_LIST_FOLDER_ENTRIES;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_REMOVE_FOLDER_ENTRY;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_RENAME_FOLDER;
 import static org.talend.dataprep.exception.error.FolderErrorCodes.FOLDER_NOT_EMPTY;
 import static org.talend.dataprep.folder.store.FoldersRepositoriesConstants.PATH_SEPARATOR;
 import static org.talend.dataprep.folder.store.file.FileSystemUtils.countSubDirectories;
-import static org.talend.dataprep.folder.store.file.FileSystemUtils.deleteFile;
 import static org.talend.dataprep.folder.store.file.FileSystemUtils.fromId;
-import static org.talend.dataprep.folder.store.file.FileSystemUtils.hasEntry;
-import static org.talend.dataprep.folder.store.file.FileSystemUtils.matches;
+import static org.talend.dataprep.folder.store.file.FileSystemUtils.toFolderEntry;
 import static org.talend.dataprep.folder.store.file.FileSystemUtils.toId;
 import static org.talend.dataprep.folder.store.file.FileSystemUtils.writeEntryToStream;
 
@@ -49,6 +46,8 @@ import javax.annotation.PostConstruct;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -70,6 +69,12 @@ import org.talend.dataprep.util.StringsHelper;
 @ConditionalOnProperty(name = "folder.store", havingValue = "file")
 public class FileSystemFolderRepository implements FolderRepository {
 
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemFolderRepository.class);
+
+    /** In memory index of the folders and entries (to prevent walking the whole tree on lookups). */
+    private final FileSystemFolderIndex index = new FileSystemFolderIndex();
+
     @Autowired
     private Security security;
 
@@ -81,7 +86,7 @@ public class FileSystemFolderRepository implements FolderRepository {
     }
 
     /**
-     * Make sure the root folder is there.
+     * Make sure the root folder is there and build the index of the folders and entries.
      */
     @PostConstruct
     private void init() {
@@ -90,6 +95,29 @@ public class FileSystemFolderRepository implements FolderRepository {
             if (!Files.exists(rootPath)) {
                 Files.createDirectories(rootPath);
             }
+            index.clear();
+            try (Stream<Path> paths = Files.walk(rootPath)) {
+                paths.forEach(path -> {
+                    if (Files.isDirectory(path)) {
+                        index.addFolder(pathsConverter.toFolderPath(path));
+                    } else {
+                        final FolderEntry entry;
+                        try {
+                            entry = toFolderEntry(path);
+                        } catch (TDPException e) {
+                            LOGGER.warn("Ignore unreadable folder entry '{}'.", path, e);
+                            return;
+                        }
+                        if (entry.getContentType() == null) {
+                            LOGGER.warn("Ignore unexpected file '{}' in folders.", path);
+                            return;
+                        }
+                        index.addEntry(entry.getContentType(), entry.getContentId(),
+                                pathsConverter.toFolderPath(path.getParent()));
+                    }
+                });
+            }
+            LOGGER.debug("Folder index loaded ({} folders).", index.folders().size());
         } catch (IOException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
@@ -150,6 +178,7 @@ public class FileSystemFolderRepository implements FolderRepository {
         try {
             Path pathToCreate = pathsConverter.toPath(folderPathToCreate);
             Files.createDirectories(pathToCreate);
+            index.addFolder(folderPathToCreate);
             return toFolder(pathToCreate, security.getUserId());
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_ADD_FOLDER, e, build().put("path", givenPath));
@@ -198,6 +227,7 @@ public class FileSystemFolderRepository implements FolderRepository {
 
         try {
             FileUtils.moveDirectory(folderPath.toFile(), newFolderPath.toFile());
+            index.moveFolder(folderToMovePath, targetFolderPath);
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_RENAME_FOLDER, e, build().put("path", folder.getPath()));
         }
@@ -234,6 +264,7 @@ public class FileSystemFolderRepository implements FolderRepository {
             try (OutputStream outputStream = Files.newOutputStream(entryFilePath)) {
                 writeEntryToStream(folderEntry, outputStream);
             }
+            index.addEntry(folderEntry.getContentType(), folderEntry.getContentId(), folderPath);
             return folderEntry;
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_ADD_FOLDER_ENTRY, e, build().put("path", folderPath));
@@ -248,15 +279,17 @@ public class FileSystemFolderRepository implements FolderRepository {
         }
 
         final FolderPath folderPath = fromId(folderId);
+        final Path path = pathsConverter.toPath(folderPath);
 
         try {
-            Path path = pathsConverter.toPath(folderPath);
-
-            try (Stream<Path> paths = Files.walk(path)) {
-                paths
-                        .filter(pathFound -> !Files.isDirectory(pathFound)) //
-                        .filter(pathFile -> matches(pathFile, contentId, contentType)) //
-                        .forEach(deleteFile());
+            // the index knows the folders holding the entry, no need to read every entry file under the folder
+            for (FolderPath entryFolder : index.locate(contentType, contentId)) {
+                final Path entryFolderPath = pathsConverter.toPath(entryFolder);
+                if (entryFolderPath.startsWith(path)) {
+                    final String fileName = buildFileName(new FolderEntry(contentType, contentId));
+                    Files.deleteIfExists(entryFolderPath.resolve(fileName));
+                    index.removeEntry(contentType, contentId, entryFolder);
+                }
             }
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_REMOVE_FOLDER_ENTRY, e, build().put("path", folderPath));
@@ -265,13 +298,15 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public void removeFolder(String folderId) {
-        final Path path = pathsConverter.toPath(fromId(folderId));
+        final FolderPath folderPath = fromId(folderId);
+        final Path path = pathsConverter.toPath(folderPath);
 
-        if (hasEntry(path)) {
+        if (index.hasEntry(folderPath)) {
             throw new TDPException(FOLDER_NOT_EMPTY);
         } else {
             try {
                 FileUtils.deleteDirectory(path.toFile());
+                index.removeFolder(folderPath);
             } catch (IOException e) {
                 throw new TDPException(UNABLE_TO_DELETE_FOLDER, e, build().put("path", path));
             }
@@ -286,36 +321,18 @@ public class FileSystemFolderRepository implements FolderRepository {
             throw new TDPException(FOLDER_DOES_NOT_EXIST, build().put("id", folderId));
         }
 
-        final Path path = pathsConverter.toPath(folderPath);
-
-        if (Files.notExists(path)) {
-            return Stream.empty();
-        }
-
-        try {
-            return Files
-                    .list(path) //
-                    .filter(pathFound -> !Files.isDirectory(pathFound)) //
-                    .map(FileSystemUtils::toFolderEntry) //
-                    .filter(entry -> Objects.equals(contentType, entry.getContentType()));
-        } catch (IOException e) {
-            throw new TDPException(UNABLE_TO_LIST_FOLDER_ENTRIES, e,
-                    build().put("path", path).put("type", contentType));
-        }
+        return index
+                .entries(folderPath, contentType)
+                .stream() //
+                .map(contentId -> buildFolderEntry(contentType, contentId, folderPath));
     }
 
     @Override
     public Stream<FolderEntry> findFolderEntries(String contentId, FolderContentType contentType) {
-        try {
-            return Files
-                    .walk(pathsConverter.getRootFolder()) //
-                    .filter(Files::isRegularFile) //
-                    .map(FileSystemUtils::toFolderEntry) //
-                    .filter(entry -> StringUtils.equals(entry.getContentId(), contentId) //
-                            && Objects.equals(contentType, entry.getContentType()));
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        return index
+                .locate(contentType, contentId)
+                .stream() //
+                .map(folderPath -> buildFolderEntry(contentType, contentId, folderPath));
     }
 
     @Override
@@ -330,22 +347,18 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public Stream<Folder> searchFolders(String folderName, boolean strict) {
-        try {
-            final String queryForFileSearch;
-            if (folderName.startsWith("/")) {
-                queryForFileSearch = folderName.substring(1);
-            } else {
-                queryForFileSearch = folderName;
-            }
-            return Files
-                    .walk(pathsConverter.getRootFolder()) //
-                    .filter(path -> //
-                    Files.isDirectory(path) //
-                            && StringsHelper.match(path.getFileName().toString(), queryForFileSearch, strict)) //
-                    .map(path -> toFolder(path, security.getUserId()));
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        final String queryForFileSearch;
+        if (folderName.startsWith("/")) {
+            queryForFileSearch = folderName.substring(1);
+        } else {
+            queryForFileSearch = folderName;
         }
+        return index
+                .folders()
+                .stream() //
+                .map(pathsConverter::toPath) //
+                .filter(path -> StringsHelper.match(path.getFileName().toString(), queryForFileSearch, strict)) //
+                .map(path -> toFolder(path, security.getUserId()));
     }
 
     @Override
@@ -370,6 +383,8 @@ public class FileSystemFolderRepository implements FolderRepository {
         Path destinationFile = Paths.get(destinationPath.toString(), buildFileName(folderEntry));
         try {
             Files.move(originFilePath, destinationFile);
+            index.removeEntry(folderEntry.getContentType(), folderEntry.getContentId(), fromId(fromId));
+            index.addEntry(folderEntry.getContentType(), folderEntry.getContentId(), fromId(toId));
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_MOVE_FOLDER_ENTRY, e);
         }
@@ -377,21 +392,12 @@ public class FileSystemFolderRepository implements FolderRepository {
 
     @Override
     public Folder locateEntry(String contentId, FolderContentType type) {
-        try (Stream<Path> entriesStream = Files.walk(pathsConverter.getRootFolder())) {
-            return entriesStream //
-                    .filter(Files::isRegularFile) //
-                    .filter(file -> {
-                        FolderEntry folderEntry = FileSystemUtils.toFolderEntry(file);
-                        return Objects.equals(folderEntry.getContentId(), contentId) //
-                                && Objects.equals(folderEntry.getContentType(), type);
-                    }) //
-                    .findFirst() //
-                    .map(Path::getParent) //
-                    .map(p -> toFolder(p, security.getUserId())) //
-                    .orElse(null);
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        return index
+                .locate(type, contentId)
+                .stream() //
+                .findFirst() //
+                .map(folderPath -> toFolder(pathsConverter.toPath(folderPath), security.getUserId())) //
+                .orElse(null);
     }
 
     @Override
@@ -410,17 +416,20 @@ public class FileSystemFolderRepository implements FolderRepository {
         } else {
             queryForFileSearch = path;
         }
-        try (Stream<Path> matchingFolders = Files
-                .walk(pathsConverter.getRootFolder()) //
-                .filter(p -> Files.isDirectory(p) && p.getFileName().toString().equals(queryForFileSearch))) {
-
-            return matchingFolders //
-                    .findFirst() //
-                    .map(p -> toFolder(p, security.getUserId()));
+        return index
+                .folders()
+                .stream() //
+                .map(pathsConverter::toPath) //
+                .filter(p -> p.getFileName().toString().equals(queryForFileSearch)) //
+                .findFirst() //
+                .map(p -> toFolder(p, security.getUserId()));
+    }
 
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+    /** Build the {@link FolderEntry} of a content in a folder. */
+    private static FolderEntry buildFolderEntry(FolderContentType contentType, String contentId, FolderPath folderPath) {
+        final FolderEntry entry = new FolderEntry(contentType, contentId);
+        entry.setFolderId(toId(folderPath));
+        return entry;
     }
 
     /** If the path represents a directory, build the {@link Folder} object based on it. */
@@ -7,12 +7,10 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Base64;
-import java.util.Objects;
 import java.util.Properties;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
-import org.apache.commons.lang3.StringUtils;
 import org.talend.dataprep.api.folder.FolderContentType;
 import org.talend.dataprep.api.folder.FolderEntry;
 import org.talend.dataprep.exception.TDPException;
@@ -52,31 +50,6 @@ class FileSystemUtils {
         };
     }
 
-    static boolean matches(Path pathFile, String contentId, FolderContentType contentType) {
-        boolean passFilter = false;
-        try (InputStream inputStream = Files.newInputStream(pathFile)) {
-            FolderEntry folderEntry = readEntryFromStream(inputStream);
-            if (Objects.equals(contentType, folderEntry.getContentType()) && //
-                    StringUtils.equalsIgnoreCase(folderEntry.getContentId(), contentId)) {
-                passFilter = true;
-            }
-        } catch (IOException e) {
-            throw new TDPException(UNABLE_TO_READ_FOLDER_ENTRY, e, build().put("path", pathFile));
-        }
-        return passFilter;
-    }
-
-    private static FolderEntry readEntryFromStream(InputStream inputStream) throws IOException {
-        // use java Properties to save the files
-        Properties properties = new Properties();
-        properties.load(inputStream);
-        FolderEntry folderEntry = new FolderEntry();
-        folderEntry.setContentId(properties.getProperty(CONTENT_ID));
-        folderEntry.setContentType(FolderContentType.fromName(properties.getProperty(CONTENT_TYPE)));
-        folderEntry.setFolderId(properties.getProperty(FOLDER_ID));
-        return folderEntry;
-    }
-
     /**
      * Tries to read a file for a dataprep {@link FolderEntry}.
      *
@@ -98,17 +71,6 @@ class FileSystemUtils {
         return folderEntry;
     }
 
-    static boolean hasEntry(Path path) {
-        boolean hasChild;
-        try (Stream<Path> pathsStream = Files.walk(path)) {
-            hasChild =
-                    pathsStream.filter(Files::isRegularFile).map(FileSystemUtils::toFolderEntry).findAny().isPresent();
-        } catch (IOException e) {
-            throw new TDPException(UNABLE_TO_DELETE_FOLDER, e, build().put("path", path));
-        }
-        return hasChild;
-    }
-
     static void writeEntryToStream(FolderEntry folderEntry, OutputStream outputStream) throws IOException {
         // use java Properties to save the files
         Properties properties = new Properties();
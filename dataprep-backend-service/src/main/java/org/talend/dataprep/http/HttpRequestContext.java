@@ -50,4 +50,16 @@ public class HttpRequestContext {
         return StringUtils.EMPTY;
     }
 
+    /**
+     * @param headerName the request header name.
+     * @return the request header value, or <code>null</code> if header is absent or not in a web context.
+     */
+    public static String header(String headerName) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getRequest().getHeader(headerName);
+        }
+        return null;
+    }
+
 }
@@ -12,13 +12,19 @@
 
 package org.talend.dataprep.preparation.store;
 
+import static java.util.stream.Collectors.toList;
+
 import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.talend.dataprep.api.preparation.Identifiable;
+import org.talend.dataprep.api.preparation.Step;
 import org.talend.tql.bean.BeanPredicateVisitor;
 import org.talend.tql.model.Expression;
 
@@ -26,16 +32,60 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
 
     protected abstract <T extends Identifiable> Stream<T> source(Class<T> clazz);
 
+    /**
+     * Returns the objects that <i>may</i> match the filter, callers still apply the filter on returned objects.
+     * Implementations able to narrow the objects to read using the filter should override this method, default
+     * implementation returns all objects of <code>clazz</code>.
+     *
+     * @param clazz The class of the elements to list.
+     * @param filter A TQL filter (i.e. storage-agnostic)
+     * @return The candidate objects for the filter.
+     */
+    protected <T extends Identifiable> Stream<T> source(Class<T> clazz, Expression filter) {
+        return source(clazz);
+    }
+
     @Override
     public <T extends Identifiable> T get(String id, Class<T> clazz) {
         final Optional<T> match = source(clazz).filter(i -> ObjectUtils.equals(i.getId(), id)).findAny();
         return match.orElse(null);
     }
 
+    @Override
+    public <T extends Identifiable> List<T> getAll(Collection<String> ids, Class<T> clazz) {
+        return ids.stream() //
+                .map(id -> get(id, clazz)) //
+                .filter(Objects::nonNull) //
+                .collect(toList());
+    }
+
+    @Override
+    public List<String> getStepIds(String stepId, String limit) {
+        final LinkedList<String> stepIds = new LinkedList<>();
+        String current = stepId;
+        while (current != null) {
+            if (Step.ROOT_STEP.id().equals(current)) {
+                // root step is not stored
+                stepIds.addFirst(current);
+                break;
+            }
+            final PersistentStep step = get(current, PersistentStep.class);
+            if (step == null) {
+                break;
+            }
+            stepIds.addFirst(current);
+            if (current.equals(limit)) {
+                break;
+            }
+            current = step.getParentId();
+        }
+        return stepIds;
+    }
+
     @Override
     public <T extends Identifiable> boolean exist(Class<T> clazz, Expression expression) {
         final Predicate<T> accept = expression.accept(new BeanPredicateVisitor<>(clazz));
-        return source(clazz).anyMatch(accept);
+        return source(clazz, expression).anyMatch(accept);
     }
 
     @Override
@@ -46,7 +96,7 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
     @Override
     public <T extends Identifiable> Stream<T> list(Class<T> clazz, Expression expression) {
         final Predicate<T> accept = expression.accept(new BeanPredicateVisitor<>(clazz));
-        return source(clazz).filter(accept);
+        return source(clazz, expression).filter(accept);
     }
 
     @Override
@@ -59,7 +109,7 @@ public abstract class ObjectPreparationRepository implements PreparationReposito
     @Override
     public <T extends Identifiable> void remove(Class<T> clazz, Expression filter) {
         final Predicate<T> predicate = filter.accept(new BeanPredicateVisitor<>(clazz));
-        source(clazz).filter(predicate).forEach(this::remove);
+        source(clazz, filter).filter(predicate).forEach(this::remove);
     }
 
     @Override
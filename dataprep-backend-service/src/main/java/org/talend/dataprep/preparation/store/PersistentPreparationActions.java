@@ -0,0 +1,102 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.talend.dataprep.api.preparation.Action;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A {@link org.talend.dataprep.api.preparation.PreparationActions} for persistent storage: only holds the actions added
+ * after the parent content (a delta). The complete list of actions is the parent's complete list followed by these
+ * actions. A content without parent holds its complete list of actions.
+ *
+ * The id is the id of the complete {@link org.talend.dataprep.api.preparation.PreparationActions} (so steps keep
+ * referencing contents the same way).
+ *
+ * @see PersistentPreparationRepository
+ */
+public class PersistentPreparationActions extends PersistentIdentifiable {
+
+    /** Serialization UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The parent content (<code>null</code> if this content holds all its actions). */
+    private String parentId;
+
+    /** The actions added after the parent content. */
+    private List<Action> actions = new ArrayList<>();
+
+    /** The app version. */
+    @JsonProperty("app-version")
+    private String appVersion;
+
+    /**
+     * Default empty constructor;
+     */
+    public PersistentPreparationActions() {
+        // needed for Serialization
+    }
+
+    @Override
+    public String id() {
+        return getId();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    public void setActions(List<Action> actions) {
+        this.actions = actions;
+    }
+
+    public String getAppVersion() {
+        return appVersion;
+    }
+
+    public void setAppVersion(String appVersion) {
+        this.appVersion = appVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentPreparationActions{" + //
+                "id='" + id + '\'' + //
+                ", parentId='" + parentId + '\'' + //
+                ", actions=" + actions + //
+                ", appVersion='" + appVersion + '\'' + //
+                '}';
+    }
+}
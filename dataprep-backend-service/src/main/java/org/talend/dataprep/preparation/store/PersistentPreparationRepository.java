@@ -12,12 +12,25 @@
 
 package org.talend.dataprep.preparation.store;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.api.preparation.Identifiable;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.PreparationActions;
@@ -25,17 +38,34 @@ import org.talend.dataprep.api.preparation.PreparationUtils;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.metrics.Timed;
+import org.talend.tql.bean.BeanPredicateVisitor;
 import org.talend.tql.model.Expression;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * A {@link PreparationRepository} implementation that splits {@link Identifiable identifiable} into multiple ones for
  * persistent storage.
  *
+ * {@link PreparationActions Preparation actions} are stored as {@link PersistentPreparationActions deltas} (each content
+ * only holds the actions added after its parent content). Complete contents are rebuilt on read and the most recent ones
+ * are kept in memory. Contents stored before delta encoding are still read as is.
+ *
  * @see PersistentIdentifiable
  * @see PreparationUtils#scatter(Identifiable)
  */
 public class PersistentPreparationRepository implements PreparationRepository {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentPreparationRepository.class);
+
+    /** Maximum number of complete preparation actions kept in memory. */
+    private static final int MAX_MEMOIZED_ACTIONS = 1000;
+
+    /** Content id -> complete preparation actions (rebuilt from deltas, actions must not be modified). */
+    private final Cache<String, PreparationActions> actions =
+            CacheBuilder.newBuilder().maximumSize(MAX_MEMOIZED_ACTIONS).build();
+
     private final BeanConversionService beanConversionService;
 
     private final PreparationRepository delegate;
@@ -70,6 +100,9 @@ public class PersistentPreparationRepository implements PreparationRepository {
     @Timed
     @Override
     public <T extends Identifiable> boolean exist(Class<T> clazz, Expression expression) {
+        if (PreparationActions.class.equals(clazz)) {
+            return listActions().anyMatch(accept(expression));
+        }
         final Class<? extends Identifiable> targetClass = selectPersistentClass(clazz);
         return delegate.exist(targetClass, expression);
     }
@@ -77,6 +110,9 @@ public class PersistentPreparationRepository implements PreparationRepository {
     @Timed
     @Override
     public <T extends Identifiable> Stream<T> list(Class<T> clazz) {
+        if (PreparationActions.class.equals(clazz)) {
+            return (Stream<T>) Stream.concat(listActions(), Stream.of(PreparationActions.ROOT_ACTIONS));
+        }
         final Class<T> persistentClass = (Class<T>) selectPersistentClass(clazz);
         Stream<T> delegateStream = applyConversions(() -> delegate.list(persistentClass), clazz, persistentClass);
         return Stream.concat(delegateStream, getRootElement(persistentClass, clazz));
@@ -95,6 +131,10 @@ public class PersistentPreparationRepository implements PreparationRepository {
     @Timed
     @Override
     public <T extends Identifiable> Stream<T> list(Class<T> clazz, Expression expression) {
+        if (PreparationActions.class.equals(clazz)) {
+            return (Stream<T>) Stream.concat(listActions().filter(accept(expression)),
+                    Stream.of(PreparationActions.ROOT_ACTIONS));
+        }
         final Class<T> persistentClass = (Class<T>) selectPersistentClass(clazz);
         Stream<T> delegateStream =
                 applyConversions(() -> delegate.list(persistentClass, expression), clazz, persistentClass);
@@ -104,6 +144,19 @@ public class PersistentPreparationRepository implements PreparationRepository {
     @Timed
     @Override
     public void add(Identifiable object) {
+        if (object instanceof PreparationActions) {
+            addActions((PreparationActions) object);
+            return;
+        } else if (object instanceof PersistentPreparationActions) {
+            actions.invalidate(object.id());
+            delegate.add(object);
+            // Once stored, the delta supersedes the content stored before delta encoding (if any)
+            final PreparationActions previousContent = delegate.get(object.id(), PreparationActions.class);
+            if (previousContent != null) {
+                delegate.remove(previousContent);
+            }
+            return;
+        }
         final Class<? extends Identifiable> clazz = selectPersistentClass(object.getClass());
         if (!object.getClass().equals(clazz)) {
             final List<? extends Identifiable> objects = PreparationUtils
@@ -145,21 +198,68 @@ public class PersistentPreparationRepository implements PreparationRepository {
             return (T) persistentStep;
         } else if (clazz.equals(PreparationActions.class) && PreparationActions.ROOT_ACTIONS.getId().equals(id)) {
             return (T) PreparationActions.ROOT_ACTIONS;
+        } else if (clazz.equals(PreparationActions.class)) {
+            return (T) getActions(id);
         } else {
             beanToConvert = delegate.get(id, targetClass);
         }
         return beanConversionService.convert(beanToConvert, clazz);
     }
 
+    @Timed
+    @Override
+    public <T extends Identifiable> List<T> getAll(Collection<String> ids, Class<T> clazz) {
+        if (PreparationActions.class.equals(clazz)) {
+            return ids.stream().map(id -> get(id, clazz)).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+        final Class<? extends Identifiable> targetClass = selectPersistentClass(clazz);
+        final List<String> storedIds = ids.stream() //
+                .filter(id -> !Step.ROOT_STEP.id().equals(id)) //
+                .collect(Collectors.toList());
+        final Map<String, Identifiable> found = new HashMap<>();
+        delegate.getAll(storedIds, targetClass).forEach(identifiable -> found.put(identifiable.id(), identifiable));
+
+        final List<T> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            final T identifiable;
+            if (Step.ROOT_STEP.id().equals(id)) {
+                identifiable = get(id, clazz);
+            } else {
+                identifiable = beanConversionService.convert(found.get(id), clazz);
+            }
+            if (identifiable != null) {
+                result.add(identifiable);
+            }
+        }
+        return result;
+    }
+
+    @Timed
+    @Override
+    public List<String> getStepIds(String stepId, String limit) {
+        return delegate.getStepIds(stepId, limit);
+    }
+
     @Timed
     @Override
     public void clear() {
         delegate.clear();
+        actions.invalidateAll();
     }
 
     @Timed
     @Override
     public void remove(Identifiable object) {
+        if (object instanceof PreparationActions || object instanceof PersistentPreparationActions) {
+            actions.invalidate(object.id());
+            final PersistentPreparationActions persistentActions = new PersistentPreparationActions();
+            persistentActions.setId(object.id());
+            delegate.remove(persistentActions);
+            if (object instanceof PreparationActions) {
+                delegate.remove(object);
+            }
+            return;
+        }
         final Class<? extends Identifiable> targetClass = selectPersistentClass(object.getClass());
         delegate.remove(beanConversionService.convert(object, targetClass));
     }
@@ -173,6 +273,123 @@ public class PersistentPreparationRepository implements PreparationRepository {
     @Timed
     @Override
     public long count(Class<? extends Identifiable> clazz, Expression filter) {
+        if (PreparationActions.class.equals(clazz)) {
+            return listActions().filter(accept(filter)).count();
+        }
         return delegate.count(selectPersistentClass(clazz), filter);
     }
+
+    private static Predicate<PreparationActions> accept(Expression expression) {
+        return expression.accept(new BeanPredicateVisitor<>(PreparationActions.class));
+    }
+
+    /**
+     * Stores preparation actions as a complete content (i.e. without parent).
+     *
+     * @param preparationActions the preparation actions to store.
+     */
+    private void addActions(PreparationActions preparationActions) {
+        if (PreparationActions.ROOT_ACTIONS.id().equals(preparationActions.id())) {
+            return;
+        }
+        final PersistentPreparationActions persistentActions = new PersistentPreparationActions();
+        persistentActions.setId(preparationActions.id());
+        persistentActions.setActions(new ArrayList<>(preparationActions.getActions()));
+        delegate.add(persistentActions);
+        // contents are immutable once written, only the replaced one may be stale
+        actions.invalidate(preparationActions.id());
+    }
+
+    /**
+     * @return all the complete preparation actions (except the root ones).
+     */
+    private Stream<PreparationActions> listActions() {
+        final Stream<PreparationActions> contents = delegate
+                .list(PersistentPreparationActions.class) //
+                .map(persistentActions -> getActions(persistentActions.getId())) //
+                .filter(Objects::nonNull);
+        // Contents stored before delta encoding (and not stored again since)
+        final Stream<PreparationActions> previousContents = delegate
+                .list(PreparationActions.class) //
+                .filter(content -> delegate.get(content.id(), PersistentPreparationActions.class) == null);
+        return Stream.concat(contents, previousContents);
+    }
+
+    /**
+     * @param id the preparation actions id.
+     * @return the complete preparation actions with given id, or <code>null</code> if not found.
+     */
+    private PreparationActions getActions(String id) {
+        if (id == null) {
+            return null;
+        }
+        PreparationActions content = actions.getIfPresent(id);
+        if (content == null) {
+            content = rebuild(id);
+        }
+        if (content == null) {
+            return null;
+        }
+        final PreparationActions copy = new PreparationActions();
+        copy.setActions(new ArrayList<>(content.getActions()));
+        copy.setId(content.id());
+        return copy;
+    }
+
+    /**
+     * Rebuilds the complete preparation actions: walks up the parents up to a complete content (the root one, a content
+     * already in memory or a content without parent) and appends the deltas down to the wanted content.
+     *
+     * @param id the preparation actions id.
+     * @return the complete preparation actions with given id, or <code>null</code> if not found.
+     */
+    private PreparationActions rebuild(String id) {
+        final Deque<PersistentPreparationActions> deltas = new ArrayDeque<>();
+        final Set<String> visited = new HashSet<>();
+        List<Action> previous = Collections.emptyList();
+        String current = id;
+        while (current != null && !PreparationActions.ROOT_ACTIONS.id().equals(current)) {
+            if (!visited.add(current)) {
+                throw new IllegalStateException(
+                        "Cycle in parents of preparation actions #" + id + " (#" + current + " found twice).");
+            }
+            final PreparationActions memoized = actions.getIfPresent(current);
+            if (memoized != null) {
+                previous = memoized.getActions();
+                break;
+            }
+            final PersistentPreparationActions delta = delegate.get(current, PersistentPreparationActions.class);
+            if (delta == null) {
+                final PreparationActions previousContent = delegate.get(current, PreparationActions.class);
+                if (previousContent == null) {
+                    if (!deltas.isEmpty()) {
+                        LOGGER.warn("Unable to find preparation actions #{} (parent of #{}).", current,
+                                deltas.peek().id());
+                    }
+                    return null;
+                } else if (deltas.isEmpty()) {
+                    // Stored before delta encoding
+                    return previousContent;
+                }
+                previous = previousContent.getActions();
+                break;
+            }
+            deltas.push(delta);
+            current = delta.getParentId();
+        }
+
+        PreparationActions content = null;
+        while (!deltas.isEmpty()) {
+            final PersistentPreparationActions delta = deltas.pop();
+            final List<Action> contentActions = new ArrayList<>(previous.size() + delta.getActions().size());
+            contentActions.addAll(previous);
+            contentActions.addAll(delta.getActions());
+            content = new PreparationActions();
+            content.setActions(contentActions);
+            content.setId(delta.id());
+            actions.put(delta.id(), content);
+            previous = contentActions;
+        }
+        return content;
+    }
 }
@@ -13,6 +13,7 @@
 package org.talend.dataprep.preparation.store;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.talend.dataprep.api.preparation.Identifiable;
@@ -79,6 +80,29 @@ public interface PreparationRepository {
     @Timed
     <T extends Identifiable> T get(String id, Class<T> clazz);
 
+    /**
+     * Returns the Identifiables that match the ids and the class, in the order of the ids (ids without match are
+     * skipped).
+     *
+     * @param ids the wanted Identifiable ids.
+     * @param clazz the wanted Identifiable class.
+     * @param <T> the type of Identifiable.
+     * @return the Identifiables that match the ids and the class.
+     */
+    @Timed
+    <T extends Identifiable> List<T> getAll(Collection<String> ids, Class<T> clazz);
+
+    /**
+     * Returns the ids of the ancestry of a step: the ids from the step with id <code>limit</code> (or the first step
+     * without parent) to the step with id <code>stepId</code>.
+     *
+     * @param stepId the id of the last step.
+     * @param limit the id of the step where to stop the ancestry.
+     * @return the step ids, from the oldest to <code>stepId</code>. Empty list if step is not found.
+     */
+    @Timed
+    List<String> getStepIds(String stepId, String limit);
+
     /**
      * Removes all {@link Identifiable} stored in this repository.
      */
@@ -0,0 +1,267 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.store.file;
+
+import static java.util.Collections.emptySet;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.talend.dataprep.api.preparation.Identifiable;
+import org.talend.tql.model.AndExpression;
+import org.talend.tql.model.ComparisonExpression;
+import org.talend.tql.model.ComparisonOperator;
+import org.talend.tql.model.Expression;
+import org.talend.tql.model.FieldReference;
+import org.talend.tql.model.LiteralValue;
+
+/**
+ * In memory index of the {@link FileSystemPreparationRepository} content.
+ * <ul>
+ * <li>A primary index (class simple name → ids) built from the file names on startup.</li>
+ * <li>A secondary index on {@link #INDEXED_FIELDS} (class simple name → field → value → ids), built on first use for a
+ * class and then maintained on add/remove.</li>
+ * </ul>
+ * The index only narrows the files to read: callers are still expected to read the file and apply the complete filter
+ * on the deserialized object.
+ */
+class FileSystemPreparationIndex {
+
+    /** This class' logger. */
+    private static final Logger LOG = LoggerFactory.getLogger(FileSystemPreparationIndex.class);
+
+    /** Fields with a secondary index (only used when the indexed class has a matching property). */
+    static final List<String> INDEXED_FIELDS = Arrays.asList("id", "dataSetId", "parentId", "content");
+
+    /** Class simple name → ids of stored objects. */
+    private final Map<String, Set<String>> ids = new ConcurrentHashMap<>();
+
+    /** Class simple name → indexed field → field value → ids. */
+    private final Map<String, Map<String, Map<String, Set<String>>>> fields = new ConcurrentHashMap<>();
+
+    /** Class simple name → id → indexed values (used to clean up secondary index on overwrite/remove). */
+    private final Map<String, Map<String, Map<String, String>>> values = new ConcurrentHashMap<>();
+
+    /** Cache of the indexed properties getters per class. */
+    private final Map<Class, Map<String, Method>> getters = new ConcurrentHashMap<>();
+
+    /**
+     * Register an id in the primary index (used on startup from file names).
+     *
+     * @param className the stored object class simple name.
+     * @param id the stored object id.
+     */
+    void register(String className, String id) {
+        ids.computeIfAbsent(className, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    /**
+     * Index an object (add or overwrite).
+     *
+     * @param object the saved object.
+     * @param id the id used for the object's file.
+     */
+    synchronized void add(Identifiable object, String id) {
+        final String className = object.getClass().getSimpleName();
+        register(className, id);
+        final Map<String, Map<String, Set<String>>> classFields = fields.get(className);
+        if (classFields != null) {
+            unindex(className, id);
+            index(className, classFields, object, id);
+        }
+    }
+
+    /**
+     * Remove an object from the index.
+     *
+     * @param className the removed object class simple name.
+     * @param id the id used for the object's file.
+     */
+    synchronized void remove(String className, String id) {
+        final Set<String> classIds = ids.get(className);
+        if (classIds != null) {
+            classIds.remove(id);
+        }
+        unindex(className, id);
+    }
+
+    /**
+     * Remove all entries from the index.
+     */
+    synchronized void clear() {
+        ids.clear();
+        fields.clear();
+        values.clear();
+    }
+
+    /**
+     * @param clazz the wanted class.
+     * @return the ids of the stored objects of the exact given class.
+     */
+    Set<String> ids(Class<? extends Identifiable> clazz) {
+        final Set<String> classIds = ids.get(clazz.getSimpleName());
+        return classIds == null ? emptySet() : new HashSet<>(classIds);
+    }
+
+    /**
+     * @param clazz the wanted class.
+     * @param id the id used for the object's file.
+     * @return the indexed values of the object (field -> value, <code>null</code> values are absent) or
+     * <code>null</code> if the object is not in the secondary index.
+     */
+    Map<String, String> values(Class<? extends Identifiable> clazz, String id) {
+        final Map<String, Map<String, String>> classValues = values.get(clazz.getSimpleName());
+        return classValues == null || id == null ? null : classValues.get(id);
+    }
+
+    /**
+     * Builds the secondary index for a class (no op if already built).
+     *
+     * @param clazz the class to build secondary index for.
+     * @param reader a function to read a stored object given its id (may return <code>null</code>).
+     */
+    synchronized <T extends Identifiable> void load(Class<T> clazz, Function<String, T> reader) {
+        final String className = clazz.getSimpleName();
+        if (fields.containsKey(className)) {
+            return;
+        }
+        final Map<String, Map<String, Set<String>>> classFields = new ConcurrentHashMap<>();
+        final Set<String> classIds = ids(clazz);
+        for (String id : classIds) {
+            final T object = reader.apply(id);
+            if (object != null) {
+                index(className, classFields, object, id);
+            }
+        }
+        fields.put(className, classFields);
+        LOG.debug("Secondary index for {} loaded ({} entries).", className, classIds.size());
+    }
+
+    /**
+     * Use the index to narrow the ids that may match the expression. Only conjunctions of equality on indexed fields
+     * are used, all other expressions yield an empty optional (meaning all ids of the class may match).
+     *
+     * @param clazz the wanted class.
+     * @param expression the TQL filter.
+     * @return the ids that may match the expression or an empty optional if index is of no help.
+     */
+    Optional<Set<String>> candidates(Class<? extends Identifiable> clazz, Expression expression) {
+        final Map<String, Map<String, Set<String>>> classFields = fields.get(clazz.getSimpleName());
+        if (classFields == null) {
+            return Optional.empty();
+        }
+        if (expression instanceof AndExpression) {
+            Set<String> result = null;
+            for (Expression operand : ((AndExpression) expression).getExpressions()) {
+                final Optional<Set<String>> operandCandidates = candidates(clazz, operand);
+                if (operandCandidates.isPresent()) {
+                    if (result == null) {
+                        result = new HashSet<>(operandCandidates.get());
+                    } else {
+                        result.retainAll(operandCandidates.get());
+                    }
+                }
+            }
+            return Optional.ofNullable(result);
+        } else if (expression instanceof ComparisonExpression) {
+            final ComparisonExpression comparison = (ComparisonExpression) expression;
+            if (comparison.getOperator().getOperator() != ComparisonOperator.Enum.EQ
+                    || !(comparison.getField() instanceof FieldReference)
+                    || !(comparison.getValueOrField() instanceof LiteralValue)) {
+                return Optional.empty();
+            }
+            final String field = ((FieldReference) comparison.getField()).getPath();
+            final Map<String, Set<String>> fieldIndex = classFields.get(field);
+            if (fieldIndex == null) {
+                return Optional.empty();
+            }
+            final String value = ((LiteralValue) comparison.getValueOrField()).getValue();
+            final Set<String> matches = fieldIndex.get(value);
+            return Optional.of(matches == null ? emptySet() : new HashSet<>(matches));
+        }
+        return Optional.empty();
+    }
+
+    private void index(String className, Map<String, Map<String, Set<String>>> classFields, Identifiable object,
+            String id) {
+        final Map<String, String> objectValues = new HashMap<>();
+        for (Map.Entry<String, Method> getter : getters(object.getClass()).entrySet()) {
+            final String field = getter.getKey();
+            final Map<String, Set<String>> fieldIndex =
+                    classFields.computeIfAbsent(field, k -> new ConcurrentHashMap<>());
+            final String value = getValue(object, getter.getValue());
+            if (value != null) {
+                fieldIndex.computeIfAbsent(value, k -> ConcurrentHashMap.newKeySet()).add(id);
+                objectValues.put(field, value);
+            }
+        }
+        values.computeIfAbsent(className, k -> new ConcurrentHashMap<>()).put(id, objectValues);
+    }
+
+    private void unindex(String className, String id) {
+        final Map<String, Map<String, String>> classValues = values.get(className);
+        final Map<String, Map<String, Set<String>>> classFields = fields.get(className);
+        if (classValues == null || classFields == null) {
+            return;
+        }
+        final Map<String, String> previous = classValues.remove(id);
+        if (previous == null) {
+            return;
+        }
+        previous.forEach((field, value) -> {
+            final Map<String, Set<String>> fieldIndex = classFields.get(field);
+            if (fieldIndex != null) {
+                final Set<String> valueIds = fieldIndex.get(value);
+                if (valueIds != null) {
+                    valueIds.remove(id);
+                }
+            }
+        });
+    }
+
+    private Map<String, Method> getters(Class clazz) {
+        return getters.computeIfAbsent(clazz, c -> {
+            final Map<String, Method> classGetters = new HashMap<>();
+            for (String field : INDEXED_FIELDS) {
+                final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(c, field);
+                if (descriptor != null && descriptor.getReadMethod() != null) {
+                    classGetters.put(field, descriptor.getReadMethod());
+                }
+            }
+            return Collections.unmodifiableMap(classGetters);
+        });
+    }
+
+    private static String getValue(Identifiable object, Method getter) {
+        try {
+            final Object value = getter.invoke(object);
+            return value == null ? null : String.valueOf(value);
+        } catch (Exception e) {
+            LOG.debug("Unable to read '{}' on {}.", getter.getName(), object, e);
+            return null;
+        }
+    }
+}
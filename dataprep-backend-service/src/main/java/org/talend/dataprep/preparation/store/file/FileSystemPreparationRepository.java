@@ -12,14 +12,15 @@
 
 package org.talend.dataprep.preparation.store.file;
 
-import static org.apache.commons.lang3.StringUtils.startsWith;
-
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -44,6 +45,7 @@ import org.talend.dataprep.preparation.store.ObjectPreparationRepository;
 import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.security.Security;
 import org.talend.dataprep.util.FilesHelper;
+import org.talend.tql.model.Expression;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -69,12 +71,26 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
     @Autowired
     private Security security;
 
+    /** In memory index of the stored files. */
+    private final FileSystemPreparationIndex index = new FileSystemPreparationIndex();
+
     /**
-     * Make sure the root folder is there.
+     * Make sure the root folder is there and build the index of the stored files.
      */
     @PostConstruct
     private void init() {
         getRootFolder().mkdirs();
+        final File[] files = getRootFolder().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                final String name = file.getName();
+                final int separator = name.indexOf('-');
+                if (name.startsWith(".") || separator <= 0) {
+                    continue;
+                }
+                index.register(name.substring(0, separator), name.substring(separator + 1));
+            }
+        }
         remove(Step.ROOT_STEP);
         final PersistentStep persistentStep = new PersistentStep();
         persistentStep.setId(Step.ROOT_STEP.id());
@@ -105,24 +121,63 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
             throw new TDPException(CommonErrorCodes.UNABLE_TO_SAVE_PREPARATION, e,
                     ExceptionContext.build().put("id", object.id()));
         }
+        index.add(object, getIndexId(object));
         LOG.debug("{} #{} saved", object.getClass().getSimpleName(), object.id());
     }
 
     @Override
     public <T extends Identifiable> Stream<T> source(Class<T> clazz) {
-        File[] files = getRootFolder().listFiles();
-        if (files == null) {
-            LOG.error("error listing preparations");
-            files = new File[0];
+        return read(index.ids(clazz), clazz);
+    }
+
+    @Override
+    protected <T extends Identifiable> Stream<T> source(Class<T> clazz, Expression filter) {
+        index.load(clazz, id -> read(id, clazz));
+        return read(index.candidates(clazz, filter).orElseGet(() -> index.ids(clazz)), clazz);
+    }
+
+    @Override
+    public <T extends Identifiable> T get(String id, Class<T> clazz) {
+        if (StringUtils.isBlank(id)) {
+            return null;
         }
-        final Stream<File> stream = Arrays.stream(files);
-        return stream
-                .filter(file -> startsWith(file.getName(), clazz.getSimpleName())) //
-                .map(file -> read(file.getName(), clazz)) // read all files
+        final T result = read(id, clazz);
+        return result != null && clazz.isAssignableFrom(result.getClass()) ? result : null;
+    }
+
+    @Override
+    public List<String> getStepIds(String stepId, String limit) {
+        // the parent of each step is in the secondary index: no need to read the step files
+        index.load(PersistentStep.class, id -> read(id, PersistentStep.class));
+        final LinkedList<String> stepIds = new LinkedList<>();
+        String current = stepId;
+        while (StringUtils.isNotBlank(current)) {
+            if (Step.ROOT_STEP.id().equals(current)) {
+                // root step is not stored
+                stepIds.addFirst(current);
+                break;
+            }
+            final Map<String, String> stepValues =
+                    index.values(PersistentStep.class, stripOptionalPrefix(PersistentStep.class, current));
+            if (stepValues == null) {
+                break;
+            }
+            stepIds.addFirst(current);
+            if (current.equals(limit)) {
+                break;
+            }
+            current = stepValues.get("parentId");
+        }
+        return stepIds;
+    }
+
+    private <T extends Identifiable> Stream<T> read(Set<String> ids, Class<T> clazz) {
+        return ids
+                .stream() //
+                .map(id -> read(id, clazz)) // read all files
                 .filter(Objects::nonNull) // filter out null entries
-                .filter(entry -> clazz.isAssignableFrom(entry.getClass())) // filter out the unwanted objects (should not be
-                // necessary but you never know)
-                .onClose(stream::close);
+                .filter(entry -> clazz.isAssignableFrom(entry.getClass())); // filter out the unwanted objects (should
+        // not be necessary but you never know)
     }
 
     private <T extends Identifiable> T read(String id, Class<T> clazz) {
@@ -158,6 +213,7 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
                 FilesHelper.deleteQuietly(file);
             }
         }
+        index.clear();
 
         LOG.debug("preparation repository cleared");
     }
@@ -169,6 +225,7 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
         }
         final File file = getIdentifiableFile(object);
         FilesHelper.deleteQuietly(file);
+        index.remove(object.getClass().getSimpleName(), getIndexId(object));
         LOG.debug("identifiable {} #{} removed", object.getClass().getSimpleName(), object.id());
     }
 
@@ -176,6 +233,14 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
         return getIdentifiableFile(object.getClass(), object.id());
     }
 
+    /**
+     * @param object the identifiable object.
+     * @return the id used in the index for this object (i.e. the file name without the class name prefix).
+     */
+    private String getIndexId(Identifiable object) {
+        return String.valueOf(stripOptionalPrefix(object.getClass(), object.id()));
+    }
+
     /**
      * Return the file that matches the given identifiable id.
      *
@@ -0,0 +1,44 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema;
+
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Optional companion of {@link Serializer}: a format family whose serializer implements this interface is able to
+ * decode raw content directly into {@link DataSetRow rows}, without the intermediate JSON representation returned by
+ * {@link Serializer#serialize(InputStream, DataSetMetadata, long)}.
+ *
+ * @see org.talend.dataprep.dataset.store.content.DataSetContentStore#stream(DataSetMetadata, long)
+ */
+public interface RowSource {
+
+    /**
+     * Decode the raw content into a stream of rows. Values are keyed by column id (as JSON serialization would do) and
+     * rows are produced in the same order and with the same limit semantic as
+     * {@link Serializer#serialize(InputStream, DataSetMetadata, long)}.
+     *
+     * @param rawContent The data set raw content.
+     * @param metadata The data set metadata, used to get the columns and the format parameters.
+     * @param limit A limit to indicate when to stop (use -1 for "no limit").
+     * @return A lazy stream of rows, closing this stream releases the resources held on <code>rawContent</code>.
+     * @throws org.talend.dataprep.exception.TDPException if content can't be read, either when called or while the
+     * stream is consumed (unlike the serializers that silently end the JSON output).
+     */
+    Stream<DataSetRow> rows(InputStream rawContent, DataSetMetadata metadata, long limit);
+}
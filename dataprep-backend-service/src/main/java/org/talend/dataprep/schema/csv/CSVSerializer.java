@@ -18,6 +18,11 @@ import static org.talend.dataprep.schema.csv.CSVFormatFamily.TEXT_ENCLOSURE_CHAR
 import java.io.*;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Resource;
 
@@ -29,8 +34,11 @@ import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.schema.RowSource;
 import org.talend.dataprep.schema.Serializer;
 
 import com.fasterxml.jackson.core.JsonFactory;
@@ -39,7 +47,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import au.com.bytecode.opencsv.CSVReader;
 
 @Service("serializer#csv")
-public class CSVSerializer implements Serializer {
+public class CSVSerializer implements Serializer, RowSource {
 
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(CSVSerializer.class);
@@ -102,6 +110,65 @@ public class CSVSerializer implements Serializer {
         }
     }
 
+    @Override
+    public Stream<DataSetRow> rows(InputStream rawContent, DataSetMetadata metadata, long limit) {
+        final Map<String, String> parameters = metadata.getContent().getParameters();
+        final String separator = parameters.get(CSVFormatFamily.SEPARATOR_PARAMETER);
+        final char actualSeparator = separator.charAt(0);
+        final char textEnclosureChar = getFromParameters(parameters, TEXT_ENCLOSURE_CHAR, defaultTextEnclosure);
+        final char escapeChar = getFromParameters(parameters, CSVFormatFamily.ESCAPE_CHAR, defaultEscapeChar);
+
+        final CSVReader reader;
+        try {
+            reader = new CSVReader(new InputStreamReader(rawContent, metadata.getEncoding()), actualSeparator,
+                    textEnclosureChar, escapeChar);
+            int i = 0;
+            while (i++ < metadata.getContent().getNbLinesInHeader()) {
+                reader.readNext(); // Skip all header lines
+            }
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e);
+        }
+
+        final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
+        final RowMetadata rowMetadata = new RowMetadata();
+        final Spliterator<DataSetRow> spliterator =
+                new Spliterators.AbstractSpliterator<DataSetRow>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+                    private int current = 0;
+
+                    @Override
+                    public boolean tryAdvance(Consumer<? super DataSetRow> action) {
+                        try {
+                            String[] line;
+                            while (withinLimit(limit, current) && (line = reader.readNext()) != null) {
+                                if (isEmptyLine(line)) {
+                                    continue;
+                                }
+                                final String[] values = getValues(line, columns, separator);
+                                final DataSetRow row = new DataSetRow(rowMetadata);
+                                for (int i = 0; i < values.length; i++) {
+                                    row.set(columns.get(i).getId(), values[i] == null ? StringUtils.EMPTY : values[i]);
+                                }
+                                current++;
+                                action.accept(row);
+                                return true;
+                            }
+                            return false;
+                        } catch (IOException e) {
+                            throw new TDPException(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e);
+                        }
+                    }
+                };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                LOGGER.error("Unable to close reader", e);
+            }
+        });
+    }
+
     /**
      * Extract the parameter value from the dataset parameters or return the given default value if not found.
      *
@@ -138,29 +205,18 @@ public class CSVSerializer implements Serializer {
 
         while ((line = reader.readNext()) != null && withinLimit(limit, current)) {
             // skip empty lines
-            if (line.length == 1 && (StringUtils.isEmpty(line[0]) || line[0].charAt(0) == Character.MIN_VALUE)) {
+            if (isEmptyLine(line)) {
                 continue;
             }
 
             List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
+            String[] values = getValues(line, columns, separator);
             generator.writeStartObject();
-            int columnsSize = columns.size();
-            for (int i = 0; i < columnsSize; i++) {
-                ColumnMetadata columnMetadata = columns.get(i);
-
-                generator.writeFieldName(columnMetadata.getId());
-
-                // deal with additional content (line.length > columns.size)
-                if (i == columnsSize - 1 && line.length > columnsSize) {
-                    String additionalContent = getRemainingColumns(line, i, separator);
-                    generator.writeString(cleanCharacters(additionalContent));
-                }
-                // deal with fewer content (line.length < columns.size)
-                else if (i < line.length && line[i] != null) {
-                    generator.writeString(cleanCharacters(line[i]));
-                }
-                // deal with null
-                else {
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i).getId());
+                if (values[i] != null) {
+                    generator.writeString(values[i]);
+                } else {
                     generator.writeNull();
                 }
             }
@@ -169,6 +225,35 @@ public class CSVSerializer implements Serializer {
         }
     }
 
+    /**
+     * Return the values of the line in columns order.
+     *
+     * @param line the csv line as returned by the reader.
+     * @param columns the dataset columns.
+     * @param separator the csv separator to use.
+     * @return the cleaned values, one per column (<code>null</code> when line does not have a value for a column).
+     */
+    private String[] getValues(String[] line, List<ColumnMetadata> columns, String separator) {
+        int columnsSize = columns.size();
+        String[] values = new String[columnsSize];
+        for (int i = 0; i < columnsSize; i++) {
+            // deal with additional content (line.length > columns.size)
+            if (i == columnsSize - 1 && line.length > columnsSize) {
+                String additionalContent = getRemainingColumns(line, i, separator);
+                values[i] = cleanCharacters(additionalContent);
+            }
+            // deal with fewer content (line.length < columns.size)
+            else if (i < line.length && line[i] != null) {
+                values[i] = cleanCharacters(line[i]);
+            }
+        }
+        return values;
+    }
+
+    private boolean isEmptyLine(String[] line) {
+        return line.length == 1 && (StringUtils.isEmpty(line[0]) || line[0].charAt(0) == Character.MIN_VALUE);
+    }
+
     private boolean withinLimit(long limit, int current) {
         return limit < 0 || current < limit;
     }
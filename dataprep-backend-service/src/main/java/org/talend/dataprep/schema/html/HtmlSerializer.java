@@ -15,9 +15,11 @@ package org.talend.dataprep.schema.html;
 
 import java.io.*;
 import java.util.List;
+import java.util.stream.Stream;
 
 import javax.annotation.Resource;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.ParseContext;
 import org.apache.tika.parser.html.HtmlParser;
@@ -27,15 +29,18 @@ import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.schema.RowSource;
 import org.talend.dataprep.schema.Serializer;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 
 @Service("serializer#html")
-public class HtmlSerializer implements Serializer {
+public class HtmlSerializer implements Serializer, RowSource {
 
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(HtmlSerializer.class);
@@ -57,6 +62,33 @@ public class HtmlSerializer implements Serializer {
         }
     }
 
+    @Override
+    public Stream<DataSetRow> rows(InputStream rawContent, DataSetMetadata dataSetMetadata, long limit) {
+        try {
+            List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+            SimpleValuesContentHandler valuesContentHandler = new SimpleValuesContentHandler(columns.size(), limit);
+
+            HtmlParser htmlParser = new HtmlParser();
+            Metadata metadata = new Metadata();
+
+            htmlParser.parse(rawContent, valuesContentHandler, metadata, new ParseContext());
+
+            final RowMetadata rowMetadata = new RowMetadata();
+            return valuesContentHandler.getValues().stream() //
+                    .filter(values -> !values.isEmpty()) // avoid empty record which can fail analysis
+                    .map(values -> {
+                        final DataSetRow row = new DataSetRow(rowMetadata);
+                        for (int idx = 0; idx < values.size() && idx < columns.size(); idx++) {
+                            final String value = values.get(idx);
+                            row.set(columns.get(idx).getId(), value == null ? StringUtils.EMPTY : value);
+                        }
+                        return row;
+                    });
+        } catch (Exception e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e);
+        }
+    }
+
     private void deserialize(InputStream rawContent, DataSetMetadata dataSetMetadata, OutputStream jsonOutput,
             long limit) {
         try {
@@ -13,26 +13,52 @@
 
 package org.talend.dataprep.schema.xls;
 
+import static org.talend.dataprep.schema.xls.XlsUtils.getCellValueAsString;
+import static org.talend.dataprep.schema.xls.XlsUtils.getSheet;
+
 import java.io.*;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Resource;
 
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.schema.RowSource;
 import org.talend.dataprep.schema.Serializer;
 import org.talend.dataprep.schema.xls.serialization.XlsRunnable;
 import org.talend.dataprep.schema.xls.serialization.XlsxStreamRunnable;
+import org.talend.dataprep.schema.xls.streaming.StreamingReader;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service("serializer#xls")
-public class XlsSerializer implements Serializer {
+public class XlsSerializer implements Serializer, RowSource {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(XlsSerializer.class);
 
     /** Dataprep ready to use jackson object mapper. */
     @Autowired
@@ -87,6 +113,132 @@ public class XlsSerializer implements Serializer {
         }
     }
 
+    /**
+     * @see RowSource#rows(InputStream, DataSetMetadata, long)
+     */
+    @Override
+    public Stream<DataSetRow> rows(InputStream givenInputStream, DataSetMetadata metadata, long limit) {
+        try {
+            // override the parameter in case it needs to be wrapped in a buffered inputstream
+            InputStream inputStream = givenInputStream;
+            if (!inputStream.markSupported()) {
+                inputStream = new BufferedInputStream(inputStream);
+            }
+
+            inputStream.mark(Integer.MAX_VALUE);
+
+            boolean newExcelFormat = XlsUtils.isNewExcelFormat(inputStream);
+
+            inputStream.reset();
+
+            final Workbook workbook;
+            final Stream<DataSetRow> rows;
+            if (newExcelFormat) {
+                workbook = StreamingReader
+                        .builder() //
+                        .bufferSize(4096) //
+                        .rowCacheSize(1) //
+                        .open(inputStream);
+                rows = rowsNew(workbook, metadata, limit);
+            } else {
+                workbook = WorkbookFactory.create(inputStream);
+                rows = rowsOld(workbook, metadata, limit);
+            }
+            return rows.onClose(() -> {
+                try {
+                    workbook.close();
+                } catch (IOException e) {
+                    LOGGER.error("Unable to close workbook", e);
+                }
+            });
+        } catch (Exception e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e);
+        }
+    }
+
+    /**
+     * Streaming (XLSX) counterpart of {@link XlsxStreamRunnable}: rows are read one at a time from the sheet.
+     */
+    private Stream<DataSetRow> rowsNew(Workbook workbook, DataSetMetadata metadata, long limit) {
+        final Sheet sheet = StringUtils.isEmpty(metadata.getSheetName()) ? //
+                workbook.getSheetAt(0) : workbook.getSheet(metadata.getSheetName());
+        final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
+        final RowMetadata rowMetadata = new RowMetadata();
+        final Iterator<Row> iterator = sheet.iterator();
+        final Spliterator<DataSetRow> spliterator =
+                new Spliterators.AbstractSpliterator<DataSetRow>(Long.MAX_VALUE, Spliterator.ORDERED) {
+
+                    @Override
+                    public boolean tryAdvance(Consumer<? super DataSetRow> action) {
+                        final DataSetRow dataSetRow = next();
+                        if (dataSetRow == null) {
+                            return false;
+                        }
+                        action.accept(dataSetRow);
+                        return true;
+                    }
+
+                    private DataSetRow next() {
+                        try {
+                            while (iterator.hasNext()) {
+                                final Row row = iterator.next();
+                                if (limit > 0 && row.getRowNum() > limit) {
+                                    return null;
+                                }
+                                if (!isHeaderLine(row.getRowNum(), columns)) {
+                                    final DataSetRow dataSetRow = new DataSetRow(rowMetadata);
+                                    int i = 0;
+                                    for (ColumnMetadata columnMetadata : columns) {
+                                        Cell cell = row.getCell(i++);
+                                        String cellValue = cell == null ? null : cell.getStringCellValue();
+                                        dataSetRow.set(columnMetadata.getId(),
+                                                cellValue == null ? StringUtils.EMPTY : cellValue);
+                                    }
+                                    return dataSetRow;
+                                }
+                            }
+                            return null;
+                        } catch (Exception e) {
+                            // unlike XlsxStreamRunnable, do not silently stop: caller must know content is incomplete
+                            throw new TDPException(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e);
+                        }
+                    }
+                };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * In memory (XLS) counterpart of {@link XlsRunnable}.
+     */
+    private Stream<DataSetRow> rowsOld(Workbook workbook, DataSetMetadata metadata, long limit) {
+        final Sheet sheet = getSheet(workbook, metadata.getSheetName());
+        final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
+        final RowMetadata rowMetadata = new RowMetadata();
+        final FormulaEvaluator formulaEvaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        final int lastRow = limit > 0 ? (int) Math.min(sheet.getLastRowNum(), limit) : sheet.getLastRowNum();
+        return IntStream.rangeClosed(0, lastRow) //
+                .filter(i -> !isHeaderLine(i, columns) && sheet.getRow(i) != null) //
+                .mapToObj(i -> {
+                    final Row row = sheet.getRow(i);
+                    final DataSetRow dataSetRow = new DataSetRow(rowMetadata);
+                    try {
+                        for (ColumnMetadata columnMetadata : columns) {
+                            // do not read the values if this has been detected as an header
+                            if (i < columnMetadata.getHeaderSize()) {
+                                continue;
+                            }
+                            int colId = Integer.parseInt(columnMetadata.getId());
+                            String cellValue = getCellValueAsString(row.getCell(colId), formulaEvaluator);
+                            dataSetRow.set(columnMetadata.getId(), cellValue == null ? StringUtils.EMPTY : cellValue);
+                        }
+                    } catch (Exception e) {
+                        // unlike XlsRunnable, do not silently stop: caller must know content is incomplete
+                        throw new TDPException(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e);
+                    }
+                    return dataSetRow;
+                });
+    }
+
     private Runnable serializeNew(InputStream rawContent, DataSetMetadata metadata, long limit,
             PipedOutputStream jsonOutput) {
         return new XlsxStreamRunnable(jsonOutput, rawContent, metadata, limit, mapper.getFactory());
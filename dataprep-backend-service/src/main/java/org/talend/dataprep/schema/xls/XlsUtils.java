@@ -40,6 +40,8 @@ import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellValue;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.util.IOUtils;
 import org.slf4j.Logger;
@@ -170,6 +172,32 @@ public class XlsUtils {
 
     }
 
+    /**
+     * Find the sheet to read in the workbook.
+     *
+     * @param workbook the workbook to read from.
+     * @param sheetName the sheet name as stored in dataset metadata (may be empty or auto generated "sheet-" + i).
+     * @return the sheet matching <code>sheetName</code>, or the first sheet if none matches.
+     */
+    public static Sheet getSheet(Workbook workbook, String sheetName) {
+        // if no sheet name just get the first one (take it easy mate :-) )
+        Sheet sheet = StringUtils.isEmpty(sheetName) ? workbook.getSheetAt(0) : workbook.getSheet(sheetName);
+
+        if (sheet == null) {
+            // auto generated sheet name so take care!! "sheet-" + i
+            if (StringUtils.startsWith(sheetName, "sheet-")) {
+                String sheetNumberStr = StringUtils.removeStart(sheetName, "sheet-");
+
+                sheet = workbook.getSheetAt(Integer.valueOf(sheetNumberStr));
+            }
+            // still null so use the first one
+            if (sheet == null) {
+                sheet = workbook.getSheetAt(0);
+            }
+        }
+        return sheet;
+    }
+
     /**
      * read workbook xml spec to get non hidden sheets
      *
@@ -13,17 +13,16 @@
 
 package org.talend.dataprep.schema.xls.serialization;
 
-import static org.apache.commons.lang3.StringUtils.isEmpty;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.talend.dataprep.schema.xls.XlsSerializer.isHeaderLine;
 import static org.talend.dataprep.schema.xls.XlsUtils.getCellValueAsString;
+import static org.talend.dataprep.schema.xls.XlsUtils.getSheet;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -85,22 +84,7 @@ public class XlsRunnable implements Runnable {
 
             JsonGenerator generator = jsonFactory.createGenerator(jsonOutput);
 
-            // if no sheet name just get the first one (take it easy mate :-) )
-            Sheet sheet = isEmpty(metadata.getSheetName()) ? workbook.getSheetAt(0)
-                    : workbook.getSheet(metadata.getSheetName());
-
-            if (sheet == null) {
-                // auto generated sheet name so take care!! "sheet-" + i
-                if (StringUtils.startsWith(metadata.getSheetName(), "sheet-")) {
-                    String sheetNumberStr = StringUtils.removeStart(metadata.getSheetName(), "sheet-");
-
-                    sheet = workbook.getSheetAt(Integer.valueOf(sheetNumberStr));
-                }
-                // still null so use the first one
-                if (sheet == null) {
-                    sheet = workbook.getSheetAt(0);
-                }
-            }
+            Sheet sheet = getSheet(workbook, metadata.getSheetName());
 
             generator.writeStartArray();
             List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
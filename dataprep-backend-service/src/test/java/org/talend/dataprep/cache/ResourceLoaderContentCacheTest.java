@@ -1,17 +1,27 @@
 package org.talend.dataprep.cache;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.talend.daikon.content.DeletableResource;
 import org.talend.daikon.content.ResourceResolver;
@@ -23,6 +33,12 @@ public class ResourceLoaderContentCacheTest {
     @Mock
     private ResourceResolver resolver;
 
+    @Spy
+    private ContentCacheEvictionConfiguration evictionConfiguration = new ContentCacheEvictionConfiguration();
+
+    @Spy
+    private ContentCacheMetrics metrics = new ContentCacheMetrics();
+
     @InjectMocks
     private ResourceLoaderContentCache resourceLoaderContentCache;
 
@@ -118,6 +134,164 @@ public class ResourceLoaderContentCacheTest {
 
     }
 
+    @Test
+    public void shouldResolveEntryFromIndexAfterPut() throws IOException {
+        // given
+        DeletableResource resource = createMockResource("transformation_prepId_datasetId_HEAD_other");
+        when(resource.exists()).thenReturn(true);
+        when(resource.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+        when(resolver.getResource(anyString())).thenReturn(resource);
+        when(resolver.getResources(anyString())).thenReturn(new DeletableResource[0]);
+
+        ContentCacheKey key = () -> "transformation_prepId_datasetId_HEAD_other";
+        resourceLoaderContentCache.put(key, ContentCache.TimeToLive.DEFAULT).close();
+
+        // when
+        final boolean has = resourceLoaderContentCache.has(key);
+
+        // then
+        assertTrue(has);
+        verify(resolver, never()).getResources(startsWith("/cache/transformation"));
+    }
+
+    @Test
+    public void shouldNotScanWhenIndexedEntryNoLongerExists() throws IOException {
+        // given
+        DeletableResource resource = createMockResource("transformation_prepId_datasetId_HEAD_other");
+        when(resource.exists()).thenReturn(false);
+        when(resource.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+        when(resolver.getResource(anyString())).thenReturn(resource);
+        when(resolver.getResources(anyString())).thenReturn(new DeletableResource[0]);
+
+        ContentCacheKey key = () -> "transformation_prepId_datasetId_HEAD_other";
+        resourceLoaderContentCache.put(key, ContentCache.TimeToLive.DEFAULT).close();
+
+        // when
+        final boolean has = resourceLoaderContentCache.has(key);
+
+        // then
+        assertFalse(has);
+        verify(resolver, never()).getResources("/cache/transformation_prepId_datasetId_HEAD_other*");
+    }
+
+    @Test
+    public void shouldNotScanOnMissOnceIndexIsLoaded() throws IOException {
+        // given
+        when(resolver.getResources(anyString())).thenReturn(new DeletableResource[0]);
+        ContentCacheKey key = () -> "transformation_prepId_datasetId_HEAD_other";
+
+        // when
+        final boolean has = resourceLoaderContentCache.has(key);
+        final boolean hasAgain = resourceLoaderContentCache.has(key);
+
+        // then (only index load lists cache content)
+        assertFalse(has);
+        assertFalse(hasAgain);
+        verify(resolver, times(1)).getResources(anyString());
+        verify(resolver, times(1)).getResources("/cache/*");
+        assertEquals(2, metrics.getMisses());
+    }
+
+    @Test
+    public void shouldFindEntryLoadedInIndex() throws IOException {
+        // given
+        DeletableResource resource = createMockResource("/cache/transformation_prepId_datasetId_HEAD_other");
+        when(resource.exists()).thenReturn(true);
+        when(resolver.getResources(anyString())).thenReturn(new DeletableResource[] { resource });
+        when(resolver.getResource("/cache/transformation_prepId_datasetId_HEAD_other")).thenReturn(resource);
+        ContentCacheKey key = () -> "transformation_prepId_datasetId_HEAD_other";
+
+        // when
+        final boolean has = resourceLoaderContentCache.has(key);
+
+        // then
+        assertTrue(has);
+        verify(resolver, times(1)).getResources(anyString());
+    }
+
+    @Test
+    public void shouldScanOnMissWhenIndexCannotBeLoaded() throws IOException {
+        // given
+        DeletableResource resource = createMockResource("transformation_prepId_datasetId_HEAD_other");
+        when(resource.exists()).thenReturn(true);
+        when(resolver.getResources("/cache/*")).thenThrow(new IOException("on purpose"));
+        when(resolver.getResources("/cache/transformation_prepId_datasetId_HEAD_other*"))
+                .thenReturn(new DeletableResource[] { resource });
+        when(resolver.getResources("/cache/transformation_prepId_datasetId_HEAD_other"))
+                .thenReturn(new DeletableResource[0]);
+        ContentCacheKey key = () -> "transformation_prepId_datasetId_HEAD_other";
+
+        // when
+        final boolean has = resourceLoaderContentCache.has(key);
+
+        // then
+        assertTrue(has);
+        verify(resolver, times(1)).getResources("/cache/transformation_prepId_datasetId_HEAD_other*");
+    }
+
+    @Test
+    public void shouldCountHitOnceForHasThenGet() throws IOException {
+        // given
+        DeletableResource resource = createFile("/cache/transformation_prepId_datasetId_HEAD_other");
+        when(resolver.getResources(anyString())).thenReturn(new DeletableResource[0]);
+        when(resolver.getResource(anyString())).thenReturn(resource);
+        ContentCacheKey key = () -> "transformation_prepId_datasetId_HEAD_other";
+        resourceLoaderContentCache.put(key, ContentCache.TimeToLive.DEFAULT).close();
+
+        // when
+        if (resourceLoaderContentCache.has(key)) {
+            resourceLoaderContentCache.get(key);
+        }
+
+        // then
+        assertEquals(1, metrics.getHits());
+        assertEquals(0, metrics.getMisses());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntryWhenFull() throws IOException {
+        // given
+        evictionConfiguration.setPolicy(ContentCacheEvictionConfiguration.Policy.LRU);
+        evictionConfiguration.setMaxEntries(2);
+        resourceLoaderContentCache.init();
+        final Map<String, DeletableResource> resources = new HashMap<>();
+        when(resolver.getResources(anyString())).thenReturn(new DeletableResource[0]);
+        when(resolver.getResource(anyString())).thenAnswer(
+                invocation -> resources.computeIfAbsent((String) invocation.getArguments()[0], this::createFile));
+
+        ContentCacheKey first = () -> "transformation_first";
+        ContentCacheKey second = () -> "transformation_second";
+        ContentCacheKey third = () -> "transformation_third";
+        resourceLoaderContentCache.put(first, ContentCache.TimeToLive.DEFAULT).close();
+        resourceLoaderContentCache.put(second, ContentCache.TimeToLive.DEFAULT).close();
+        assertTrue(resourceLoaderContentCache.has(first));
+
+        // when
+        resourceLoaderContentCache.put(third, ContentCache.TimeToLive.DEFAULT).close();
+
+        // then
+        resources.forEach((location, resource) -> {
+            try {
+                verify(resource, times(location.startsWith("/cache/transformation_second") ? 1 : 0)).delete();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertEquals(1, metrics.getEvictions());
+        assertEquals(2, metrics.getEntries());
+    }
+
+    private DeletableResource createFile(String location) {
+        try {
+            DeletableResource resource = createMockResource(location);
+            when(resource.exists()).thenReturn(true);
+            when(resource.getOutputStream()).thenReturn(new ByteArrayOutputStream());
+            return resource;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private DeletableResource createMockResource(String fileName) {
         DeletableResource resource = mock(DeletableResource.class);
         when(resource.getFilename()).thenReturn(fileName);
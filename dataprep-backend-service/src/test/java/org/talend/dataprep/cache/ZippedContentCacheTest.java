@@ -1,5 +1,6 @@
 package org.talend.dataprep.cache;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Matchers.any;
@@ -23,6 +24,11 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
+import org.talend.dataprep.cache.codec.ContentCacheCodec;
+import org.talend.dataprep.cache.codec.DeflateCodec;
+import org.talend.dataprep.cache.codec.GzipCodec;
+import org.talend.dataprep.cache.codec.LzBlockCodec;
+import org.talend.dataprep.cache.codec.NoCompressionCodec;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ZippedContentCacheTest {
@@ -106,4 +112,72 @@ public class ZippedContentCacheTest {
         verify(delegate, times(1)).get(any());
         assertNull(stream);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldReadContentWrittenWithAnyCodec() throws IOException {
+        final byte[] content = StringUtils.repeat("{\"0000\":\"value\",\"0001\":\"12.5\"},", 5000).getBytes();
+        for (ContentCacheCodec codec : new ContentCacheCodec[] { new NoCompressionCodec(), new GzipCodec(),
+                new DeflateCodec(6), new LzBlockCodec() }) {
+            // given
+            final ByteArrayOutputStream entry = new ByteArrayOutputStream();
+            when(delegate.put(any(), any())).thenReturn(entry);
+            try (OutputStream stream = new ZippedContentCache(delegate, codec, 1024).put(() -> StringUtils.EMPTY,
+                    ContentCache.TimeToLive.DEFAULT)) {
+                stream.write(content);
+            }
+            when(delegate.get(any())).thenReturn(new ByteArrayInputStream(entry.toByteArray()));
+
+            // when (content is read with default settings)
+            final InputStream stream = new ZippedContentCache(delegate).get(() -> StringUtils.EMPTY);
+
+            // then
+            assertEquals(codec.getId(), entry.toByteArray()[ZippedContentCache.MAGIC.length]);
+            assertArrayEquals(content, IOUtils.toByteArray(stream));
+        }
+    }
+
+    @Test
+    public void shouldNotCompressContentBelowThreshold() throws IOException {
+        // given
+        final ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        when(delegate.put(any(), any())).thenReturn(entry);
+        ContentCache contentCache = new ZippedContentCache(delegate, new LzBlockCodec(), 1024);
+
+        // when
+        try (OutputStream stream = contentCache.put(() -> StringUtils.EMPTY, ContentCache.TimeToLive.DEFAULT)) {
+            stream.write("small content".getBytes());
+        }
+
+        // then
+        when(delegate.get(any())).thenReturn(new ByteArrayInputStream(entry.toByteArray()));
+        assertEquals(new NoCompressionCodec().getId(), entry.toByteArray()[ZippedContentCache.MAGIC.length]);
+        assertEquals("small content", IOUtils.toString(contentCache.get(() -> StringUtils.EMPTY), "UTF-8"));
+    }
+
+    @Test
+    public void shouldReturnEncodedGzipContent() throws IOException {
+        final byte[] content = StringUtils.repeat("{\"0000\":\"value\"},", 1000).getBytes();
+        for (ContentCacheCodec codec : new ContentCacheCodec[] { new GzipCodec(), new LzBlockCodec() }) {
+            for (int threshold : new int[] { 0, 1024 }) {
+                // given
+                final ByteArrayOutputStream entry = new ByteArrayOutputStream();
+                when(delegate.put(any(), any())).thenReturn(entry);
+                final ContentCache contentCache = new ZippedContentCache(delegate, codec, threshold);
+                try (OutputStream stream = contentCache.put(() -> StringUtils.EMPTY, ContentCache.TimeToLive.DEFAULT)) {
+                    stream.write(content);
+                }
+                when(delegate.get(any())).thenReturn(new ByteArrayInputStream(entry.toByteArray()));
+
+                // when
+                final InputStream stream = contentCache.getEncoded(() -> StringUtils.EMPTY, "gzip");
+
+                // then
+                if (codec instanceof GzipCodec) {
+                    assertArrayEquals(content, IOUtils.toByteArray(new GZIPInputStream(stream)));
+                } else {
+                    assertNull(stream);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.adapter;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.dataset.adapter.commands.DataSetGetMetadata;
+import org.talend.dataprep.dataset.event.DatasetMetadataChangedEvent;
+import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataCatalogClientTest {
+
+    @InjectMocks
+    private DataCatalogClient client;
+
+    @Mock
+    private ApplicationContext context;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(client, "cacheTimeToLive", 60L);
+        ReflectionTestUtils.setField(client, "cacheSize", 10L);
+        client.init();
+    }
+
+    @Test
+    public void shouldShareConcurrentMetadataCalls() throws Exception {
+        // given
+        final Dataset dataset = new Dataset();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final DataSetGetMetadata command = mock(DataSetGetMetadata.class);
+        when(command.execute()).then(invocation -> {
+            started.countDown();
+            release.await();
+            return dataset;
+        });
+        when(context.getBean(DataSetGetMetadata.class, "1234")).thenReturn(command);
+
+        // when
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Dataset>> results = new ArrayList<>();
+        try {
+            results.add(executor.submit(() -> client.getMetadata("1234")));
+            started.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> client.getMetadata("1234")));
+            }
+            release.countDown();
+            for (Future<Dataset> result : results) {
+                assertSame(dataset, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        verify(context, times(1)).getBean(DataSetGetMetadata.class, "1234");
+    }
+
+    @Test
+    public void shouldReloadMetadataOnDatasetUpdate() {
+        // given
+        final DataSetGetMetadata command = mock(DataSetGetMetadata.class);
+        when(command.execute()).thenReturn(new Dataset());
+        when(context.getBean(eq(DataSetGetMetadata.class), eq("1234"))).thenReturn(command);
+        final DataSetMetadata updated = new DataSetMetadata();
+        updated.setId("1234");
+
+        // when
+        client.getMetadata("1234");
+        client.getMetadata("1234");
+        client.cleanCacheEntryOnDatasetModification(new DatasetUpdatedEvent(updated));
+        client.getMetadata("1234");
+
+        // then
+        verify(command, times(2)).execute();
+    }
+
+    @Test
+    public void shouldReloadMetadataOnDatasetMetadataChange() {
+        // given
+        final DataSetGetMetadata command = mock(DataSetGetMetadata.class);
+        when(command.execute()).thenReturn(new Dataset());
+        when(context.getBean(eq(DataSetGetMetadata.class), eq("1234"))).thenReturn(command);
+
+        // when (e.g. dataset deleted, column updated or favorite changed)
+        client.getMetadata("1234");
+        client.cleanCacheEntryOnDatasetMetadataChange(new DatasetMetadataChangedEvent("1234"));
+        client.getMetadata("1234");
+
+        // then
+        verify(command, times(2)).execute();
+    }
+}
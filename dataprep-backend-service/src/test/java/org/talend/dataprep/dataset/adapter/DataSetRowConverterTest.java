@@ -0,0 +1,62 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class DataSetRowConverterTest {
+
+    private final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+            ColumnMetadata.Builder.column().id(0).name("id").type(Type.STRING).build(), //
+            ColumnMetadata.Builder.column().id(1).name("name").type(Type.STRING).build()));
+
+    private final Schema schema = SchemaBuilder.record("row").fields() //
+            .optionalString("field0") //
+            .optionalString("field1") //
+            .endRecord();
+
+    @Test
+    public void shouldConvertReusedRecordByPosition() {
+        // given
+        final DataSetRowConverter converter = new DataSetRowConverter(rowMetadata);
+        final GenericRecord record = new GenericData.Record(schema);
+
+        // when
+        record.put(0, new Utf8("1"));
+        record.put(1, new Utf8("David Bowie"));
+        final DataSetRow first = converter.apply(record);
+        record.put(0, new Utf8("2"));
+        record.put(1, null);
+        final DataSetRow second = converter.apply(record);
+
+        // then
+        assertEquals("1", first.get("0000"));
+        assertEquals("David Bowie", first.get("0001"));
+        assertEquals("2", second.get("0000"));
+        assertNull(second.get("0001"));
+    }
+}
@@ -554,6 +554,97 @@ public abstract class AbstractFolderTest extends ServiceBaseTest {
         Assert.assertThat(fetchedFolder, equalTo(jsoFolder));
     }
 
+    @Test
+    public void shouldLocateEntriesAfterFolderRename() {
+        // given
+        final Folder foo = getFolderRepository().addFolder(homeFolderId, "foo");
+        final Folder bar = getFolderRepository().addFolder(foo.getId(), "bar");
+        final Folder toto = getFolderRepository().addFolder(bar.getId(), "toto");
+        getFolderRepository().addFolderEntry(new FolderEntry(DATASET, "littlecreatures"), bar.getId());
+        getFolderRepository().addFolderEntry(new FolderEntry(PREPARATION, "bordeaux"), toto.getId());
+
+        // when
+        final Folder beer = getFolderRepository().renameFolder(bar.getId(), "beer");
+
+        // then
+        assertEquals("/foo/beer", getFolderRepository().locateEntry("littlecreatures", DATASET).getPath());
+        assertEquals("/foo/beer/toto", getFolderRepository().locateEntry("bordeaux", PREPARATION).getPath());
+        assertThatFolderContainsExpectedNumberOfDatasets(beer.getId(), 1);
+        try (Stream<FolderEntry> entries = getFolderRepository().findFolderEntries("littlecreatures", DATASET)) {
+            assertThat(entries.map(FolderEntry::getFolderId).collect(Collectors.toList()))
+                    .containsExactly(beer.getId());
+        }
+        final List<Folder> beerChildren = getChildren(beer.getId());
+        assertThat(beerChildren).hasSize(1);
+        assertEquals("/foo/beer/toto", beerChildren.get(0).getPath());
+        assertTrue(getFolderRepository().getFolder("beer").isPresent());
+        assertFalse(getFolderRepository().getFolder("bar").isPresent());
+    }
+
+    @Test
+    public void shouldLocateEntryAfterEntryMove() {
+        // given
+        final Folder foo = getFolderRepository().addFolder(homeFolderId, "foo");
+        final Folder bar = getFolderRepository().addFolder(homeFolderId, "bar");
+        final FolderEntry wineEntry = new FolderEntry(DATASET, "bordeaux");
+        getFolderRepository().addFolderEntry(wineEntry, foo.getId());
+
+        // when
+        getFolderRepository().moveFolderEntry(wineEntry, foo.getId(), bar.getId());
+
+        // then
+        assertEquals(bar.getId(), getFolderRepository().locateEntry("bordeaux", DATASET).getId());
+        assertThatFolderContainsExpectedNumberOfDatasets(foo.getId(), 0);
+        assertThatFolderContainsExpectedNumberOfDatasets(bar.getId(), 1);
+        assertThatExpectedNumberOfNamedDatasetIsFound("bordeaux", 1);
+    }
+
+    @Test
+    public void shouldForgetSubtreeAfterFolderRemoval() {
+        // given
+        final Folder foo = getFolderRepository().addFolder(homeFolderId, "foo");
+        final Folder bar = getFolderRepository().addFolder(foo.getId(), "bar");
+        getFolderRepository().addFolder(bar.getId(), "baz");
+        getFolderRepository().addFolderEntry(new FolderEntry(DATASET, "bordeaux"), bar.getId());
+        getFolderRepository().removeFolderEntry(bar.getId(), "bordeaux", DATASET);
+
+        // when
+        getFolderRepository().removeFolder(foo.getId());
+
+        // then
+        assertChildrenSize(homeFolderId, 0);
+        assertNull(getFolderRepository().locateEntry("bordeaux", DATASET));
+        try (Stream<FolderEntry> entries = getFolderRepository().findFolderEntries("bordeaux", DATASET)) {
+            assertEquals(0, entries.count());
+        }
+        assertFalse(getFolderRepository().getFolder("baz").isPresent());
+        try (Stream<Folder> folders = getFolderRepository().searchFolders("ba", false)) {
+            assertEquals(0, folders.count());
+        }
+
+        // same names can be used again
+        final Folder newFoo = getFolderRepository().addFolder(homeFolderId, "foo");
+        assertChildrenSize(newFoo.getId(), 0);
+    }
+
+    @Test
+    public void shouldNotRemoveFolderWithEntryInSubtree() {
+        // given
+        final Folder foo = getFolderRepository().addFolder(homeFolderId, "foo");
+        final Folder bar = getFolderRepository().addFolder(foo.getId(), "bar");
+        getFolderRepository().addFolderEntry(new FolderEntry(DATASET, "bordeaux"), bar.getId());
+
+        // when
+        try {
+            getFolderRepository().removeFolder(foo.getId());
+            fail("folder with entries should not be removed");
+        } catch (TDPException e) {
+            // then
+            assertEquals(FolderErrorCodes.FOLDER_NOT_EMPTY, e.getCode());
+        }
+        assertEquals(bar.getId(), getFolderRepository().locateEntry("bordeaux", DATASET).getId());
+    }
+
     private void assertChildrenSize(String folder, int childrenNumber) {
         List<Folder> folders = getChildren(folder);
         if (childrenNumber > 0) {
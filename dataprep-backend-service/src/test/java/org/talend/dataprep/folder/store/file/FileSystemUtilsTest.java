@@ -45,32 +45,6 @@ public class FileSystemUtilsTest {
         assertEquals(3, Files.walk(testFolder).count());
     }
 
-    @Test
-    public void matches_entryMatches() throws Exception {
-        Path testEntry = testFolder.resolve("testEntry");
-        String contentId = "contentId";
-        String folderId = "folderId";
-        FolderContentType contentType = FolderContentType.PREPARATION;
-
-        createEntry(testEntry, contentId, folderId, contentType);
-
-        // test read
-        assertTrue(FileSystemUtils.matches(testEntry, contentId, contentType));
-    }
-
-    @Test
-    public void matches_entryDoesNotMatch() throws Exception {
-        Path testEntry = testFolder.resolve("testEntry");
-        String contentId = "contentId";
-        String folderId = "folderId";
-        FolderContentType contentType = FolderContentType.PREPARATION;
-
-        createEntry(testEntry, contentId, folderId, contentType);
-
-        // test read
-        assertFalse(FileSystemUtils.matches(testEntry, "other id", contentType));
-    }
-
     @Test
     public void toFolderEntry() throws Exception {
         Path testEntry = testFolder.resolve("testEntry");
@@ -98,25 +72,6 @@ public class FileSystemUtilsTest {
         }
     }
 
-    @Test
-    public void hasEntry_testFolderHasDirectChild() throws Exception {
-        createEntry(testFolder.resolve("toto.dp"), "contentId", "folderId", FolderContentType.PREPARATION);
-
-        assertTrue(FileSystemUtils.hasEntry(testFolder));
-    }
-
-    @Test
-    public void hasEntry_testFolderHasInDirectChild() throws Exception {
-        createEntry(testFolder.resolve("foo/toto.dp"), "contentId", "folderId", FolderContentType.PREPARATION);
-
-        assertTrue(FileSystemUtils.hasEntry(testFolder));
-    }
-
-    @Test
-    public void hasEntry_childFolderHasNoChild() throws Exception {
-        assertFalse(FileSystemUtils.hasEntry(testFolder));
-    }
-
     @Test
     public void writeEntryToStream() throws Exception {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 import org.junit.Test;
 import org.talend.ServiceBaseTest;
 import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.Step;
 
 public abstract class PreparationRepositoryTest extends ServiceBaseTest {
 
@@ -112,4 +113,37 @@ public abstract class PreparationRepositoryTest extends ServiceBaseTest {
         assertThat(result, is(false));
     }
 
+    @Test
+    public void shouldGetStepsAncestry() {
+        // given
+        final Step step1 = new Step(Step.ROOT_STEP.id(), "content-1", "1.0.PE");
+        final Step step2 = new Step(step1.id(), "content-2", "1.0.PE");
+        final Step step3 = new Step(step2.id(), "content-3", "1.0.PE");
+        getRepository().add(Arrays.asList(step1, step2, step3));
+
+        // when
+        final List<String> fromRoot = getRepository().getStepIds(step3.id(), Step.ROOT_STEP.id());
+        final List<String> fromLimit = getRepository().getStepIds(step3.id(), step2.id());
+
+        // then
+        assertEquals(Arrays.asList(Step.ROOT_STEP.id(), step1.id(), step2.id(), step3.id()), fromRoot);
+        assertEquals(Arrays.asList(step2.id(), step3.id()), fromLimit);
+        assertTrue(getRepository().getStepIds("unknown", Step.ROOT_STEP.id()).isEmpty());
+    }
+
+    @Test
+    public void shouldGetAllInIdsOrder() {
+        // given
+        final Step step1 = new Step(Step.ROOT_STEP.id(), "content-1", "1.0.PE");
+        final Step step2 = new Step(step1.id(), "content-2", "1.0.PE");
+        getRepository().add(Arrays.asList(step1, step2));
+
+        // when
+        final List<Step> steps =
+                getRepository().getAll(Arrays.asList(step2.id(), "unknown", Step.ROOT_STEP.id(), step1.id()), Step.class);
+
+        // then
+        assertEquals(Arrays.asList(step2, Step.ROOT_STEP, step1), steps);
+    }
+
 }
@@ -177,6 +177,38 @@ public class FileSystemPreparationRepositoryTest extends PreparationRepositoryTe
         assertTrue(actual.contains(expected));
     }
 
+    @Test
+    public void shouldListPreparationsByDataSetIdAfterOverwrite() {
+        // given
+        final Preparation preparation = getPreparation("dataset-1");
+        repository.add(preparation);
+        assertEquals(1, repository.list(Preparation.class, eq("dataSetId", "dataset-1")).count());
+
+        // when
+        preparation.setDataSetId("dataset-2");
+        repository.add(preparation);
+
+        // then
+        assertEquals(0, repository.list(Preparation.class, eq("dataSetId", "dataset-1")).count());
+        assertEquals(1, repository.list(Preparation.class, eq("dataSetId", "dataset-2")).count());
+        assertTrue(repository.exist(Preparation.class, eq("dataSetId", "dataset-2")));
+    }
+
+    @Test
+    public void shouldNotListRemovedPreparationByDataSetId() {
+        // given
+        final Preparation preparation = getPreparation("dataset-3");
+        repository.add(preparation);
+        assertTrue(repository.exist(Preparation.class, eq("dataSetId", "dataset-3")));
+
+        // when
+        repository.remove(preparation);
+
+        // then
+        assertFalse(repository.exist(Preparation.class, eq("dataSetId", "dataset-3")));
+        assertEquals(0, repository.count(Preparation.class, eq("dataSetId", "dataset-3")));
+    }
+
     /**
      * @param datasetId the preparation id.
      * @return a preparation with a root step an a the given dataset id.
@@ -12,10 +12,13 @@
 
 package org.talend.dataprep.preparation.store.inmemory;
 
+import static org.talend.dataprep.preparation.PreparationTest.getSimpleAction;
 import static org.talend.tql.api.TqlBuilder.eq;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,9 +26,12 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.PreparationActions;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.conversions.BeanConversionService;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
 import org.talend.dataprep.preparation.store.PersistentPreparationRepository;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.preparation.store.PreparationRepositoryTest;
@@ -90,6 +96,65 @@ public class InMemoryPreparationRepositoryTest extends PreparationRepositoryTest
         }
     }
 
+    @Test
+    public void shouldRebuildActionsFromDeltas() {
+        // given
+        final List<Action> allActions = new ArrayList<>();
+        String parentId = PreparationActions.ROOT_ACTIONS.id();
+        for (int i = 0; i < 3; i++) {
+            final List<Action> newActions = getSimpleAction("uppercase", "column_name", "col_" + i);
+            allActions.addAll(newActions);
+            final PreparationActions content = new PreparationActions();
+            content.setActions(new ArrayList<>(allActions));
+
+            final PersistentPreparationActions delta = new PersistentPreparationActions();
+            delta.setId(content.id());
+            delta.setParentId(parentId);
+            delta.setActions(newActions);
+            repository.add(delta);
+            parentId = delta.id();
+        }
+
+        // when
+        final PreparationActions head = repository.get(parentId, PreparationActions.class);
+
+        // then
+        Assert.assertNotNull(head);
+        Assert.assertEquals(parentId, head.id());
+        Assert.assertEquals(allActions, head.getActions());
+        Assert.assertEquals(4, repository.list(PreparationActions.class).count());
+    }
+
+    @Test
+    public void shouldReadCompleteActions() {
+        // given
+        final PreparationActions content = new PreparationActions();
+        content.setActions(getSimpleAction("uppercase", "column_name", "lastname"));
+        repository.add(content);
+
+        // when
+        final PreparationActions actual = repository.get(content.id(), PreparationActions.class);
+
+        // then
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(content.getActions(), actual.getActions());
+        repository.remove(content);
+        Assert.assertNull(repository.get(content.id(), PreparationActions.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldFailOnCycleInActionsParents() {
+        // given
+        final PersistentPreparationActions delta = new PersistentPreparationActions();
+        delta.setId("cycle");
+        delta.setParentId("cycle");
+        delta.setActions(getSimpleAction("uppercase", "column_name", "lastname"));
+        repository.add(delta);
+
+        // when
+        repository.get("cycle", PreparationActions.class);
+    }
+
     /**
      * Helper method that only generates a step but simplify code.
      */
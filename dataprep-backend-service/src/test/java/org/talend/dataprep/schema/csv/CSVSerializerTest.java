@@ -23,6 +23,8 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
@@ -34,6 +36,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 
 /**
@@ -340,6 +343,44 @@ public class CSVSerializerTest {
         JSONAssert.assertEquals(expected, actual, false);
     }
 
+    @Test
+    public void should_read_rows_with_missing_values() throws Exception {
+        // given
+        InputStream inputStream = this.getClass().getResourceAsStream("missing_values.csv");
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("character", "actor", "active");
+
+        // when
+        final List<DataSetRow> rows;
+        try (Stream<DataSetRow> stream = serializer.rows(inputStream, datasetMetadata, -1)) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        // then (empty lines are skipped, missing values are empty)
+        Assert.assertEquals(5, rows.size());
+        Assert.assertEquals("Sheriff Woody", rows.get(0).get("0000"));
+        Assert.assertEquals("Tom Hanks", rows.get(0).get("0001"));
+        Assert.assertEquals("Buzz Lightyear", rows.get(1).get("0000"));
+        Assert.assertEquals("", rows.get(1).get("0001"));
+        Assert.assertEquals("", rows.get(3).get("0002"));
+        Assert.assertEquals("1999-present", rows.get(4).get("0002"));
+    }
+
+    @Test
+    public void should_read_rows_within_limit() throws Exception {
+        // given
+        InputStream inputStream = this.getClass().getResourceAsStream("missing_values.csv");
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("character", "actor", "active");
+
+        // when
+        final long count;
+        try (Stream<DataSetRow> stream = serializer.rows(inputStream, datasetMetadata, 2)) {
+            count = stream.count();
+        }
+
+        // then
+        Assert.assertEquals(2, count);
+    }
+
     private DataSetMetadata getSimpleDataSetMetadata(String... columnsName) {
         List<ColumnMetadata> columns = new ArrayList<>(columnsName.length);
         for (int i = 0; i < columnsName.length; i++) {
@@ -16,11 +16,15 @@ package org.talend.dataprep.schema.html;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.is;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assertions;
@@ -31,6 +35,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.schema.AbstractSchemaTestUtils;
 import org.talend.dataprep.schema.Schema;
 import org.talend.dataprep.schema.SchemaParser;
@@ -130,4 +139,90 @@ public class HtmlSerializerTest extends AbstractSchemaTestUtils {
         }
     }
 
+    @Test
+    public void should_read_rows_with_empty_cells() throws Exception {
+        // given
+        final String html = "<html><body><table>" //
+                + "<tr><td>1</td><td></td><td> c </td></tr>" //
+                + "<tr><td></td><td></td><td></td></tr>" //
+                + "<tr><td>only one</td></tr>" // does not match column number
+                + "<tr><td>2</td><td>b</td><td></td></tr>" //
+                + "</table></body></html>";
+        final DataSetMetadata metadata = getMetadata("a", "b", "c");
+
+        // when
+        final List<DataSetRow> rows;
+        try (InputStream inputStream = new ByteArrayInputStream(html.getBytes(UTF_8));
+                Stream<DataSetRow> stream = htmlSerializer.rows(inputStream, metadata, -1)) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        // then
+        Assert.assertEquals(3, rows.size());
+        Assert.assertEquals("1", rows.get(0).get("0000"));
+        Assert.assertEquals("", rows.get(0).get("0001"));
+        Assert.assertEquals("c", rows.get(0).get("0002"));
+        Assert.assertEquals("", rows.get(1).get("0000"));
+        Assert.assertEquals("", rows.get(1).get("0001"));
+        Assert.assertEquals("", rows.get(1).get("0002"));
+        Assert.assertEquals("b", rows.get(2).get("0001"));
+        Assert.assertEquals("", rows.get(2).get("0002"));
+    }
+
+    @Test
+    public void should_read_rows_same_as_json() throws Exception {
+        // given
+        final SchemaParser.Request request;
+        try (InputStream inputStream = this.getClass().getResourceAsStream("sales-force.xls")) {
+            request = getRequest(inputStream, "#2");
+            request.getMetadata().setEncoding("UTF-16");
+            final Schema result = htmlSchemaGuesser.parse(request);
+            request.getMetadata().getRowMetadata().setColumns(result.getSheetContents().get(0).getColumnMetadatas());
+        }
+
+        // when
+        final List<DataSetRow> rows;
+        try (InputStream inputStream = this.getClass().getResourceAsStream("sales-force.xls");
+                Stream<DataSetRow> stream = htmlSerializer.rows(inputStream, request.getMetadata(), -1)) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        // then
+        Assert.assertEquals("000001", rows.get(0).get("0000"));
+        Assert.assertEquals("aaa", rows.get(0).get("0001"));
+        Assert.assertEquals("France", rows.get(0).get("0002"));
+        Assert.assertEquals("x@talend.com", rows.get(0).get("0003"));
+    }
+
+    @Test
+    public void should_fail_reading_rows_of_unreadable_content() throws Exception {
+        // given
+        final InputStream failing = new InputStream() {
+
+            @Override
+            public int read() throws IOException {
+                throw new IOException("on purpose");
+            }
+        };
+
+        // when (JSON serialization silently ends its output, row source reports the error)
+        try {
+            htmlSerializer.rows(failing, getMetadata("a"), -1);
+            Assert.fail("Unreadable content should not be read");
+        } catch (TDPException e) {
+            // then
+            Assert.assertEquals(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e.getCode());
+        }
+    }
+
+    private DataSetMetadata getMetadata(String... columnNames) {
+        final List<ColumnMetadata> columns = new ArrayList<>(columnNames.length);
+        for (int i = 0; i < columnNames.length; i++) {
+            columns.add(ColumnMetadata.Builder.column().id(i).name(columnNames[i]).type(Type.STRING).build());
+        }
+        final DataSetMetadata metadata = getRequest(new ByteArrayInputStream(new byte[0]), "#html").getMetadata();
+        metadata.getRowMetadata().setColumns(columns);
+        return metadata;
+    }
+
 }
@@ -24,6 +24,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -37,8 +39,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.dataset.DataSetMetadataBuilder;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.schema.AbstractSchemaTestUtils;
 import org.talend.dataprep.schema.CompositeFormatDetector;
 import org.talend.dataprep.schema.Format;
@@ -605,6 +610,97 @@ public class XlsSerializerTest extends AbstractSchemaTestUtils {
                 entry("0004", "1/15/2016 13:56"));
     }
 
+    @Test
+    public void should_read_xls_rows_with_empty_cells() throws Exception {
+        // given
+        String fileName = "test.xls";
+        DataSetMetadata dataSetMetadata = metadataBuilder.metadata().id("beer").build();
+        try (InputStream inputStream = this.getClass().getResourceAsStream(fileName)) {
+            dataSetMetadata.getRowMetadata().setColumns(xlsSchemaParser
+                    .parse(getRequest(inputStream, "#123"))
+                    .getSheetContents()
+                    .get(0)
+                    .getColumnMetadatas());
+        }
+
+        // when
+        final List<DataSetRow> rows;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(fileName);
+                Stream<DataSetRow> stream = xlsSerializer.rows(inputStream, dataSetMetadata, -1)) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        // then (same values as the JSON serialization)
+        Assert.assertEquals(4, rows.size());
+        Assert.assertEquals("Little Creatures", rows.get(0).get("0000"));
+        Assert.assertEquals("10", rows.get(0).get("0003"));
+        Assert.assertEquals("Heinekein", rows.get(1).get("0000"));
+        Assert.assertEquals("", rows.get(1).get("0003"));
+        Assert.assertEquals("2", rows.get(3).get("0003"));
+    }
+
+    @Test
+    public void should_read_xlsx_rows_with_empty_and_missing_cells() throws Exception {
+        // given
+        String fileName = "empty_column.xlsx";
+        DataSetMetadata dataSetMetadata = getDataSetMetadataFromExcelFile(fileName, null);
+        final List<ColumnMetadata> columns = new ArrayList<>(dataSetMetadata.getRowMetadata().getColumns());
+        Assert.assertEquals(7, columns.size());
+        // a column past the last cell of each row (no cell at all in sheet)
+        columns.add(column().id(7).name("missing").type(Type.STRING).build());
+        dataSetMetadata.getRowMetadata().setColumns(columns);
+
+        // when
+        final List<DataSetRow> rows;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(fileName);
+                Stream<DataSetRow> stream = xlsSerializer.rows(inputStream, dataSetMetadata, -1)) {
+            rows = stream.collect(Collectors.toList());
+        }
+
+        // then
+        Assert.assertEquals(4, rows.size());
+        Assert.assertEquals("John", rows.get(0).get("0000"));
+        Assert.assertEquals("TDI", rows.get(0).get("0005"));
+        for (DataSetRow row : rows) {
+            Assert.assertEquals("", row.get("0004")); // empty cell
+            Assert.assertEquals("", row.get("0007")); // no cell
+        }
+    }
+
+    @Test
+    public void should_read_xlsx_rows_within_limit() throws Exception {
+        // given
+        String fileName = "empty_column.xlsx";
+        DataSetMetadata dataSetMetadata = getDataSetMetadataFromExcelFile(fileName, null);
+
+        // when
+        final long count;
+        try (InputStream inputStream = this.getClass().getResourceAsStream(fileName);
+                Stream<DataSetRow> stream = xlsSerializer.rows(inputStream, dataSetMetadata, 2)) {
+            count = stream.count();
+        }
+
+        // then
+        Assert.assertEquals(2, count);
+    }
+
+    @Test
+    public void should_fail_reading_rows_of_invalid_content() throws Exception {
+        // given
+        DataSetMetadata dataSetMetadata = metadataBuilder.metadata().id("fake").build();
+        dataSetMetadata.getRowMetadata().setColumns(
+                Collections.singletonList(column().id(0).name("col").type(Type.STRING).build()));
+
+        // when (JSON serialization silently ends its output, row source reports the error)
+        try (InputStream inputStream = this.getClass().getResourceAsStream("fake.xls")) {
+            xlsSerializer.rows(inputStream, dataSetMetadata, -1).count();
+            Assert.fail("Invalid content should not be read");
+        } catch (TDPException e) {
+            // then
+            Assert.assertEquals(CommonErrorCodes.UNABLE_TO_READ_CONTENT, e.getCode());
+        }
+    }
+
     /**
      * Return the dataset metadata out of the given file name.
      *
@@ -22,20 +22,16 @@ import static org.talend.dataprep.dataset.adapter.Dataset.CertificationState.CER
 import static org.talend.dataprep.util.SortAndOrderHelper.Order;
 import static org.talend.dataprep.util.SortAndOrderHelper.Sort;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.Iterator;
 import java.util.concurrent.Callable;
 import java.util.stream.Stream;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.io.Encoder;
+import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.EncoderFactory;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
@@ -43,6 +39,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.daikon.exception.TalendRuntimeException;
 import org.talend.dataprep.BaseErrorCodes;
 import org.talend.dataprep.api.dataset.DataSet;
@@ -121,17 +118,30 @@ public class DataSetController {
         return AvroUtils.toSchema(rowMetadata).toString();
     }
 
+    /**
+     * Get the dataset content as Avro binary records. Records are encoded directly to the response (no buffering of the
+     * whole content).
+     *
+     * @param datasetId id of the dataset
+     * @param offset the number of records to skip
+     * @param limit the maximum number of records to return (-1 for all records)
+     * @return the dataset records in Avro binary format (see {@link #getDatasetSchema(String)} for schema)
+     */
     @GetMapping(value = "/{datasetId}/content", produces = AvroUtils.AVRO_BINARY_MIME_TYPES_UNOFFICIAL_VALID_VALUE)
-    public Resource getDatasetContent(@PathVariable String datasetId, @RequestParam(defaultValue = "0") long offset,
-            @RequestParam(defaultValue = "-1") long limit) {
-        InputStream result;
-        Callable<DataSet> dataSetCallable = dataSetService.get(true, true, limit, EMPTY, datasetId);
+    public StreamingResponseBody getDatasetContent(@PathVariable String datasetId,
+            @RequestParam(defaultValue = "0") long offset, @RequestParam(defaultValue = "-1") long limit) {
+        final long skipped = Math.max(0, offset);
+        // content store stops reading source after offset + limit records
+        final long storageLimit = limit < 0 ? -1 : skipped + limit;
+        Callable<DataSet> dataSetCallable = dataSetService.get(true, true, storageLimit, EMPTY, datasetId);
         Stream<DataSetRow> records = Stream.empty();
         DataSetMetadata metadata = null;
         try {
             DataSet dataSet = dataSetCallable.call();
             if (dataSet != null) {
-                records = dataSet.getRecords();
+                if (dataSet.getRecords() != null) {
+                    records = dataSet.getRecords();
+                }
                 metadata = dataSet.getMetadata();
             }
         } catch (Exception e) {
@@ -140,32 +150,27 @@ public class DataSetController {
         }
 
         if (metadata == null) {
+            records.close();
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_SERVE_DATASET_CONTENT, build().put("id", datasetId));
         }
 
-        Schema schema = AvroUtils.toSchema(metadata.getRowMetadata());
-        GenericDatumWriter<GenericRecord> writer = new GenericDatumWriter<>(schema);
-
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            Encoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
-
-            records
-                    .map(AvroUtils.buildToGenericRecordConverter(schema)) //
-                    .forEach(record -> {
-                        try {
-                            writer.write(record, encoder);
-                        } catch (IOException e) {
-                            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-                        }
-                    });
-            encoder.flush();
-            result = new ByteArrayInputStream(outputStream.toByteArray());
-        } catch (IOException e) {
-            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-        } finally {
-            records.close();
-        }
-        return new InputStreamResource(result);
+        final Schema schema = AvroUtils.toSchema(metadata.getRowMetadata());
+        final Stream<DataSetRow> content = skipped > 0 ? records.skip(skipped) : records;
+        return outputStream -> {
+            final GenericDatumWriter<GenericRecord> writer = new GenericDatumWriter<>(schema);
+            // buffered encoder: blocking writes to response slow down reading when client does not keep up
+            final BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
+            try (Stream<DataSetRow> rows = content) {
+                final Iterator<? extends GenericRecord> iterator =
+                        rows.map(AvroUtils.buildToGenericRecordConverter(schema)).iterator();
+                while (iterator.hasNext()) {
+                    writer.write(iterator.next(), encoder);
+                }
+                encoder.flush();
+            } catch (IOException e) {
+                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+        };
     }
 
 }
@@ -44,6 +44,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
@@ -101,6 +102,7 @@ import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.dataset.DataSetMetadataBuilder;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.event.DatasetImportedEvent;
+import org.talend.dataprep.dataset.event.DatasetMetadataChangedEvent;
 import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
 import org.talend.dataprep.dataset.service.analysis.synchronous.ContentAnalysis;
 import org.talend.dataprep.dataset.service.analysis.synchronous.FormatAnalysis;
@@ -109,6 +111,7 @@ import org.talend.dataprep.dataset.service.api.UpdateColumnParameters;
 import org.talend.dataprep.dataset.service.cache.UpdateDataSetCacheKey;
 import org.talend.dataprep.dataset.store.QuotaService;
 import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
+import org.talend.dataprep.dataset.store.content.ReadOptions;
 import org.talend.dataprep.dataset.store.content.StrictlyBoundedInputStream;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
@@ -294,7 +297,11 @@ public class DataSetService extends BaseDataSetService {
         Stream<DataSetMetadata> datasetList =
                 findDataset(sort, order, name, nameStrict, certified, favorite, limit, favorites);
 
-        return datasetList.map(m -> conversionService.convert(m, UserDataSetMetadata.class));
+        // listing may only hold listing fields, get complete metadata for details
+        return datasetList
+                .map(m -> dataSetMetadataRepository.get(m.getId())) //
+                .filter(Objects::nonNull) //
+                .map(m -> conversionService.convert(m, UserDataSetMetadata.class));
 
     }
 
@@ -615,6 +622,9 @@ public class DataSetService extends BaseDataSetService {
         } finally {
             lock.unlock();
         }
+        if (metadata != null) {
+            publisher.publishEvent(new DatasetMetadataChangedEvent(dataSetId));
+        }
     }
 
     /**
@@ -1090,6 +1100,7 @@ public class DataSetService extends BaseDataSetService {
                 userData.addFavoriteDataset(dataSetId);
                 userDataRepository.save(userData);
             }
+            publisher.publishEvent(new DatasetMetadataChangedEvent(dataSetId));
         } else { // no dataset found so throws an error
             throw new TDPException(DataSetErrorCodes.DATASET_DOES_NOT_EXIST, build().put("id", dataSetId));
         }
@@ -1172,6 +1183,7 @@ public class DataSetService extends BaseDataSetService {
         } finally {
             lock.unlock();
         }
+        publisher.publishEvent(new DatasetMetadataChangedEvent(dataSetId));
     }
 
     /**
@@ -1310,7 +1322,8 @@ public class DataSetService extends BaseDataSetService {
             throw new TDPException(DataSetErrorCodes.DATASET_DOES_NOT_EXIST,
                     ExceptionContext.withBuilder().put("id", datasetId).build());
         } else {
-            try (final Stream<DataSetRow> records = contentStore.stream(metadata)) {
+            try (final Stream<DataSetRow> records = contentStore.stream(metadata,
+                    ReadOptions.VALUES_ONLY.withColumns(columnId))) {
 
                 final ColumnMetadata columnMetadata = metadata.getRowMetadata().getById(columnId);
                 final Analyzer<Analyzers.Result> analyzer = analyzerService.build(columnMetadata, SEMANTIC);
@@ -16,12 +16,17 @@ package org.talend.dataprep.dataset.service.analysis.asynchronous;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ANALYZE_DATASET_QUALITY;
 
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javax.annotation.Resource;
+
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -29,6 +34,7 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.ReadOptions;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.lock.DistributedLock;
@@ -62,6 +68,18 @@ public class BackgroundAnalysis {
     @Autowired
     StatisticsAdapter adapter;
 
+    /** <code>true</code> to compute schema and advanced statistics in a single pass on the content. */
+    @Value("${dataset.analysis.single.pass:false}")
+    boolean singlePass;
+
+    /** Number of worker threads (each one analyzing a group of columns) for the single pass analysis. */
+    @Value("${dataset.analysis.single.pass.workers:1}")
+    int singlePassWorkers;
+
+    /** Task executor for single pass analysis workers. */
+    @Resource(name = "analysis#executor")
+    TaskExecutor executor;
+
     /**
      * @see DataSetAnalyzer#analyze
      */
@@ -89,8 +107,13 @@ public class BackgroundAnalysis {
                     metadata.getId());
             return; // no acknowledge to allow re-poll.
         }
+        if (singlePass) {
+            analyzeInSinglePass(metadata, columns);
+            LOGGER.info("Statistics analysis done for {}", dataSetId);
+            return;
+        }
         // base analysis
-        try (final Stream<DataSetRow> stream = store.stream(metadata)) {
+        try (final Stream<DataSetRow> stream = store.stream(metadata, ReadOptions.VALUES_ONLY)) {
             try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
                 computeStatistics(analyzer, columns, stream);
                 LOGGER.debug("Base statistics analysis done for {}", dataSetId);
@@ -102,7 +125,7 @@ public class BackgroundAnalysis {
             throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
         }
         // advanced analysis
-        try (final Stream<DataSetRow> stream = store.stream(metadata);
+        try (final Stream<DataSetRow> stream = store.stream(metadata, ReadOptions.VALUES_ONLY);
                 Analyzer<Analyzers.Result> analyzerAdvanced = analyzerService.advancedAnalysis(columns)) {
             computeStatistics(analyzerAdvanced, columns, stream);
             updateNbRecords(metadata, analyzerAdvanced.getResult());
@@ -116,6 +139,68 @@ public class BackgroundAnalysis {
         LOGGER.info("Statistics analysis done for {}", dataSetId);
     }
 
+    /**
+     * Compute both schema and advanced statistics from a single read of the dataset content and save them at once.
+     * Advanced analyzers are configured with the column types known <i>before</i> the full schema analysis: if the
+     * schema analysis changes a column type (or domain), the advanced statistics are computed again in a second pass
+     * so they are the same as with the two passes analysis.
+     *
+     * @param metadata the dataset metadata.
+     * @param columns the columns to analyze.
+     */
+    private void analyzeInSinglePass(DataSetMetadata metadata, List<ColumnMetadata> columns) {
+        final List<String> configuredTypes = getTypes(columns);
+        final SinglePassAnalysis analysis = new SinglePassAnalysis(columns, singlePassWorkers, executor,
+                analyzerService::schemaAnalysis, analyzerService::advancedAnalysis);
+        try {
+            final List<List<Analyzers.Result>> results;
+            try (final Stream<DataSetRow> stream = store.stream(metadata, ReadOptions.VALUES_ONLY)) {
+                results = analysis.analyze(stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)));
+            }
+            adapter.adapt(columns, results.get(0));
+            if (configuredTypes.equals(getTypes(columns))) {
+                final List<Analyzers.Result> advancedResults = results.get(1);
+                adapter.adapt(columns, advancedResults);
+                updateNbRecords(metadata, advancedResults);
+                LOGGER.debug("Single pass statistics analysis done for {}", metadata.getId());
+            } else {
+                LOGGER.debug("Column types of {} changed during analysis, compute advanced statistics again.",
+                        metadata.getId());
+                try (final Stream<DataSetRow> stream = store.stream(metadata, ReadOptions.VALUES_ONLY);
+                        Analyzer<Analyzers.Result> analyzerAdvanced = analyzerService.advancedAnalysis(columns)) {
+                    computeStatistics(analyzerAdvanced, columns, stream);
+                    updateNbRecords(metadata, analyzerAdvanced.getResult());
+                }
+                LOGGER.debug("Schema and advanced statistics analysis done for {}", metadata.getId());
+            }
+
+            DistributedLock datasetLock = repository.createDatasetMetadataLock(metadata.getId());
+            try {
+                datasetLock.lock();
+                if (repository.get(metadata.getId()) != null) {
+                    repository.save(metadata);
+                }
+            } finally {
+                datasetLock.unlock();
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Single pass statistics analysis, dataset {} generates an error", metadata.getId(), e);
+            throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+        } finally {
+            analysis.close();
+        }
+    }
+
+    /**
+     * @param columns the columns.
+     * @return the type and domain of each column, as used to configure the analyzers.
+     */
+    private static List<String> getTypes(List<ColumnMetadata> columns) {
+        return columns.stream() //
+                .map(column -> column.getType() + '/' + column.getDomain()) //
+                .collect(Collectors.toList());
+    }
+
     private void saveAnalyzerResults(Analyzer<Analyzers.Result> analyzer, DataSetMetadata metadata) {
         DistributedLock datasetLock = repository.createDatasetMetadataLock(metadata.getId());
         try {
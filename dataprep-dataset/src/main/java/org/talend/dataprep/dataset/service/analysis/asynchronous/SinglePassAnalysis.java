@@ -0,0 +1,227 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+/**
+ * Drives several analyzers from a single pass on the content: each row is fanned out to all analyzers. Columns may be
+ * split in groups, each group being analyzed by a worker thread.
+ */
+class SinglePassAnalysis {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SinglePassAnalysis.class);
+
+    /** Marker for the end of rows in worker queues. */
+    private static final String[] END_OF_STREAM = new String[0];
+
+    /** Size of the queue between reader and each worker. */
+    private static final int QUEUE_SIZE = 1024;
+
+    /** How long (in ms) the reader waits for room in a worker queue before checking the worker is still running. */
+    private static final long OFFER_TIMEOUT = 100;
+
+    private final List<ColumnGroup> groups = new ArrayList<>();
+
+    private final int analyses;
+
+    private final TaskExecutor executor;
+
+    /**
+     * @param columns The columns to analyze.
+     * @param workers The number of worker threads (columns are split in as many groups), use 1 for no worker thread.
+     * @param executor The executor to run workers (not used if <code>workers</code> is 1).
+     * @param analyzers The analyzers factories (e.g. schema and advanced analysis).
+     */
+    @SafeVarargs
+    SinglePassAnalysis(List<ColumnMetadata> columns, int workers, TaskExecutor executor,
+            Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>>... analyzers) {
+        this.analyses = analyzers.length;
+        this.executor = executor;
+        final int groupCount = Math.max(1, Math.min(workers, columns.size()));
+        final int groupSize = (columns.size() + groupCount - 1) / groupCount;
+        for (int from = 0; from < columns.size(); from += groupSize) {
+            final int to = Math.min(from + groupSize, columns.size());
+            final List<ColumnMetadata> groupColumns = columns.subList(from, to);
+            final List<Analyzer<Analyzers.Result>> groupAnalyzers = new ArrayList<>(analyzers.length);
+            for (Function<List<ColumnMetadata>, Analyzer<Analyzers.Result>> analyzer : analyzers) {
+                groupAnalyzers.add(analyzer.apply(groupColumns));
+            }
+            groups.add(new ColumnGroup(from, to, groupAnalyzers));
+        }
+    }
+
+    /**
+     * Analyze the rows and return the results of each analysis.
+     *
+     * @param rows The rows values (in columns order).
+     * @return For each analyzer factory given in constructor (same order), the results for all columns.
+     */
+    List<List<Analyzers.Result>> analyze(Stream<String[]> rows) {
+        if (groups.size() == 1) {
+            final ColumnGroup group = groups.get(0);
+            rows.forEach(group::analyze);
+        } else {
+            analyzeInWorkers(rows);
+        }
+        final List<List<Analyzers.Result>> results = new ArrayList<>(analyses);
+        for (int i = 0; i < analyses; i++) {
+            final List<Analyzers.Result> analysisResults = new ArrayList<>();
+            for (ColumnGroup group : groups) {
+                final Analyzer<Analyzers.Result> analyzer = group.analyzers.get(i);
+                analyzer.end();
+                analysisResults.addAll(analyzer.getResult());
+            }
+            results.add(analysisResults);
+        }
+        return results;
+    }
+
+    /**
+     * Close all analyzers.
+     */
+    void close() {
+        for (ColumnGroup group : groups) {
+            for (Analyzer<Analyzers.Result> analyzer : group.analyzers) {
+                try {
+                    analyzer.close();
+                } catch (Exception e) {
+                    LOGGER.debug("Unable to close analyzer.", e);
+                }
+            }
+        }
+    }
+
+    private void analyzeInWorkers(Stream<String[]> rows) {
+        final List<Worker> workers = new ArrayList<>(groups.size());
+        final CountDownLatch done = new CountDownLatch(groups.size());
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        for (ColumnGroup group : groups) {
+            final Worker worker = new Worker();
+            workers.add(worker);
+            executor.execute(() -> {
+                try {
+                    String[] row;
+                    while ((row = worker.queue.take()) != END_OF_STREAM) {
+                        group.analyze(row);
+                    }
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    failure.compareAndSet(null, e);
+                } finally {
+                    // worker no longer drains its queue, reader must not wait for room in it
+                    worker.stopped = true;
+                    done.countDown();
+                }
+            });
+        }
+        try {
+            // stop reading as soon as a worker fails
+            final Iterator<String[]> iterator = rows.iterator();
+            while (failure.get() == null && iterator.hasNext()) {
+                final String[] row = iterator.next();
+                workers.forEach(worker -> worker.send(row));
+            }
+        } finally {
+            workers.forEach(worker -> worker.send(END_OF_STREAM));
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for analysis workers.", e);
+            }
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Unable to analyze content.", failure.get());
+        }
+    }
+
+    /**
+     * The queue of rows for a worker thread.
+     */
+    private static class Worker {
+
+        private final BlockingQueue<String[]> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+        private volatile boolean stopped;
+
+        /**
+         * Send a row to the worker, waiting for room in queue as long as the worker is running.
+         *
+         * @param row The row to send.
+         */
+        private void send(String[] row) {
+            try {
+                while (!stopped) {
+                    if (queue.offer(row, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sending rows to analysis workers.", e);
+            }
+        }
+    }
+
+    /**
+     * A group of consecutive columns and the analyzers for these columns.
+     */
+    private static class ColumnGroup {
+
+        private final int from;
+
+        private final int to;
+
+        private final List<Analyzer<Analyzers.Result>> analyzers;
+
+        private ColumnGroup(int from, int to, List<Analyzer<Analyzers.Result>> analyzers) {
+            this.from = from;
+            this.to = to;
+            this.analyzers = analyzers;
+        }
+
+        private void analyze(String[] row) {
+            final String[] values;
+            if (from == 0 && to >= row.length) {
+                values = row;
+            } else {
+                values = Arrays.copyOfRange(row, Math.min(from, row.length), Math.min(to, row.length));
+            }
+            for (Analyzer<Analyzers.Result> analyzer : analyzers) {
+                analyzer.analyze(values);
+            }
+        }
+    }
+}
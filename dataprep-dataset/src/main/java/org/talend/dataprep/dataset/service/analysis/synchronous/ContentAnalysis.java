@@ -28,6 +28,7 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.ReadOptions;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.schema.csv.CSVFormatFamily;
@@ -118,7 +119,7 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
      */
     private void updateLimit(DataSetMetadata metadata) {
         // auto closable block is really important to make sure the stream is closed after the limit is set
-        try (final Stream<DataSetRow> stream = contentStore.stream(metadata)) {
+        try (final Stream<DataSetRow> stream = contentStore.stream(metadata, ReadOptions.VALUES_ONLY)) {
             final Optional<DataSetRow> firstAfterLimit = stream.skip(sizeLimit).findAny();
             if (firstAfterLimit.isPresent()) {
                 metadata.getContent().setLimit(sizeLimit);
@@ -29,6 +29,7 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.ReadOptions;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
@@ -87,7 +88,7 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
                 return; // no acknowledge to allow re-poll.
             }
 
-            try (Stream<DataSetRow> stream = store.stream(metadata)) {
+            try (Stream<DataSetRow> stream = store.stream(metadata, ReadOptions.VALUES_ONLY)) {
 
                 LOGGER.debug("Analyzing quality of dataset #{}...", metadata.getId());
                 // New data set, or reached the max limit of records for synchronous analysis, trigger a full scan (but
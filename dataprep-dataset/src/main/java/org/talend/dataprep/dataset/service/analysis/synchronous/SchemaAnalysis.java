@@ -28,6 +28,7 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.content.ReadOptions;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.lock.DistributedLock;
@@ -76,7 +77,7 @@ public class SchemaAnalysis implements SynchronousDataSetAnalyzer {
                 return;
             }
             // Schema analysis
-            try (Stream<DataSetRow> stream = store.stream(metadata)) {
+            try (Stream<DataSetRow> stream = store.stream(metadata, ReadOptions.VALUES_ONLY)) {
                 LOGGER.info("Analyzing schema in dataset #{}...", dataSetId);
                 // Configure analyzers
                 final List<ColumnMetadata> columns = metadata.getRowMetadata().getColumns();
@@ -97,6 +97,18 @@ public class ContentStoreRouter extends DataSetContentStore {
         return target.stream(dataSetMetadata);
     }
 
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, ReadOptions options) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, options);
+    }
+
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit, ReadOptions options) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, limit, options);
+    }
+
     /**
      * @see DataSetContentStore#clear()
      */
@@ -52,7 +52,8 @@ public interface DataSetMetadataRepository {
      * @param sortField An optional field to be used to sort results (may be <code>null</code> to indicate no sort).
      * @param sortDirection An optional field to be used how to sort results (may be <code>null</code> to indicate no sort). Valid
      * values are "ASC" or "DESC".
-     * @return A {@link Iterable} of {@link DataSetMetadata} that matches <code>filter</code>.
+     * @return A {@link Iterable} of {@link DataSetMetadata} that matches <code>filter</code>. Implementations may only
+     * return the listing fields (e.g. no row metadata), use {@link #get(String)} to get complete metadata.
      */
     @Timed
     Stream<DataSetMetadata> list(String filter, Sort sortField, Order sortDirection);
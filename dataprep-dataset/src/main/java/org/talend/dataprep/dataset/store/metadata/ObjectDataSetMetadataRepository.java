@@ -33,11 +33,23 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
 
     protected abstract Stream<DataSetMetadata> source();
 
+    /**
+     * Returns the metadata that <i>may</i> match the filter, callers still apply the filter on returned metadata.
+     * Implementations able to narrow the metadata to read using the filter should override this method, default
+     * implementation returns all metadata.
+     *
+     * @param filter A TQL filter.
+     * @return The candidate metadata for the filter.
+     */
+    protected Stream<DataSetMetadata> source(String filter) {
+        return source();
+    }
+
     @Override
     public boolean exist(String filter) {
         final Predicate<DataSetMetadata> accept =
                 Tql.parse(filter).accept(new BeanPredicateVisitor<>(DataSetMetadata.class));
-        return source().anyMatch(accept);
+        return source(filter).anyMatch(accept);
     }
 
     @Override
@@ -49,7 +61,7 @@ public abstract class ObjectDataSetMetadataRepository extends DataSetMetadataRep
     public Stream<DataSetMetadata> list(String filter, Sort sortField, Order sortDirection) {
         final Predicate<DataSetMetadata> accept =
                 Tql.parse(filter).accept(new BeanPredicateVisitor<>(DataSetMetadata.class));
-        final Stream<DataSetMetadata> stream = source().filter(accept);
+        final Stream<DataSetMetadata> stream = source(filter).filter(accept);
         if (sortField != null) {
             final Comparator<DataSetMetadata> dataSetMetadataComparator =
                     getDataSetMetadataComparator(sortField, sortDirection);
@@ -0,0 +1,111 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata.file;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.dataset.DataSetMetadataBuilder;
+import org.talend.tql.bean.BeanPredicateVisitor;
+import org.talend.tql.parser.Tql;
+
+/**
+ * A resident projection of the dataset metadata on the listing fields (id, name, author, dates, certification,
+ * lifecycle, size, content and location information), i.e. everything but the row metadata (columns, statistics and
+ * quality) that makes most of the metadata size. TQL filters on these fields are evaluated on the resident projections
+ * (no need to read and deserialize the metadata files).
+ */
+class DataSetMetadataIndex {
+
+    /** The only metadata field not in projections. */
+    private static final String NOT_INDEXED_FIELD = "rowMetadata";
+
+    /** Dataset id -> resident projection. */
+    private final Map<String, DataSetMetadata> entries = new ConcurrentHashMap<>();
+
+    /** Used to build the projections. */
+    private final DataSetMetadataBuilder metadataBuilder;
+
+    DataSetMetadataIndex(DataSetMetadataBuilder metadataBuilder) {
+        this.metadataBuilder = metadataBuilder;
+    }
+
+    /**
+     * Add or update the resident projection of the metadata.
+     *
+     * @param metadata the saved metadata.
+     */
+    void put(DataSetMetadata metadata) {
+        entries.put(metadata.getId(), project(metadata));
+    }
+
+    void remove(String id) {
+        entries.remove(id);
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the resident projections (shared instances, for internal use only).
+     */
+    Stream<DataSetMetadata> entries() {
+        return entries.values().stream();
+    }
+
+    /**
+     * @param filter A TQL filter.
+     * @return <code>true</code> if the filter can be evaluated on projections. This is conservative: a filter that may
+     * reference the row metadata (even in a value) is not covered.
+     */
+    boolean covers(String filter) {
+        return StringUtils.isNotBlank(filter) && !StringUtils.containsIgnoreCase(filter, NOT_INDEXED_FIELD);
+    }
+
+    /**
+     * Select the projections matching a {@link #covers(String) covered} filter.
+     *
+     * @param filter A TQL filter.
+     * @return copies of the matching projections (without row metadata), callers may modify them.
+     */
+    Stream<DataSetMetadata> select(String filter) {
+        final Predicate<DataSetMetadata> accept =
+                Tql.parse(filter).accept(new BeanPredicateVisitor<>(DataSetMetadata.class));
+        return entries().filter(accept).map(this::project);
+    }
+
+    /**
+     * @param metadata a metadata.
+     * @return a new metadata with the listing fields of <code>metadata</code> and no column.
+     */
+    private DataSetMetadata project(DataSetMetadata metadata) {
+        final DataSetMetadata projection = metadataBuilder //
+                .metadata() //
+                .copy(metadata) //
+                .row() //
+                .schemaParserResult(null) //
+                .build();
+        // builder shares the parameters with original metadata
+        if (metadata.getContent().getParameters() != null) {
+            projection.getContent().setParameters(new HashMap<>(metadata.getContent().getParameters()));
+        }
+        return projection;
+    }
+}
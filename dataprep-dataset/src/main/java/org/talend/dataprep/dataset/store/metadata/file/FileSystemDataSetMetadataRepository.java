@@ -16,6 +16,7 @@ package org.talend.dataprep.dataset.store.metadata.file;
 import java.io.*;
 import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Objects;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
@@ -31,6 +32,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.talend.daikon.exception.ExceptionContext;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.dataset.DataSetMetadataBuilder;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.dataset.store.metadata.ObjectDataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
@@ -65,6 +67,13 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     @Value("${dataset.metadata.store.file.location}")
     private String storeLocation;
 
+    /** Used to build the resident metadata projections. */
+    @Autowired
+    private DataSetMetadataBuilder metadataBuilder;
+
+    /** Resident projection of the metadata used for listing (kept up to date on save/remove). */
+    private DataSetMetadataIndex index;
+
     @PostConstruct
     private void init() {
         try {
@@ -72,6 +81,12 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         } catch (IOException e) {
             throw new IllegalStateException("unable to create dataset metadata store folder", e);
         }
+        index = new DataSetMetadataIndex(metadataBuilder);
+        final File[] files = getRootFolder().listFiles();
+        if (files != null) {
+            Arrays.stream(files).map(f -> get(f.getName())).filter(Objects::nonNull).forEach(index::put);
+        }
+        LOG.debug("Dataset metadata index loaded.");
     }
 
     @Override
@@ -85,6 +100,7 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         lock.writeLock().lock();
         try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
             mapper.writer().writeValue(output, metadata);
+            index.put(metadata);
         } catch (IOException e) {
             LOG.error("Error saving {}", metadata, e);
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_METADATA, e,
@@ -130,6 +146,7 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     public void remove(String id) {
         final File file = getFile(id);
         FilesHelper.deleteQuietly(file);
+        index.remove(id);
         LOG.debug("metadata {} successfully deleted", id);
     }
 
@@ -144,6 +161,37 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         return Arrays.stream(files).map(f -> get(f.getName())).filter(m -> m != null);
     }
 
+    /**
+     * Evaluates the filter on the resident projections when possible: no metadata file is read but returned metadata
+     * only hold the listing fields (no row metadata, use {@link #get(String)} to get the complete metadata). Other
+     * filters fall back to reading all the metadata files.
+     *
+     * @see ObjectDataSetMetadataRepository#source(String)
+     */
+    @Override
+    protected Stream<DataSetMetadata> source(String filter) {
+        if (index.covers(filter)) {
+            return index.select(filter);
+        }
+        return source();
+    }
+
+    @Override
+    public int size() {
+        return (int) index.entries().count();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        index.clear();
+    }
+
+    @Override
+    public long countAllDataSetsSize() {
+        return index.entries().mapToLong(DataSetMetadata::getDataSetSize).sum();
+    }
+
     /**
      * Return the file that matches the given metadata id.
      *
@@ -15,54 +15,59 @@
 
 package org.talend.dataprep.dataset.adapter;
 
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.LongStream;
 
+import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.context.annotation.Import;
-import org.springframework.test.context.junit4.SpringRunner;
-import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.test.web.servlet.MvcResult;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
-import org.talend.dataprep.configuration.DataPrepComponentScanConfiguration;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.dataset.service.DataSetService;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
-import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@RunWith(SpringRunner.class)
-@WebMvcTest(DataSetController.class)
-@Import({ DataPrepComponentScanConfiguration.class })
-@Ignore
+@RunWith(MockitoJUnitRunner.class)
 public class DataSetControllerTest {
 
-    @Autowired
-    private MockMvc mvc;
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @Autowired
-    private ObjectMapper objectMapper;
-
-    @MockBean
+    @Mock
     private DataSetService dataSetService;
 
-    @MockBean
+    @Mock
     private BeanConversionService beanConversionService;
 
+    private DataSetController controller;
+
+    @Before
+    public void setUp() {
+        controller = new DataSetController(dataSetService, beanConversionService);
+    }
+
     @Test
+    @Ignore
     public void findSample() throws Exception {
         InputStream resourceAsStream = DataSetControllerTest.class
                 .getResourceAsStream("/org/talend/dataprep/dataset/avengers_expected_limit_2.json");
@@ -71,15 +76,7 @@ public class DataSetControllerTest {
 
         when(dataSetService.getMetadata(anyString())).thenReturn(dataSet);
 
-        //TODO mock the bean conversion
-        when(beanConversionService.convert(any(DataSetMetadata.class), Dataset.class)).thenReturn(null);
-
-        MvcResult result = mvc
-                .perform(get("/api/v1/datasets/{datasetId}", "1234")) //
-                .andExpect(status().isOk())
-                .andReturn();
-
-        JsonNode jsonSchema = objectMapper.readTree(result.getResponse().getContentAsString());
+        JsonNode jsonSchema = objectMapper.readTree(controller.getDatasetSchema("1234"));
 
         assertEquals("org.talend.dataprep", jsonSchema.get("namespace").asText());
         JsonNode fields = jsonSchema.get("fields");
@@ -92,4 +89,51 @@ public class DataSetControllerTest {
         assertEquals("city", fields.get(4).get("name").asText());
 
     }
+
+    @Test
+    public void shouldApplyOffsetAndLimit() throws Exception {
+        // given
+        when(dataSetService.get(anyBoolean(), anyBoolean(), eq(15L), eq(EMPTY), eq("1234")))
+                .thenReturn(() -> dataSet(15));
+        final ByteArrayOutputStream all = new ByteArrayOutputStream();
+        final ByteArrayOutputStream page = new ByteArrayOutputStream();
+
+        // when
+        controller.getDatasetContent("1234", 0, 15).writeTo(all);
+        controller.getDatasetContent("1234", 10, 5).writeTo(page);
+
+        // then (fixed size records)
+        assertEquals(all.size() / 3, page.size());
+    }
+
+    @Test
+    public void shouldWriteNoRecordForMetadataOnlyDataSet() throws Exception {
+        // given (no records set)
+        final DataSet dataSet = new DataSet();
+        dataSet.setMetadata(dataSet(0).getMetadata());
+        when(dataSetService.get(anyBoolean(), anyBoolean(), eq(-1L), eq(EMPTY), eq("1234"))).thenReturn(() -> dataSet);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        controller.getDatasetContent("1234", 0, -1).writeTo(output);
+
+        // then
+        assertEquals(0, output.size());
+    }
+
+    private static DataSet dataSet(long size) {
+        final RowMetadata rowMetadata = new RowMetadata(Arrays.asList( //
+                ColumnMetadata.Builder.column().id(0).name("id").type(Type.STRING).build(), //
+                ColumnMetadata.Builder.column().id(1).name("name").type(Type.STRING).build()));
+        final DataSetMetadata metadata = new DataSetMetadata("1234", "content", "author", 0L, 0L, rowMetadata, "1.0");
+        final DataSet dataSet = new DataSet();
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(LongStream.range(0, size).mapToObj(i -> {
+            final Map<String, Object> values = new HashMap<>();
+            values.put("0000", String.format("%010d", i));
+            values.put("0001", "a name for record");
+            return new DataSetRow(rowMetadata, values);
+        }));
+        return dataSet;
+    }
 }
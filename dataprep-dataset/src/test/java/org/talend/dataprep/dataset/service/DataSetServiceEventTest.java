@@ -0,0 +1,104 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.user.UserData;
+import org.talend.dataprep.dataset.event.DatasetMetadataChangedEvent;
+import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
+import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
+import org.talend.dataprep.lock.DistributedLock;
+import org.talend.dataprep.security.Security;
+import org.talend.dataprep.user.store.UserDataRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DataSetServiceEventTest {
+
+    @InjectMocks
+    private DataSetService dataSetService;
+
+    @Mock
+    private DataSetMetadataRepository repository;
+
+    @Mock
+    private ContentStoreRouter contentStore;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    @Mock
+    private Security security;
+
+    @Mock
+    private UserDataRepository<UserData> userDataRepository;
+
+    @Before
+    public void setUp() throws Exception {
+        when(repository.createDatasetMetadataLock(any())).thenReturn(mock(DistributedLock.class));
+        when(repository.get(eq("ds-1234"))).thenReturn(new DataSetMetadata());
+        when(security.getUserId()).thenReturn("user");
+        when(userDataRepository.get(eq("user"))).thenReturn(new UserData("user", "1.0"));
+    }
+
+    @Test
+    public void shouldPublishEventOnDelete() {
+        // when
+        dataSetService.delete("ds-1234");
+
+        // then
+        verify(repository).remove(eq("ds-1234"));
+        assertMetadataChangedEvent("ds-1234");
+    }
+
+    @Test
+    public void shouldNotPublishEventOnUnknownDataSetDelete() {
+        // when
+        dataSetService.delete("unknown");
+
+        // then
+        verify(publisher, never()).publishEvent(any(ApplicationEvent.class));
+    }
+
+    @Test
+    public void shouldPublishEventOnFavoriteChange() {
+        // when
+        dataSetService.setFavorites(false, "ds-1234");
+
+        // then
+        assertMetadataChangedEvent("ds-1234");
+    }
+
+    private void assertMetadataChangedEvent(String dataSetId) {
+        final ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(publisher).publishEvent(event.capture());
+        assertEquals(DatasetMetadataChangedEvent.class, event.getValue().getClass());
+        assertEquals(dataSetId, event.getValue().getSource());
+    }
+}
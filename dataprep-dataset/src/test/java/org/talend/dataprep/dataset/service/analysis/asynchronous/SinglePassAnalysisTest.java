@@ -0,0 +1,69 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataquality.common.inference.Analyzer;
+import org.talend.dataquality.common.inference.Analyzers;
+
+public class SinglePassAnalysisTest {
+
+    @Test(timeout = 30000)
+    public void shouldStopReadingWhenWorkerFails() throws Exception {
+        // given (first worker fails on first row, rows are many more than queues can hold)
+        final List<ColumnMetadata> columns = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            columns.add(ColumnMetadata.Builder.column().id(i).name("col_" + i).type(Type.STRING).build());
+        }
+        final AtomicInteger created = new AtomicInteger();
+        final SinglePassAnalysis analysis =
+                new SinglePassAnalysis(columns, 2, new SimpleAsyncTaskExecutor(), groupColumns -> {
+                    @SuppressWarnings("unchecked")
+                    final Analyzer<Analyzers.Result> analyzer = mock(Analyzer.class);
+                    if (created.getAndIncrement() == 0) {
+                        doThrow(new RuntimeException("on purpose")).when(analyzer).analyze(anyVararg());
+                    }
+                    return analyzer;
+                });
+        final AtomicInteger read = new AtomicInteger();
+
+        // when
+        try {
+            analysis.analyze(IntStream.range(0, 100000).peek(i -> read.incrementAndGet()).mapToObj(
+                    i -> new String[] { "a", "b", "c", "d" }));
+            fail("Analysis should fail");
+        } catch (IllegalStateException e) {
+            // then
+            assertEquals("on purpose", e.getCause().getMessage());
+        } finally {
+            analysis.close();
+        }
+        assertTrue(read.get() < 100000);
+    }
+}
@@ -0,0 +1,24 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.service.analysis.asynchronous;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Same statistics checks as {@link StatisticsAnalysisTest} but with schema and advanced statistics computed in a single
+ * pass (with columns analyzed by 2 workers).
+ */
+@TestPropertySource(properties = { "dataset.analysis.single.pass=true", "dataset.analysis.single.pass.workers=2" })
+public class SinglePassStatisticsAnalysisTest extends StatisticsAnalysisTest {
+}
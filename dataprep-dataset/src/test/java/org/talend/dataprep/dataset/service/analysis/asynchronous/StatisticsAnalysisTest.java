@@ -13,9 +13,11 @@
 
 package org.talend.dataprep.dataset.service.analysis.asynchronous;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Random;
@@ -84,6 +86,26 @@ public class StatisticsAnalysisTest extends DataSetBaseTest {
         assertThat(metadata.getContent().getNbRecords(), is(4L));
     }
 
+    @Test
+    public void should_compute_advanced_statistics_with_full_content_type() throws Exception {
+        // given (schema analysis only sees the 100 first rows as integers, full content is mostly text)
+        final StringBuilder content = new StringBuilder("id,value\n");
+        for (int i = 0; i < 400; i++) {
+            content.append(i).append(',').append(i < 100 ? String.valueOf(i) : "text").append('\n');
+        }
+
+        // when
+        final DataSetMetadata metadata =
+                initializeDataSetMetadata(new ByteArrayInputStream(content.toString().getBytes(UTF_8)));
+
+        // then (quality computed for the new type, not the type from the first rows)
+        final ColumnMetadata value = metadata.getRowMetadata().getById("0001");
+        assertThat(value.getName(), is("value"));
+        assertThat(value.getType(), is("string"));
+        assertEquals(400, value.getQuality().getValid());
+        assertEquals(0, value.getQuality().getInvalid());
+    }
+
     /**
      * Initialize a dataset with the given content. Perform the format and the schema analysis.
      *
@@ -20,15 +20,18 @@ import static org.junit.Assert.assertThat;
 import java.io.InputStream;
 import java.util.Random;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.Quality;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.dataset.DataSetBaseTest;
 import org.talend.dataprep.dataset.service.DataSetServiceTest;
+import org.talend.dataprep.dataset.store.content.ReadOptions;
 
 public class QualityAnalysisTest extends DataSetBaseTest {
 
@@ -99,6 +102,35 @@ public class QualityAnalysisTest extends DataSetBaseTest {
 
     }
 
+    @Test
+    public void shouldMarkInvalidValuesFromQualityAnalysis() {
+        String dsId = UUID.randomUUID().toString();
+        final DataSetMetadata metadata = metadataBuilder.metadata().id(dsId).build();
+        dataSetMetadataRepository.save(metadata);
+        contentStore.storeAsRaw(metadata,
+                DataSetServiceTest.class.getResourceAsStream("../dataset_with_invalid_records.csv"));
+        formatAnalysis.analyze(dsId);
+        contentAnalysis.analyze(dsId);
+        schemaAnalysis.analyze(dsId);
+        qualityAnalysis.analyze(dsId);
+        final DataSetMetadata actual = dataSetMetadataRepository.get(dsId);
+        final String columnId = actual.getRowMetadata().getColumns().get(1).getId();
+
+        // when
+        final long marked;
+        try (Stream<DataSetRow> rows = contentStore.stream(actual)) {
+            marked = rows.filter(r -> r.isInvalid(columnId)).count();
+        }
+        final long markedWithoutQuality;
+        try (Stream<DataSetRow> rows = contentStore.stream(actual, ReadOptions.VALUES_ONLY)) {
+            markedWithoutQuality = rows.filter(r -> r.isInvalid(columnId)).count();
+        }
+
+        // then
+        assertThat(marked, is(2L));
+        assertThat(markedWithoutQuality, is(0L));
+    }
+
     /**
      * This test ensures that data types have been rightly detected when performing a full analysis.
      *
@@ -19,6 +19,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -32,6 +33,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.test.context.TestPropertySource;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.dataset.DataSetBaseTest;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepositoryTestUtils;
 
@@ -80,6 +82,64 @@ public class FileSystemDataSetMetadataRepositoryTest extends DataSetBaseTest {
         assertFalse(noMatch);
     }
 
+    @Test
+    public void matchOnIndexedFieldsAfterUpdate() throws Exception {
+        // given
+        final DataSetMetadata metadata = getMetadata("456789");
+        metadata.getLifecycle().setImporting(true);
+        repository.save(metadata);
+        assertTrue(repository.exist("id = '456789' and lifecycle.importing = true"));
+
+        // when
+        metadata.getLifecycle().setImporting(false);
+        repository.save(metadata);
+
+        // then
+        assertFalse(repository.exist("id = '456789' and lifecycle.importing = true"));
+        assertEquals(1, repository.list("lifecycle.importing = false", null, null).count());
+    }
+
+    @Test
+    public void shouldListWithoutReadingMetadataFiles() throws Exception {
+        // given
+        final String datasetId = "5678941";
+        repository.save(getMetadata(datasetId));
+        final File metadataFile = new File(storeLocation + '/' + datasetId);
+        try (FileOutputStream fos = new FileOutputStream(metadataFile)) {
+            fos.write("invalid content in dataset metadata file".getBytes());
+        }
+
+        // when
+        final long count = repository.list("lifecycle.importing = false", null, null).count();
+
+        // then
+        assertEquals(1, count);
+        assertNull(repository.get(datasetId));
+    }
+
+    @Test
+    public void shouldListCopiesOfListingFields() throws Exception {
+        // given
+        final String datasetId = "5678942";
+        final DataSetMetadata saved = metadataBuilder
+                .metadata()
+                .copy(getMetadata(datasetId))
+                .row(column().id(0).name("name").type(Type.STRING), column().id(1).name("city").type(Type.STRING))
+                .build();
+        repository.save(saved);
+
+        // when
+        final DataSetMetadata listed = repository.list("id = '5678942'", null, null).findFirst().get();
+        listed.setName("modified by caller");
+
+        // then (listing fields only, caller changes are not visible in later listings)
+        assertEquals(saved.getName(), repository.list("id = '5678942'", null, null).findFirst().get().getName());
+        assertEquals(saved.getAuthor(), listed.getAuthor());
+        assertEquals(saved.getDataSetSize(), listed.getDataSetSize());
+        assertTrue(listed.getRowMetadata().getColumns().isEmpty());
+        assertEquals(2, repository.get(datasetId).getRowMetadata().getColumns().size());
+    }
+
     @After
     public void clear() {
         repository.clear();
@@ -12,10 +12,16 @@
 
 package org.talend.dataprep.maintenance.preparation;
 
-import static org.talend.tql.api.TqlBuilder.neq;
+import static org.talend.tql.api.TqlBuilder.gt;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -27,12 +33,19 @@ import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.maintenance.executor.MaintenanceTaskProcess;
 import org.talend.dataprep.maintenance.executor.ScheduleFrequency;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
+import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.security.SecurityProxy;
 import org.talend.tenancy.ForAll;
 
 /**
- * Cleans the preparation repository. It removes all the steps that do NOT belong to a preparation any more.
+ * Cleans the preparation repository. It removes all the steps that do NOT belong to a preparation any more, and the
+ * preparation actions no longer used by a step.
+ *
+ * The used steps are collected in memory by the {@link StepMarker markers} (without any write to the repository), then
+ * the steps and preparation actions are swept in a single pass.
  */
 @ConditionalOnProperty(value = "preparation.store.orphan.cleanup", havingValue = "true", matchIfMissing = true)
 @Component
@@ -40,8 +53,6 @@ public class PreparationCleaner implements MaintenanceTaskProcess {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PreparationCleaner.class);
 
-    private static final String MARKER = "marker";
-
     @Autowired
     private PreparationRepository repository;
 
@@ -75,27 +86,24 @@ public class PreparationCleaner implements MaintenanceTaskProcess {
     private void removeCurrentOrphanSteps() {
         securityProxy.asTechnicalUser();
         final UUID currentCleanerRun = UUID.randomUUID();
+        final long runStart = System.currentTimeMillis();
         try {
             LOGGER.info("Starting clean run '{}'", currentCleanerRun);
+            final Set<String> usedSteps = new HashSet<>();
+            usedSteps.add(Step.ROOT_STEP.id());
             StepMarker.Result allMarkersResult = StepMarker.Result.COMPLETED;
             for (StepMarker marker : markers) {
-                final StepMarker.Result result = marker.mark(repository, currentCleanerRun);
+                final StepMarker.Result result = marker.mark(repository, usedSteps);
                 if (result == StepMarker.Result.INTERRUPTED) {
                     allMarkersResult = StepMarker.Result.INTERRUPTED;
+                    break;
                 }
             }
 
             if (allMarkersResult == StepMarker.Result.COMPLETED) {
-                if (LOGGER.isInfoEnabled()) {
-                    LOGGER.info("Removing unused steps ({} scheduled for deletion)",
-                            repository.count(Step.class, neq(MARKER, currentCleanerRun.toString())));
-                }
-                repository.remove(Step.class, neq(MARKER, currentCleanerRun.toString()));
+                sweep(usedSteps, runStart);
             } else {
-                if (LOGGER.isInfoEnabled()) {
-                    LOGGER.info("Discarding {} pending step deletes",
-                            repository.count(Step.class, neq(MARKER, currentCleanerRun.toString())));
-                }
+                LOGGER.info("Discarding pending step deletes ({} used steps found)", usedSteps.size());
             }
         } finally {
             securityProxy.releaseIdentity();
@@ -103,6 +111,55 @@ public class PreparationCleaner implements MaintenanceTaskProcess {
         }
     }
 
+    /**
+     * Removes the steps not in <code>usedSteps</code> and the preparation actions no longer used by the remaining
+     * steps.
+     *
+     * @param usedSteps the ids of the used steps.
+     * @param runStart the start time of the clean run (preparations modified after it abort the sweep).
+     */
+    private void sweep(Set<String> usedSteps, long runStart) {
+        // Single pass on steps: collect unused steps and the content of used ones
+        final List<PersistentStep> unusedSteps = new ArrayList<>();
+        final Set<String> usedContents = new HashSet<>();
+        repository.list(PersistentStep.class).forEach(step -> {
+            if (usedSteps.contains(step.id())) {
+                usedContents.add(step.getContent());
+            } else {
+                unusedSteps.add(step);
+            }
+        });
+
+        // Preparation actions stored as deltas need their parent actions
+        final Map<String, String> contentParents = new HashMap<>();
+        repository
+                .list(PersistentPreparationActions.class) //
+                .forEach(content -> contentParents.put(content.id(), content.getParentId()));
+        final Deque<String> contentsToVisit = new ArrayDeque<>(usedContents);
+        while (!contentsToVisit.isEmpty()) {
+            final String parentId = contentParents.get(contentsToVisit.pop());
+            if (parentId != null && usedContents.add(parentId)) {
+                contentsToVisit.push(parentId);
+            }
+        }
+
+        // Steps added to a preparation already marked would be removed: check once more before any delete
+        if (repository.exist(PersistentPreparation.class, gt("lastModificationDate", runStart))) {
+            LOGGER.info("Discarding {} pending step deletes (preparation modified during clean up).",
+                    unusedSteps.size());
+            return;
+        }
+        LOGGER.info("Removing unused steps ({} scheduled for deletion)", unusedSteps.size());
+        unusedSteps.forEach(repository::remove);
+        contentParents.keySet().removeAll(usedContents);
+        LOGGER.info("Removing unused preparation actions ({} scheduled for deletion)", contentParents.size());
+        contentParents.keySet().forEach(contentId -> {
+            final PersistentPreparationActions content = new PersistentPreparationActions();
+            content.setId(contentId);
+            repository.remove(content);
+        });
+    }
+
     public void setMarkers(List<StepMarker> markers) {
         this.markers = markers;
     }
@@ -1,6 +1,6 @@
 package org.talend.dataprep.maintenance.preparation;
 
-import java.util.UUID;
+import java.util.Set;
 
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.preparation.store.PreparationRepository;
@@ -11,17 +11,18 @@ import org.talend.dataprep.preparation.store.PreparationRepository;
 public interface StepMarker {
 
     /**
-     * Mark all used {@link Step steps} with given <code>marker</code>.
+     * Mark all used {@link Step steps}: add their ids to <code>usedSteps</code>. Implementations must not modify the
+     * repository.
      *
      * @param repository The preparation repository to look for steps.
-     * @param marker The marker to add on used steps.
+     * @param usedSteps The ids of the used steps (to be completed by the implementation).
      * @return {@link Result#COMPLETED} if implementation was not interrupted by a user action,
      * {@link Result#INTERRUPTED} if implementation was not able to carefully mark all used objects.
      */
-    Result mark(PreparationRepository repository, UUID marker);
+    Result mark(PreparationRepository repository, Set<String> usedSteps);
 
     /**
-     * The result of the mark operation as returned by {@link #mark(PreparationRepository, UUID)}.
+     * The result of the mark operation as returned by {@link #mark(PreparationRepository, Set)}.
      */
     enum Result {
         /**
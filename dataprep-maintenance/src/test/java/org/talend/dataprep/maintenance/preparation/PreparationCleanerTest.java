@@ -12,33 +12,37 @@
 
 package org.talend.dataprep.maintenance.preparation;
 
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.refEq;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Stream;
 
+import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Matchers;
 import org.mockito.Mock;
-import org.talend.dataprep.api.preparation.Action;
-import org.talend.dataprep.api.preparation.Preparation;
-import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.Identifiable;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.maintenance.BaseMaintenanceTest;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
 import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.preparation.store.PreparationRepository;
-import org.talend.tql.api.TqlBuilder;
-import org.talend.tql.model.Expression;
 
 public class PreparationCleanerTest extends BaseMaintenanceTest {
 
@@ -51,71 +55,51 @@ public class PreparationCleanerTest extends BaseMaintenanceTest {
     @Mock
     private StepMarker marker;
 
+    @Before
+    public void setUpMarkers() {
+        cleaner.setMarkers(Collections.singletonList(new PreparationStepMarker()));
+        when(repository.list(eq(PersistentPreparation.class))).thenReturn(Stream.empty());
+        when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.empty());
+        when(repository.list(eq(PersistentPreparationActions.class))).thenReturn(Stream.empty());
+    }
+
     @Test
-    public void removeOrphanSteps_should_remove_orphan_step_after_at_least_X_hours() {
+    public void removeOrphanSteps_should_remove_orphan_step() {
         // given
-        final String version = "1.2.3";
-        final Step firstStep = new Step(Step.ROOT_STEP.id(), "first", version);
-        final Step secondStep = new Step(firstStep.id(), "second", version);
-        final Step orphanStep = new Step(secondStep.id(), "orphan", version);
-
-        when(repository.list(eq(Step.class))).thenReturn(Stream.of(firstStep, secondStep, orphanStep));
-        when(repository.list(eq(PersistentStep.class)))
-                .thenReturn(Stream.of(firstStep, secondStep, orphanStep).map(s -> {
-                    final PersistentStep persistentStep = new PersistentStep();
-                    persistentStep.setId(s.id());
-                    persistentStep.setContent(s.getContent());
-                    return persistentStep;
-                }));
-
-        final Preparation preparation = new Preparation("#123", "1", secondStep.id(), version);
-        preparation.setSteps(Arrays.asList(secondStep, firstStep));
-        when(repository.list(eq(Preparation.class))).thenReturn(Stream.of(preparation));
+        final PersistentStep firstStep = step("first", Step.ROOT_STEP.id(), "content-1");
+        final PersistentStep secondStep = step("second", firstStep.id(), "content-2");
+        final PersistentStep orphanStep = step("orphan", secondStep.id(), "content-3");
+        when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.of(firstStep, secondStep, orphanStep));
+        when(repository.list(eq(PersistentPreparation.class)))
+                .thenReturn(Stream.of(preparation("#123", firstStep, secondStep)));
 
         // when
         cleaner.execute();
 
         // then
-        verify(repository, never()).remove(eq(firstStep));
-        verify(repository, never()).remove(eq(secondStep));
-        verify(repository, times(1)).remove(refEq(Step.class), any(Expression.class));
+        assertEquals(Collections.singleton("orphan"), removedIds());
     }
 
     @Test
     public void removeOrphanSteps_should_not_remove_step_that_still_belongs_to_a_preparation() {
         // given
-        final String version = "1.2.3";
-        final Step firstStep = new Step(Step.ROOT_STEP.id(), "first", version);
-        final Step secondStep = new Step(firstStep.id(), "second", version);
-        final Step thirdStep = new Step(secondStep.id(), "third", version);
-        when(repository.list(eq(Step.class))).thenReturn(Stream.of(firstStep, secondStep, thirdStep));
-        when(repository.list(eq(PersistentStep.class)))
-                .thenReturn(Stream.of(firstStep, secondStep, thirdStep).map(s -> {
-                    final PersistentStep persistentStep = new PersistentStep();
-                    persistentStep.setId(s.id());
-                    persistentStep.setContent(s.getContent());
-                    return persistentStep;
-                }));
-
-        final Preparation firstPreparation = new Preparation("#458", "1", firstStep.id(), version);
-        firstPreparation.setSteps(Collections.singletonList(firstStep));
-        final Preparation secondPreparation = new Preparation("#5428", "2", thirdStep.id(), version);
-        secondPreparation.setSteps(Arrays.asList(thirdStep, secondStep, firstStep));
-        when(repository.list(eq(Preparation.class))).thenReturn(Stream.of(firstPreparation, secondPreparation));
+        final PersistentStep firstStep = step("first", Step.ROOT_STEP.id(), "content-1");
+        final PersistentStep secondStep = step("second", firstStep.id(), "content-2");
+        final PersistentStep thirdStep = step("third", secondStep.id(), "content-3");
+        when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.of(firstStep, secondStep, thirdStep));
+        when(repository.list(eq(PersistentPreparation.class))).thenReturn(Stream.of(preparation("#458", firstStep),
+                preparation("#5428", firstStep, secondStep, thirdStep)));
 
         // when
         cleaner.execute();
 
         // then
-        verify(repository, never()).remove(eq(firstStep));
-        verify(repository, never()).remove(eq(secondStep));
-        verify(repository, never()).remove(eq(thirdStep));
+        verify(repository, never()).remove(Matchers.<Identifiable> any());
     }
 
     @Test
     public void removeOrphanSteps_should_not_remove_root_step() {
         // given
-        when(repository.list(eq(Preparation.class))).thenReturn(Stream.empty());
         final PersistentStep rootStep = new PersistentStep();
         rootStep.setId(Step.ROOT_STEP.id());
         when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.of(rootStep));
@@ -124,172 +108,150 @@ public class PreparationCleanerTest extends BaseMaintenanceTest {
         cleaner.execute();
 
         // then
-        verify(repository, never()).remove(eq(Step.ROOT_STEP));
+        verify(repository, never()).remove(Matchers.<Identifiable> any());
     }
 
     @Test
     public void removeOrphanSteps_should_remove_orphan_step_content() {
         // given
-        final String version = "1.2.3";
-        final PreparationActions content = new PreparationActions();
-        content.setAppVersion(version);
-        when(repository.list(PreparationActions.class)).thenReturn(Stream.of(content));
-        when(repository.get(content.id(), PreparationActions.class)).thenReturn(content);
-
-        final Step step = new Step(Step.ROOT_STEP.id(), content.id(), version);
-        when(repository.list(eq(Step.class))).thenReturn(Stream.of(step));
-        when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.of(step).map(s -> {
-            final PersistentStep persistentStep = new PersistentStep();
-            persistentStep.setId(s.id());
-            persistentStep.setContent(s.getContent());
-            return persistentStep;
-        }));
-
-        when(repository.list(eq(Preparation.class))).thenReturn(Stream.empty());
+        final PersistentStep step = step("step", Step.ROOT_STEP.id(), "content");
+        when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.of(step));
+        when(repository.list(eq(PersistentPreparationActions.class))).thenReturn(Stream.of(content("content", null)));
 
         // when
         cleaner.execute();
 
         // then
-        verify(repository, times(1)).remove(refEq(Step.class), any(Expression.class));
+        assertEquals(new HashSet<>(Arrays.asList("step", "content")), removedIds());
     }
 
     @Test
-    public void shouldNotRemovePreparationActions_sharedByMultiplePreparation() throws Exception {
+    public void shouldNotRemovePreparationActions_sharedByMultiplePreparation() {
         // given
-        final String version = "1.2.3";
-        final PreparationActions content = new PreparationActions();
-        List<Action> actions = new ArrayList<>();
-        content.append(actions);
-        content.setAppVersion(version);
-        when(repository.list(PreparationActions.class)).thenReturn(Stream.of(content));
-        when(repository.get(content.id(), PreparationActions.class)).thenReturn(content);
-
-        // 2 preparations, with each, one step that shares the same action
-        final Step stepFirstPreparation = new Step(Step.ROOT_STEP.getId(), content.getId(), version);
-        final Step stepSecondPreparation = new Step(Step.ROOT_STEP.getId(), content.getId(), version);
-
-        // add the steps to the repository
-        when(repository.exist(eq(PersistentStep.class), eq(TqlBuilder.eq("contentId", content.id())))).thenReturn(true);
-
-        when(repository.list(Step.class)).thenReturn(Stream.of(stepFirstPreparation, stepSecondPreparation));
+        final PersistentStep stepFirstPreparation = step("step-1", Step.ROOT_STEP.id(), "content");
+        final PersistentStep stepSecondPreparation = step("step-2", Step.ROOT_STEP.id(), "content");
         when(repository.list(eq(PersistentStep.class)))
-                .thenReturn(Stream.of(stepFirstPreparation, stepSecondPreparation).map(s -> {
-                    final PersistentStep persistentStep = new PersistentStep();
-                    persistentStep.setId(s.id());
-                    persistentStep.setContent(s.getContent());
-                    return persistentStep;
-                }));
+                .thenReturn(Stream.of(stepFirstPreparation, stepSecondPreparation));
+        when(repository.list(eq(PersistentPreparationActions.class))).thenReturn(Stream.of(content("content", null)));
+        // first preparation was removed
+        when(repository.list(eq(PersistentPreparation.class)))
+                .thenReturn(Stream.of(preparation("2", stepSecondPreparation)));
+
+        // when
+        cleaner.execute();
 
-        Preparation firstPreparation = new Preparation("1", null, stepFirstPreparation.getId(), version);
-        firstPreparation.setSteps(Collections.singletonList(stepFirstPreparation));
-        Preparation secondPreparation = new Preparation("2", null, stepSecondPreparation.getId(), version);
-        secondPreparation.setSteps(Collections.singletonList(stepSecondPreparation));
+        // then
+        assertEquals(Collections.singleton("step-1"), removedIds());
+    }
 
-        // add the preparations to the repository
-        when(repository.list(Preparation.class)).thenReturn(Stream.of(firstPreparation, secondPreparation));
+    @Test
+    public void shouldNotRemoveParentPreparationActions_ofUsedDelta() {
+        // given
+        final PersistentStep firstStep = step("first", Step.ROOT_STEP.id(), "content-1");
+        final PersistentStep secondStep = step("second", firstStep.id(), "content-2");
+        when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.of(firstStep, secondStep));
+        when(repository.list(eq(PersistentPreparationActions.class)))
+                .thenReturn(Stream.of(content("content-1", null), content("content-2", "content-1")));
+        // preparation was reverted to its second step only (first step is no longer used)
+        final PersistentPreparation preparation = preparation("1", secondStep);
+        when(repository.list(eq(PersistentPreparation.class))).thenReturn(Stream.of(preparation));
 
         // when
         cleaner.execute();
 
         // then
-        verify(repository, never()).remove(eq(content));
+        assertEquals(Collections.singleton("first"), removedIds());
     }
 
     @Test
-    public void shouldNotRemovePreparationActions_ownedByOnePreparation() throws Exception {
-
+    public void shouldRemovePreparationActions_noPreparation() {
         // given
-        final String version = "1.2.3";
-        final PreparationActions content = new PreparationActions();
-        List<Action> actions = new ArrayList<>();
-        content.append(actions);
-        content.setAppVersion(version);
-        when(repository.list(PreparationActions.class)).thenReturn(Stream.of(content));
-        when(repository.get(content.id(), PreparationActions.class)).thenReturn(content);
-
-        // 2 preparations, with each, one step that shares the same action
-        final Step stepFirstPreparation = new Step(Step.ROOT_STEP.getId(), content.getId(), version);
-        final Step stepSecondPreparation = new Step(Step.ROOT_STEP.getId(), content.getId(), version);
-
-        // add the steps to the repository
-        when(repository.list(Step.class)).thenReturn(Stream.of(stepFirstPreparation, stepSecondPreparation));
+        final PersistentStep stepFirstPreparation = step("step-1", Step.ROOT_STEP.id(), "content");
+        final PersistentStep stepSecondPreparation = step("step-2", Step.ROOT_STEP.id(), "content");
         when(repository.list(eq(PersistentStep.class)))
-                .thenReturn(Stream.of(stepFirstPreparation, stepSecondPreparation).map(s -> {
-                    final PersistentStep persistentStep = new PersistentStep();
-                    persistentStep.setId(s.id());
-                    persistentStep.setContent(s.getContent());
-                    return persistentStep;
-                }));
-
-        Preparation firstPreparation = new Preparation("1", null, stepFirstPreparation.getId(), version);
-        firstPreparation.setSteps(Collections.singletonList(stepFirstPreparation));
-        Preparation secondPreparation = new Preparation("2", null, stepSecondPreparation.getId(), version);
-        secondPreparation.setSteps(Collections.singletonList(stepSecondPreparation));
-
-        // add the preparations to the repository
-        when(repository.exist(eq(PersistentStep.class), any())).thenReturn(true);
-        when(repository.list(Preparation.class)).thenReturn(Stream.of(secondPreparation)); // Remove first preparation
+                .thenReturn(Stream.of(stepFirstPreparation, stepSecondPreparation));
+        when(repository.list(eq(PersistentPreparationActions.class))).thenReturn(Stream.of(content("content", null)));
 
         // when
         cleaner.execute();
 
         // then
-        // when the first preparation is removed, the shared action is not deleted
-        verify(repository, never()).remove(eq(content));
+        assertEquals(new HashSet<>(Arrays.asList("step-1", "step-2", "content")), removedIds());
     }
 
     @Test
-    public void shouldRemovePreparationActions_noPreparation() throws Exception {
+    public void shouldNotWriteMarkersInRepository() {
+        // given
+        final PersistentStep step = step("step", Step.ROOT_STEP.id(), "content");
+        when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.of(step));
+        when(repository.list(eq(PersistentPreparation.class))).thenReturn(Stream.of(preparation("1", step)));
 
+        // when
+        cleaner.execute();
+
+        // then
+        verify(repository, never()).add(Matchers.<Identifiable> any());
+        verify(repository, never()).add(Matchers.<Collection<Identifiable>> any());
+    }
+
+    @Test
+    public void shouldNotRemoveStepsWhenPreparationModifiedDuringCleanUp() {
         // given
-        final String version = "1.2.3";
-        final PreparationActions content = new PreparationActions();
-        List<Action> actions = new ArrayList<>();
-        content.append(actions);
-        content.setAppVersion(version);
-        when(repository.list(PreparationActions.class)).thenReturn(Stream.of(content));
-        when(repository.get(content.id(), PreparationActions.class)).thenReturn(content);
-
-        // 2 preparations, with each, one step that shares the same action
-        final Step stepFirstPreparation = new Step(Step.ROOT_STEP.getId(), content.getId(), version);
-        final Step stepSecondPreparation = new Step(Step.ROOT_STEP.getId(), content.getId(), version);
-
-        // add the steps to the repository
-        when(repository.list(Step.class)).thenReturn(Stream.of(stepFirstPreparation, stepSecondPreparation));
-        when(repository.list(eq(PersistentStep.class)))
-                .thenReturn(Stream.of(stepFirstPreparation, stepSecondPreparation).map(s -> {
-                    final PersistentStep persistentStep = new PersistentStep();
-                    persistentStep.setId(s.id());
-                    persistentStep.setContent(s.getContent());
-                    return persistentStep;
-                }));
-
-        Preparation firstPreparation = new Preparation("1", null, stepFirstPreparation.getId(), version);
-        firstPreparation.setSteps(Collections.singletonList(stepFirstPreparation));
-        Preparation secondPreparation = new Preparation("2", null, stepSecondPreparation.getId(), version);
-        secondPreparation.setSteps(Collections.singletonList(stepSecondPreparation));
+        final PersistentStep orphanStep = step("orphan", Step.ROOT_STEP.id(), "content");
+        when(repository.list(eq(PersistentStep.class))).thenReturn(Stream.of(orphanStep));
+        when(repository.list(eq(PersistentPreparationActions.class))).thenReturn(Stream.of(content("content", null)));
+        when(repository.exist(eq(PersistentPreparation.class), any())).thenReturn(true);
 
         // when
-        when(repository.exist(eq(PersistentStep.class), eq(TqlBuilder.eq("contentId", content.id()))))
-                .thenReturn(false);
-        when(repository.list(Preparation.class)).thenReturn(Stream.empty()); // Remove first and second preparations
         cleaner.execute();
 
         // then
-        verify(repository, times(1)).remove(refEq(Step.class), any(Expression.class));
+        verify(repository, never()).remove(Matchers.<Identifiable> any());
     }
 
     @Test
     public void shouldInterruptWhenMarkerAsksForInterruption() {
         // given
         cleaner.setMarkers(Collections.singletonList(marker));
-        when(marker.mark(any(), any(UUID.class))).thenReturn(StepMarker.Result.INTERRUPTED);
+        when(marker.mark(any(), any())).thenReturn(StepMarker.Result.INTERRUPTED);
 
         // when
         cleaner.execute();
 
         // then
-        verify(repository, never()).remove(refEq(Step.class), any(Expression.class));
+        verify(repository, never()).remove(Matchers.<Identifiable> any());
+    }
+
+    private Set<String> removedIds() {
+        final ArgumentCaptor<Identifiable> removed = ArgumentCaptor.forClass(Identifiable.class);
+        verify(repository, atLeast(0)).remove(removed.capture());
+        return removed.getAllValues().stream().map(Identifiable::id).collect(toSet());
+    }
+
+    private static PersistentStep step(String id, String parentId, String contentId) {
+        final PersistentStep step = new PersistentStep();
+        step.setId(id);
+        step.setParentId(parentId);
+        step.setContent(contentId);
+        return step;
+    }
+
+    private static PersistentPreparationActions content(String id, String parentId) {
+        final PersistentPreparationActions content = new PersistentPreparationActions();
+        content.setId(id);
+        content.setParentId(parentId);
+        return content;
+    }
+
+    private static PersistentPreparation preparation(String id, PersistentStep... steps) {
+        final PersistentPreparation preparation = new PersistentPreparation();
+        preparation.setId(id);
+        preparation.setLastModificationDate(0);
+        final List<String> stepIds = new ArrayList<>();
+        stepIds.add(Step.ROOT_STEP.id());
+        Arrays.stream(steps).map(PersistentStep::id).forEach(stepIds::add);
+        preparation.setSteps(stepIds);
+        preparation.setHeadId(stepIds.get(stepIds.size() - 1));
+        return preparation;
     }
 }
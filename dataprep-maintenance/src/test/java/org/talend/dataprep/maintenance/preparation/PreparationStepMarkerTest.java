@@ -1,86 +1,91 @@
 package org.talend.dataprep.maintenance.preparation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.UUID;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Matchers;
 import org.mockito.runners.MockitoJUnitRunner;
-import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.Identifiable;
 import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 
 @RunWith(MockitoJUnitRunner.class)
 public class PreparationStepMarkerTest {
 
     @Test
-    public void shouldMarkUnusedSteps() {
+    public void shouldMarkUsedSteps() {
         // Given
-        final UUID stepMarker = UUID.randomUUID();
         final StepMarker marker = new PreparationStepMarker();
         final PreparationRepository repository = mock(PreparationRepository.class);
-        final Preparation preparation = new Preparation();
-
-        final Step step = mock(Step.class);
-        when(step.id()).thenReturn("1234");
-        when(step.getParent()).thenReturn(Step.ROOT_STEP.id());
-        when(repository.get(eq("1234"), eq(Step.class))).thenReturn(step);
-
-        preparation.setSteps(Arrays.asList(Step.ROOT_STEP, step));
-        when(repository.list(eq(Preparation.class))).thenReturn(Stream.of(preparation));
+        final PersistentPreparation preparation = new PersistentPreparation();
+        preparation.setSteps(Arrays.asList(Step.ROOT_STEP.id(), "1234"));
+        preparation.setLastModificationDate(0);
+        when(repository.list(eq(PersistentPreparation.class))).thenReturn(Stream.of(preparation));
+        final Set<String> usedSteps = new HashSet<>();
 
         // When
-        final StepMarker.Result result = marker.mark(repository, stepMarker);
+        final StepMarker.Result result = marker.mark(repository, usedSteps);
 
         // Then
         assertEquals(StepMarker.Result.COMPLETED, result);
-        verify(repository, times(1)).add(eq(Collections.singletonList(step)));
-        verify(step, times(1)).setMarker(eq(stepMarker.toString()));
+        assertEquals(new HashSet<>(Arrays.asList(Step.ROOT_STEP.id(), "1234")), usedSteps);
+        verify(repository, never()).add(Matchers.<Identifiable> any());
     }
 
     @Test
-    public void shouldDisableCleanUpAtStart() {
+    public void shouldMarkUsedStepsOfPreparationWithoutStepList() {
         // Given
-        final UUID stepMarker = UUID.randomUUID();
         final StepMarker marker = new PreparationStepMarker();
         final PreparationRepository repository = mock(PreparationRepository.class);
-        when(repository.exist(eq(Preparation.class), any())).thenReturn(true);
+        final PersistentPreparation preparation = new PersistentPreparation();
+        preparation.setSteps(null);
+        preparation.setHeadId("1234");
+        preparation.setLastModificationDate(0);
+        when(repository.list(eq(PersistentPreparation.class))).thenReturn(Stream.of(preparation));
+        when(repository.getStepIds(eq("1234"), eq(Step.ROOT_STEP.id())))
+                .thenReturn(Arrays.asList(Step.ROOT_STEP.id(), "1234"));
+        final Set<String> usedSteps = new HashSet<>();
 
         // When
-        final StepMarker.Result result = marker.mark(repository, stepMarker);
+        final StepMarker.Result result = marker.mark(repository, usedSteps);
 
         // Then
-        assertEquals(StepMarker.Result.INTERRUPTED, result);
+        assertEquals(StepMarker.Result.COMPLETED, result);
+        assertTrue(usedSteps.contains("1234"));
     }
 
     @Test
-    public void shouldDisableCleanUpDuringProcess() {
+    public void shouldDisableCleanUpOnRecentlyModifiedPreparation() {
         // Given
-        final UUID stepMarker = UUID.randomUUID();
         final StepMarker marker = new PreparationStepMarker();
         final PreparationRepository repository = mock(PreparationRepository.class);
-        when(repository.exist(eq(Preparation.class), any())).thenReturn(false, true);
-        final Preparation preparation = new Preparation();
-        when(repository.list(eq(Preparation.class))).thenReturn(Stream.of(preparation));
+        final PersistentPreparation oldPreparation = new PersistentPreparation();
+        oldPreparation.setSteps(Collections.singletonList("1234"));
+        oldPreparation.setLastModificationDate(0);
+        final PersistentPreparation recentPreparation = new PersistentPreparation();
+        recentPreparation.setLastModificationDate(System.currentTimeMillis() + 60000);
+        when(repository.list(eq(PersistentPreparation.class))).thenReturn(Stream.of(oldPreparation, recentPreparation));
 
         // When
-        final StepMarker.Result result = marker.mark(repository, stepMarker);
+        final StepMarker.Result result = marker.mark(repository, new HashSet<>());
 
         // Then
         assertEquals(StepMarker.Result.INTERRUPTED, result);
-        verify(repository, never()).add(Matchers.<Collection<Step>> any());
+        verify(repository, never()).getStepIds(any(), any());
     }
-}
\ No newline at end of file
+}
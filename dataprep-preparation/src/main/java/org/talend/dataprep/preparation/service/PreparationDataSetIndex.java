@@ -0,0 +1,313 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.service;
+
+import static java.util.Collections.emptySet;
+import static org.talend.tql.api.TqlBuilder.eq;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PersistentStep;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.security.Security;
+import org.talend.dataprep.transformation.actions.datablending.Lookup;
+
+/**
+ * Reverse index of the datasets used by the preparations: dataset id → ids of the preparations using it as base dataset
+ * or as lookup dataset in their head version.
+ *
+ * The index of a tenant is built on first use (outside of any lock shared with other tenants) and then kept up to date
+ * by {@link PreparationService} each time a preparation head or dataset changes, including while the index is being
+ * built. As preparations may also be written elsewhere (other nodes, upgrade tasks...):
+ * <ul>
+ * <li>preparations found in the index are checked against the repository (removed preparations are not reported),</li>
+ * <li>a dataset not found in the index is checked against the repository (base dataset) and, if the index is older
+ * than <code>preparation.dataset.index.refresh</code> seconds, against a rebuilt index (lookup datasets). A single
+ * caller rebuilds the index, which then replaces the previous one.</li>
+ * </ul>
+ */
+@Component
+public class PreparationDataSetIndex {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PreparationDataSetIndex.class);
+
+    /** Tenant id → index (possibly being loaded). */
+    private final Map<String, Usages> tenants = new ConcurrentHashMap<>();
+
+    @Autowired
+    private PreparationRepository preparationRepository;
+
+    @Autowired
+    private Security security;
+
+    /** Age (in seconds) after which the index of a tenant is rebuilt when a dataset is not found in it. */
+    @Value("${preparation.dataset.index.refresh:300}")
+    private long refreshDelay;
+
+    /**
+     * @param dataSetId a dataset id.
+     * @return <code>true</code> if at least one preparation uses the dataset as base dataset or as lookup dataset in its
+     * head version.
+     */
+    public boolean isUsed(String dataSetId) {
+        final String tenantId = security.getTenantId();
+        final Usages usages = getUsages(tenantId);
+        if (isUsed(usages, dataSetId)) {
+            return true;
+        }
+        // Not in index: the preparation may have been written elsewhere
+        if (preparationRepository.exist(PersistentPreparation.class, eq("dataSetId", dataSetId))) {
+            return true;
+        }
+        if (System.currentTimeMillis() - usages.creationDate > refreshDelay * 1000) {
+            final Usages refreshed = usages.startRefresh();
+            if (refreshed != null) {
+                LOGGER.debug("Refreshing dataset usages of tenant {}.", tenantId);
+                load(tenantId, refreshed, () -> usages.cancelRefresh(refreshed));
+                tenants.replace(tenantId, usages, refreshed);
+                return isUsed(refreshed, dataSetId);
+            }
+        }
+        return false;
+    }
+
+    private boolean isUsed(Usages usages, String dataSetId) {
+        for (String preparationId : new ArrayList<>(usages.preparations.getOrDefault(dataSetId, emptySet()))) {
+            if (preparationRepository.get(preparationId, PersistentPreparation.class) != null) {
+                return true;
+            }
+            usages.remove(preparationId);
+        }
+        return false;
+    }
+
+    /**
+     * Updates the datasets used by a preparation (after its creation or a change of its head or dataset).
+     *
+     * @param preparation the updated preparation.
+     */
+    public void update(PersistentPreparation preparation) {
+        final Usages usages = tenants.get(security.getTenantId());
+        if (usages != null) {
+            usages.update(preparation.id(), getDataSets(preparation));
+        }
+    }
+
+    /**
+     * Removes a deleted preparation from the index.
+     *
+     * @param preparationId the deleted preparation id.
+     */
+    public void remove(String preparationId) {
+        final Usages usages = tenants.get(security.getTenantId());
+        if (usages != null) {
+            usages.remove(preparationId);
+        }
+    }
+
+    private Usages getUsages(String tenantId) {
+        while (true) {
+            final Usages usages = tenants.computeIfAbsent(tenantId, id -> new Usages());
+            if (usages.startLoad()) {
+                load(tenantId, usages, () -> tenants.remove(tenantId, usages));
+                return usages;
+            }
+            if (usages.awaitLoad()) {
+                return usages;
+            }
+            // load failed in another thread, try again
+        }
+    }
+
+    /**
+     * Loads all the dataset usages of a tenant in an index (the index may receive updates meanwhile).
+     *
+     * @param tenantId the tenant id.
+     * @param usages the index to load.
+     * @param onFailure what to do if the index cannot be loaded.
+     */
+    private void load(String tenantId, Usages usages, Runnable onFailure) {
+        boolean loaded = false;
+        try {
+            preparationRepository
+                    .list(PersistentPreparation.class) //
+                    .forEach(preparation -> usages.load(preparation.id(), getDataSets(preparation)));
+            loaded = true;
+            LOGGER.debug("Dataset usages of tenant {} loaded ({} datasets).", tenantId, usages.preparations.size());
+        } finally {
+            if (!loaded) {
+                onFailure.run();
+            }
+            usages.endLoad(loaded);
+        }
+    }
+
+    /**
+     * @param preparation a preparation.
+     * @return the ids of the datasets used by the preparation (base dataset and lookup datasets in head version).
+     */
+    private Set<String> getDataSets(PersistentPreparation preparation) {
+        final Set<String> dataSets = new HashSet<>();
+        if (StringUtils.isNotEmpty(preparation.getDataSetId())) {
+            dataSets.add(preparation.getDataSetId());
+        }
+        final PersistentStep head = preparationRepository.get(preparation.getHeadId(), PersistentStep.class);
+        if (head == null) {
+            return dataSets;
+        }
+        final PreparationActions headActions = preparationRepository.get(head.getContent(), PreparationActions.class);
+        if (headActions != null) {
+            final String dataSetParameter = Lookup.Parameters.LOOKUP_DS_ID.getKey();
+            headActions
+                    .getActions()
+                    .stream() //
+                    .filter(Objects::nonNull) //
+                    .filter(action -> Objects.equals(action.getName(), Lookup.LOOKUP_ACTION_NAME)) //
+                    .map(action -> action.getParameters().get(dataSetParameter)) //
+                    .filter(Objects::nonNull) //
+                    .forEach(dataSets::add);
+        }
+        return dataSets;
+    }
+
+    /**
+     * The dataset usages of a tenant.
+     */
+    private static class Usages {
+
+        /** When the usages were loaded from the repository. */
+        private final long creationDate = System.currentTimeMillis();
+
+        /** Dataset id → preparation ids. */
+        private final Map<String, Set<String>> preparations = new ConcurrentHashMap<>();
+
+        /** Preparation id → dataset ids (to clean up the index on update or remove). */
+        private final Map<String, Set<String>> dataSets = new ConcurrentHashMap<>();
+
+        /** Set once a thread started to load these usages. */
+        private final AtomicBoolean loadStarted = new AtomicBoolean();
+
+        /** Released once these usages are loaded (or failed to load). */
+        private final CountDownLatch loadEnd = new CountDownLatch(1);
+
+        private volatile boolean loaded;
+
+        /** Preparations updated or removed while loading (the loaded version may be outdated), null once loaded. */
+        private Set<String> changedWhileLoading = new HashSet<>();
+
+        /** The usages being loaded to replace these ones (they receive the same updates). */
+        private Usages refreshed;
+
+        private boolean startLoad() {
+            return loadStarted.compareAndSet(false, true);
+        }
+
+        /**
+         * @return <code>true</code> if usages are loaded, <code>false</code> if load failed.
+         */
+        private boolean awaitLoad() {
+            try {
+                loadEnd.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for dataset usages.", e);
+            }
+            return loaded;
+        }
+
+        private synchronized void load(String preparationId, Set<String> usedDataSets) {
+            if (!changedWhileLoading.contains(preparationId)) {
+                doUpdate(preparationId, usedDataSets);
+            }
+        }
+
+        private synchronized void endLoad(boolean success) {
+            changedWhileLoading = null;
+            loaded = success;
+            loadEnd.countDown();
+        }
+
+        /**
+         * @return new usages to load (and that receive updates made to these ones from now on) or <code>null</code> if
+         * a refresh is already in progress.
+         */
+        private synchronized Usages startRefresh() {
+            if (refreshed != null) {
+                return null;
+            }
+            refreshed = new Usages();
+            refreshed.startLoad();
+            return refreshed;
+        }
+
+        private synchronized void cancelRefresh(Usages usages) {
+            if (refreshed == usages) {
+                refreshed = null;
+            }
+        }
+
+        private synchronized void update(String preparationId, Set<String> usedDataSets) {
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(preparationId);
+            }
+            doUpdate(preparationId, usedDataSets);
+            if (refreshed != null) {
+                refreshed.update(preparationId, usedDataSets);
+            }
+        }
+
+        private synchronized void remove(String preparationId) {
+            if (changedWhileLoading != null) {
+                changedWhileLoading.add(preparationId);
+            }
+            doRemove(preparationId);
+            if (refreshed != null) {
+                refreshed.remove(preparationId);
+            }
+        }
+
+        private void doUpdate(String preparationId, Set<String> usedDataSets) {
+            doRemove(preparationId);
+            dataSets.put(preparationId, usedDataSets);
+            usedDataSets.forEach(dataSetId -> preparations
+                    .computeIfAbsent(dataSetId, id -> ConcurrentHashMap.newKeySet())
+                    .add(preparationId));
+        }
+
+        private void doRemove(String preparationId) {
+            final Set<String> previous = dataSets.remove(preparationId);
+            if (previous != null) {
+                previous.forEach(dataSetId -> preparations.computeIfPresent(dataSetId, (id, preparationIds) -> {
+                    preparationIds.remove(preparationId);
+                    return preparationIds.isEmpty() ? null : preparationIds;
+                }));
+            }
+        }
+    }
+}
@@ -92,13 +92,13 @@ import org.talend.dataprep.folder.store.FolderRepository;
 import org.talend.dataprep.lock.store.LockedResourceRepository;
 import org.talend.dataprep.preparation.configuration.SharedInjection;
 import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
 import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.security.Security;
 import org.talend.dataprep.transformation.actions.common.ActionFactory;
 import org.talend.dataprep.transformation.actions.common.ImplicitParameters;
 import org.talend.dataprep.transformation.actions.common.RunnableAction;
-import org.talend.dataprep.transformation.actions.datablending.Lookup;
 import org.talend.dataprep.transformation.api.action.validation.ActionMetadataValidation;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.util.SortAndOrderHelper.Order;
@@ -194,6 +194,9 @@ public class PreparationService {
     @Autowired
     private DataSetNameInjection dataSetNameInjection;
 
+    @Autowired
+    private PreparationDataSetIndex preparationDataSetIndex;
+
     /**
      * For a given action form, it will disallow edition on all column creation check. It is a safety specified in
      * TDP-4531 to
@@ -237,6 +240,7 @@ public class PreparationService {
         }
 
         preparationRepository.add(toCreate);
+        preparationDataSetIndex.update(toCreate);
 
         final String id = toCreate.id();
 
@@ -469,6 +473,7 @@ public class PreparationService {
 
         // Save preparation to repository
         preparationRepository.add(copy);
+        preparationDataSetIndex.update(copy);
         String newId = copy.getId();
 
         // add the preparation into the folder
@@ -592,6 +597,7 @@ public class PreparationService {
         final PersistentPreparation preparationToDelete = lockPreparation(preparationId);
         try {
             preparationRepository.remove(preparationToDelete);
+            preparationDataSetIndex.remove(preparationToDelete.id());
 
             // delete the associated folder entries
             try (final Stream<FolderEntry> entries = folderRepository.findFolderEntries(preparationId, PREPARATION)) {
@@ -624,10 +630,12 @@ public class PreparationService {
 
             if (!updated.id().equals(preparationId)) {
                 preparationRepository.remove(previousPreparation);
+                preparationDataSetIndex.remove(previousPreparation.id());
             }
             updated.setAppVersion(versionService.version().getVersionId());
             updated.setLastModificationDate(System.currentTimeMillis());
             preparationRepository.add(updated);
+            preparationDataSetIndex.update(updated);
 
             LOGGER.info("Preparation {} updated -> {}", preparationId, updated);
             auditService.auditPreparationRename(preparationId, updated.getName());
@@ -671,6 +679,7 @@ public class PreparationService {
 
         preparationToUpdate.setLastModificationDate(new Date().getTime());
         preparationRepository.add(preparationToUpdate);
+        preparationDataSetIndex.update(preparationToUpdate);
 
         LOGGER.info("clone steps from {} to {} done --> {}", from, id, preparationToUpdate);
         auditService.auditPreparationCopySteps(from, referencePreparation.getName(), id, preparationToUpdate.getName());
@@ -729,15 +738,35 @@ public class PreparationService {
     }
 
     private PreparationDetailsDTO injectActionsForms(PreparationDetailsDTO details) {
+        // Fetch at once the steps before each action and their row metadata
+        final List<String> stepIds = details.getSteps();
+        final List<String> stepsBeforeActions =
+                stepIds.subList(0, Math.min(stepIds.size(), details.getActions().size()));
+        final Map<String, Step> steps = preparationRepository
+                .getAll(stepsBeforeActions, Step.class) //
+                .stream() //
+                .collect(toMap(Step::id, Function.identity(), (step1, step2) -> step1));
+        final List<String> rowMetadataIds = steps
+                .values()
+                .stream() //
+                .map(Step::getRowMetadata) //
+                .filter(Objects::nonNull) //
+                .distinct() //
+                .collect(toList());
+        final Map<String, StepRowMetadata> rowMetadata = preparationRepository
+                .getAll(rowMetadataIds, StepRowMetadata.class) //
+                .stream() //
+                .collect(toMap(StepRowMetadata::id, Function.identity(), (metadata1, metadata2) -> metadata1));
+
         // Append actions and action forms
-        Iterator<String> stepsIterator = details.getSteps().iterator();
+        Iterator<String> stepsIterator = stepIds.iterator();
         final AtomicBoolean allowDistributedRun = new AtomicBoolean();
         final List<ActionForm> metadata = details
                 .getActions()
                 .stream()
                 .map(action -> {
-                    String stepBeforeAction = stepsIterator.next();
-                    return adaptActionDefinition(details, action, stepBeforeAction);
+                    final Step stepBeforeAction = steps.get(stepsIterator.next());
+                    return adaptActionDefinition(details, action, stepBeforeAction, rowMetadata);
                 })
                 .peek(a -> {
                     if (allowDistributedRun.get()) {
@@ -761,10 +790,8 @@ public class PreparationService {
      * list in playground.
      */
     // Adapt to column as some actions won't have parameters if not adapted first (sigh*)
-    private ActionDefinition adaptActionDefinition(PreparationDetailsDTO details, Action action,
-            String stepBeforeAction) {
-        actionRegistry.get(action.getName());
-        Step step = preparationRepository.get(stepBeforeAction, Step.class);
+    private ActionDefinition adaptActionDefinition(PreparationDetailsDTO details, Action action, Step step,
+            Map<String, StepRowMetadata> rowMetadata) {
         ActionDefinition actionDefinition = actionRegistry.get(action.getName());
 
         // first: fetches the column id parameter int the applied action
@@ -775,10 +802,12 @@ public class PreparationService {
             if (Step.ROOT_STEP.equals(step)) {
                 // If the parent step is root step we need to fetch row metadata in dataset
                 dataSetRowMetadata = datasetClient.getDataSetRowMetadata(details.getDataSetId());
+            } else if (step == null) {
+                dataSetRowMetadata = null;
             } else {
                 // if not, the step metadata should be cached in the repository
                 String rowMetadataId = step.getRowMetadata();
-                StepRowMetadata stepRowMetadata = preparationRepository.get(rowMetadataId, StepRowMetadata.class);
+                StepRowMetadata stepRowMetadata = rowMetadataId == null ? null : rowMetadata.get(rowMetadataId);
                 if (stepRowMetadata == null) {
                     dataSetRowMetadata = null;
                 } else {
@@ -1037,26 +1066,7 @@ public class PreparationService {
     }
 
     public boolean isDatasetUsedInPreparation(final String datasetId) {
-        final boolean preparationUseDataSet = isDatasetBaseOfPreparation(datasetId);
-        final boolean dataSetUsedInLookup = isDatasetUsedToLookupInPreparationHead(datasetId);
-        return preparationUseDataSet || dataSetUsedInLookup;
-    }
-
-    private boolean isDatasetBaseOfPreparation(String datasetId) {
-        return preparationRepository.exist(Preparation.class, eq(DATASET_ID, datasetId));
-    }
-
-    /**
-     * Check if the preparation uses this dataset in its head version.
-     */
-    private boolean isDatasetUsedToLookupInPreparationHead(String datasetId) {
-        final String datasetParamName = Lookup.Parameters.LOOKUP_DS_ID.getKey();
-        return preparationRepository //
-                .list(Preparation.class) //
-                .flatMap(p -> getVersionedAction(p.getId(), HEAD).stream()) //
-                .filter(Objects::nonNull) //
-                .filter(a -> Objects.equals(a.getName(), Lookup.LOOKUP_ACTION_NAME)) //
-                .anyMatch(a -> Objects.equals(datasetId, a.getParameters().get(datasetParamName)));
+        return preparationDataSetIndex.isUsed(datasetId);
     }
 
     /**
@@ -1381,6 +1391,7 @@ public class PreparationService {
         preparation.setLastModificationDate(System.currentTimeMillis());
         preparation.setSteps(preparationUtils.listStepsIds(head.id(), preparationRepository));
         preparationRepository.add(preparation);
+        preparationDataSetIndex.update(preparation);
     }
 
     /**
@@ -1424,12 +1435,15 @@ public class PreparationService {
 
         newActions.addAll(appendStep.getActions());
         newContent.setActions(newActions);
+        // Without new action, the new step shares the head content (a delta would be its own parent)
+        final boolean hasNewContent =
+                !appendStep.getActions().isEmpty() && !StringUtils.equals(newContent.id(), head.getContent());
 
         // Create new step from new content
         final PersistentStep newHead = new PersistentStep();
         newHead.setParentId(headId);
         newHead.setId(UUID.randomUUID().toString());
-        newHead.setContent(newContent.id());
+        newHead.setContent(hasNewContent ? newContent.id() : head.getContent());
         newHead.setDiff(appendStep.getDiff());
         preparation.getSteps().add(newHead.id());
 
@@ -1437,9 +1451,19 @@ public class PreparationService {
         preparation.setHeadId(newHead.id());
         preparation.setLastModificationDate(System.currentTimeMillis());
 
-        preparationRepository.add(newContent);
+        // Only store the appended actions (the head content holds the previous ones)
+        if (hasNewContent) {
+            final PersistentPreparationActions newContentDelta = new PersistentPreparationActions();
+            newContentDelta.setId(newContent.id());
+            newContentDelta.setParentId(head.getContent());
+            newContentDelta.setActions(new ArrayList<>(appendStep.getActions()));
+            newContentDelta.setAppVersion(versionService.version().getVersionId());
+            preparationRepository.add(newContentDelta);
+        }
+
         preparationRepository.add(newHead);
         preparationRepository.add(preparation);
+        preparationDataSetIndex.update(preparation);
     }
 
     /**
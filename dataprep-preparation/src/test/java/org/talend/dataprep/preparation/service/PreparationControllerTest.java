@@ -1838,6 +1838,37 @@ public class PreparationControllerTest extends BasePreparationTest {
         assertThat(response.getStatusCode(), is(204));
     }
 
+    @Test
+    public void shouldReturnHTTP404WhenPreparationOnDatasetIsDeleted() throws Exception {
+        // given
+        final String datasetId = "3214a6748bc4f9674c85";
+        final String preparationId = createPreparation(datasetId, "My preparation");
+        assertThat(when().head("/preparations/use/dataset/{id}", datasetId).getStatusCode(), is(204));
+
+        // when
+        when().delete("/preparations/{id}", preparationId).then().statusCode(200);
+        final Response response = when().head("/preparations/use/dataset/{id}", datasetId);
+
+        // then
+        assertThat(response.getStatusCode(), is(404));
+    }
+
+    @Test
+    public void shouldReturnHTTP204WhenPreparationOnDatasetIsWrittenInRepository() throws Exception {
+        // given (dataset usages loaded before the preparation is stored without the service)
+        final String datasetId = "9863a6748bc4f9674c86";
+        assertThat(when().head("/preparations/use/dataset/{id}", datasetId).getStatusCode(), is(404));
+        final Preparation preparation =
+                new Preparation("#9863542", datasetId, Step.ROOT_STEP.id(), versionService.version().getVersionId());
+        repository.add(preparation);
+
+        // when
+        final Response response = when().head("/preparations/use/dataset/{id}", datasetId);
+
+        // then
+        assertThat(response.getStatusCode(), is(204));
+    }
+
     @Test
     @Ignore("This test is flawed, it may be corrected but this behavior is already tested through PreparationAPI.")
     // TODO: this test is not testing what it says it is testing:
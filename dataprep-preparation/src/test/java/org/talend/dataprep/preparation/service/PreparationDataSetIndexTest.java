@@ -0,0 +1,146 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.service;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.talend.dataprep.preparation.service.EntityBuilder.action;
+import static org.talend.dataprep.preparation.service.EntityBuilder.params;
+import static org.talend.dataprep.preparation.service.EntityBuilder.paramsColAction;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PersistentStep;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.security.Security;
+import org.talend.dataprep.transformation.actions.datablending.Lookup;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PreparationDataSetIndexTest {
+
+    @InjectMocks
+    private PreparationDataSetIndex index;
+
+    @Mock
+    private PreparationRepository repository;
+
+    @Mock
+    private Security security;
+
+    /** Id → stored steps and actions. */
+    private final Map<String, Object> store = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(index, "refreshDelay", 300L);
+        when(security.getTenantId()).thenReturn("tenant");
+        when(repository.get(anyString(), any(Class.class))).then(invocation -> store.get(invocation.getArguments()[0]));
+    }
+
+    @Test
+    public void shouldNotReportLookupDataSetAfterStepDelete() {
+        // given
+        final PersistentPreparation preparation = preparation("prep-1", "base", "step-2", upperCase(), lookup("lkp"));
+        when(repository.list(PersistentPreparation.class)).then(invocation -> Stream.of(preparation));
+        store.put(preparation.id(), preparation);
+        assertTrue(index.isUsed("lkp"));
+
+        // when (lookup step deleted: head moves back to a step without lookup)
+        setHead(preparation, "step-1", upperCase());
+        index.update(preparation);
+
+        // then
+        assertFalse(index.isUsed("lkp"));
+        assertTrue(index.isUsed("base"));
+        verify(repository, times(1)).list(PersistentPreparation.class);
+    }
+
+    @Test
+    public void shouldReportLookupDataSetAfterStepMove() {
+        // given
+        final PersistentPreparation preparation = preparation("prep-1", "base", "step-2", lookup("lkp"), upperCase());
+        when(repository.list(PersistentPreparation.class)).then(invocation -> Stream.of(preparation));
+        store.put(preparation.id(), preparation);
+        assertTrue(index.isUsed("lkp"));
+
+        // when (lookup step moved after upper case: history is rewritten with new steps)
+        store.clear();
+        store.put(preparation.id(), preparation);
+        setHead(preparation, "step-4", upperCase(), lookup("lkp"));
+        index.update(preparation);
+
+        // then
+        assertTrue(index.isUsed("lkp"));
+        assertFalse(index.isUsed("other"));
+        verify(repository, times(1)).list(PersistentPreparation.class);
+    }
+
+    @Test
+    public void shouldKeepUpdatesMadeWhileIndexIsBuilt() {
+        // given (lookup step added while the index reads a previous version of the preparation)
+        final PersistentPreparation previous = preparation("prep-1", "base", "step-1", upperCase());
+        final PersistentPreparation updated = preparation("prep-1", "base", "step-2", upperCase(), lookup("lkp"));
+        store.put(updated.id(), updated);
+        when(repository.list(PersistentPreparation.class))
+                .then(invocation -> Stream.of(previous).peek(p -> index.update(updated)));
+
+        // then
+        assertTrue(index.isUsed("lkp"));
+        verify(repository, times(1)).list(PersistentPreparation.class);
+    }
+
+    private PersistentPreparation preparation(String id, String dataSetId, String headId, Action... actions) {
+        final PersistentPreparation preparation = new PersistentPreparation();
+        preparation.setId(id);
+        preparation.setDataSetId(dataSetId);
+        setHead(preparation, headId, actions);
+        return preparation;
+    }
+
+    private void setHead(PersistentPreparation preparation, String headId, Action... actions) {
+        final PreparationActions content = new PreparationActions().append(asList(actions));
+        final PersistentStep head = new PersistentStep();
+        head.setId(headId);
+        head.setContent(content.id());
+        store.put(content.id(), content);
+        store.put(headId, head);
+        preparation.setHeadId(headId);
+    }
+
+    private static Action upperCase() {
+        return action("uppercase", paramsColAction("0001", "lastname"));
+    }
+
+    private static Action lookup(String dataSetId) {
+        return action(Lookup.LOOKUP_ACTION_NAME,
+                params("scope", "dataset", Lookup.Parameters.LOOKUP_DS_ID.getKey(), dataSetId));
+    }
+}
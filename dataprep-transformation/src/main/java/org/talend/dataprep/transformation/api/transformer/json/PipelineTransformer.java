@@ -18,11 +18,15 @@ import static org.talend.dataprep.transformation.api.transformer.configuration.C
 import java.util.Optional;
 import java.util.function.Function;
 
+import javax.annotation.Resource;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -78,6 +82,14 @@ public class PipelineTransformer implements Transformer {
     @Autowired
     private Optional<Tracer> tracer;
 
+    /** Size of the queue of rows to write in a dedicated thread (0 to write rows in the pipeline thread). */
+    @Value("${transformation.writer.queue-size:0}")
+    private int writerQueueSize;
+
+    /** Runs the writer tasks of pipelines that write rows in a dedicated thread. */
+    @Resource(name = "pipeline#writer#executor")
+    private TaskExecutor writerExecutor;
+
     @Override
     public ExecutableTransformer buildExecutable(DataSet input, Configuration configuration) {
 
@@ -106,7 +118,8 @@ public class PipelineTransformer implements Transformer {
                 .withFilter(configuration.getFilter()) //
                 .withLimit(configuration.getLimit()) //
                 .withFilterOut(configuration.getOutFilter()) //
-                .withOutput(() -> new WriterNode(writer, metadataWriter, metadataKey)) //
+                .withOutput(() -> new WriterNode(writer, metadataWriter, metadataKey, null, writerQueueSize,
+                        writerExecutor)) //
                 .withStatisticsAdapter(adapter) //
                 .withStepMetadataSupplier(stepRowMetadataSupplier) //
                 .withGlobalStatistics(configuration.isGlobalStatistics()) //
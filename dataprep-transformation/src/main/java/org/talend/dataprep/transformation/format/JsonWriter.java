@@ -24,6 +24,7 @@ import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -75,8 +76,12 @@ public class JsonWriter implements TransformerWriter {
     /** If receiving metadata while writing records => go to buffer and write at close. */
     private RowMetadata bufferedRowMetadata;
 
+    /** <code>true</code> to memory map the records buffer file on read. */
+    @Value("${transformation.json.buffer.memory-mapped:false}")
+    private boolean memoryMappedBuffer;
+
     /** Buffer to store records before we received the metadata. */
-    private ObjectBuffer<BufferedDataSetRow> recordsBuffer;
+    private RecordBuffer recordsBuffer;
 
     private boolean closed = false;
 
@@ -123,13 +128,7 @@ public class JsonWriter implements TransformerWriter {
     private void writeRecordsBuffer() throws IOException {
         if (recordsBuffer != null) {
             try {
-                recordsBuffer.readAll().forEach(row -> {
-                    try {
-                        generator.writeObject(row.values);
-                    } catch (IOException e) {
-                        LOGGER.debug("Could not write the records in the json.", e);
-                    }
-                });
+                recordsBuffer.writeTo(generator);
             } finally {
                 safeCloseObjectBuffer();
             }
@@ -157,9 +156,9 @@ public class JsonWriter implements TransformerWriter {
     public void write(final DataSetRow row) throws IOException {
         if (bufferedRowMetadata == null) {
             if (recordsBuffer == null) {
-                recordsBuffer = new ObjectBuffer<>(BufferedDataSetRow.class);
+                recordsBuffer = new RecordBuffer(mapper, memoryMappedBuffer);
             }
-            recordsBuffer.appendRow(new BufferedDataSetRow(row));
+            recordsBuffer.append(row.valuesWithId());
         } else {
             if (!writingRecords) {
                 startRecordsWriting();
@@ -227,16 +226,4 @@ public class JsonWriter implements TransformerWriter {
     public void flush() throws IOException {
         generator.flush();
     }
-
-    private static final class BufferedDataSetRow {
-
-        public Map<String, Object> values;
-
-        public BufferedDataSetRow() {
-        }
-
-        public BufferedDataSetRow(DataSetRow row) {
-            values = row.valuesWithId();
-        }
-    }
 }
@@ -0,0 +1,355 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.format;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.dataprep.util.FilesHelper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Buffer for records (as returned by {@link org.talend.dataprep.api.dataset.row.DataSetRow#valuesWithId()}) on a file,
+ * in a compact binary format. Unlike {@link ObjectBuffer}, records are written back to a {@link JsonGenerator} without
+ * creating a map per record.
+ *
+ * File format: each record is its number of fields (varint), then for each field (in record order):
+ * <ul>
+ * <li>the field name: index in the field names dictionary plus one (varint), or 0 followed by the name (string) for a
+ * field name not seen before,</li>
+ * <li>the value type (1 byte) followed by the value: a string (varint UTF-8 length followed by UTF-8 bytes), a long
+ * (8 bytes), nothing for null, or the JSON representation (as a string) for other types.</li>
+ * </ul>
+ *
+ * This is not intended to be thread-safe. Read is intended to be done after all writes are done.
+ */
+public class RecordBuffer implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final byte NULL_VALUE = 0;
+
+    private static final byte STRING_VALUE = 1;
+
+    private static final byte LONG_VALUE = 2;
+
+    private static final byte JSON_VALUE = 3;
+
+    /** Used to serialize values that are neither strings nor integers. */
+    private final ObjectMapper mapper;
+
+    /** <code>true</code> to memory map the file on read. */
+    private final boolean memoryMapped;
+
+    private final Path tempFile;
+
+    private final FileChannel channel;
+
+    /** Field name -> index in dictionary (for writes). */
+    private final Map<String, Integer> fieldIndexes = new HashMap<>();
+
+    /** Write buffer, then read buffer. */
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /** Decoded strings (reused between values). */
+    private char[] chars = new char[256];
+
+    private long records;
+
+    private boolean closed = false;
+
+    /**
+     * @param mapper the mapper for values that are neither strings nor integers.
+     * @param memoryMapped <code>true</code> to memory map the buffer file on read.
+     * @throws IOException if the buffer file cannot be created.
+     */
+    public RecordBuffer(ObjectMapper mapper, boolean memoryMapped) throws IOException {
+        this.mapper = mapper;
+        this.memoryMapped = memoryMapped;
+        tempFile = Files.createTempFile("buffered-records", ".bin");
+        channel = FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Append a record to the buffer.
+     *
+     * @param values the record values (field name -> value).
+     */
+    public void append(Map<String, Object> values) throws IOException {
+        if (closed) {
+            throw new IOException("The RecordBuffer is closed");
+        }
+        writeVarInt(values.size());
+        for (Map.Entry<String, Object> field : values.entrySet()) {
+            final Integer index = fieldIndexes.get(field.getKey());
+            if (index == null) {
+                fieldIndexes.put(field.getKey(), fieldIndexes.size());
+                writeVarInt(0);
+                writeString(field.getKey());
+            } else {
+                writeVarInt(index + 1);
+            }
+            final Object value = field.getValue();
+            if (value == null) {
+                ensure(1);
+                buffer.put(NULL_VALUE);
+            } else if (value instanceof String) {
+                ensure(1);
+                buffer.put(STRING_VALUE);
+                writeString((String) value);
+            } else if (value instanceof Long || value instanceof Integer) {
+                ensure(9);
+                buffer.put(LONG_VALUE);
+                buffer.putLong(((Number) value).longValue());
+            } else {
+                ensure(1);
+                buffer.put(JSON_VALUE);
+                writeString(mapper.writeValueAsString(value));
+            }
+        }
+        records++;
+    }
+
+    /**
+     * Write all buffered records (as JSON objects) to the generator, prevent any further writings.
+     *
+     * @param generator where to write records.
+     */
+    public void writeTo(JsonGenerator generator) throws IOException {
+        if (closed) {
+            throw new IOException("The RecordBuffer is closed");
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        final long size = channel.position();
+        if (memoryMapped && size <= Integer.MAX_VALUE) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } else {
+            channel.position(0);
+            buffer.clear().flip();
+        }
+
+        final List<SerializedString> fieldNames = new ArrayList<>(fieldIndexes.size());
+        for (long i = 0; i < records; i++) {
+            generator.writeStartObject();
+            final int fieldCount = readVarInt();
+            for (int j = 0; j < fieldCount; j++) {
+                final int index = readVarInt();
+                int length;
+                if (index == 0) {
+                    length = readString();
+                    fieldNames.add(new SerializedString(new String(chars, 0, length)));
+                    generator.writeFieldName(fieldNames.get(fieldNames.size() - 1));
+                } else {
+                    generator.writeFieldName(fieldNames.get(index - 1));
+                }
+                require(1);
+                final byte type = buffer.get();
+                switch (type) {
+                case NULL_VALUE:
+                    generator.writeNull();
+                    break;
+                case STRING_VALUE:
+                    // read length first (chars may be reallocated)
+                    length = readString();
+                    generator.writeString(chars, 0, length);
+                    break;
+                case LONG_VALUE:
+                    require(8);
+                    generator.writeNumber(buffer.getLong());
+                    break;
+                case JSON_VALUE:
+                    length = readString();
+                    generator.writeRawValue(chars, 0, length);
+                    break;
+                default:
+                    throw new IOException("Unexpected value type " + type + " in buffered records.");
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Close the RecordBuffer and delete underlying resources.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            buffer = null;
+            channel.close();
+            FilesHelper.deleteQuietly(tempFile.toFile());
+        }
+    }
+
+    /**
+     * Make sure the write buffer has room for <code>length</code> bytes.
+     */
+    private void ensure(int length) throws IOException {
+        if (buffer.remaining() < length) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Make sure the read buffer has <code>length</code> bytes available.
+     */
+    private void require(int length) throws IOException {
+        if (buffer.remaining() >= length) {
+            return;
+        }
+        if (buffer.isReadOnly()) { // memory mapped: whole file is already in buffer
+            throw new EOFException("Unexpected end of buffered records.");
+        }
+        if (buffer.capacity() < length) {
+            final ByteBuffer larger = ByteBuffer.allocate(Math.max(length, buffer.capacity() * 2));
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < length) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of buffered records.");
+            }
+        }
+        buffer.flip();
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            require(1);
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Write the UTF-8 length and bytes of a string (without creating any intermediate byte array).
+     */
+    private void writeString(String value) throws IOException {
+        final int length = value.length();
+        int utf8Length = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                utf8Length++;
+            } else if (c < 0x800) {
+                utf8Length += 2;
+            } else if (isSurrogatePair(value, i)) {
+                utf8Length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                utf8Length++; // malformed, written as '?'
+            } else {
+                utf8Length += 3;
+            }
+        }
+        writeVarInt(utf8Length);
+        for (int i = 0; i < length; i++) {
+            ensure(4);
+            final char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (isSurrogatePair(value, i)) {
+                final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static boolean isSurrogatePair(String value, int index) {
+        return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+    /**
+     * Read a string in {@link #chars}.
+     *
+     * @return the string length (in chars).
+     */
+    private int readString() throws IOException {
+        final int utf8Length = readVarInt();
+        require(utf8Length);
+        if (chars.length < utf8Length) {
+            chars = new char[Math.max(utf8Length, chars.length * 2)];
+        }
+        return decode(utf8Length);
+    }
+
+    private int decode(int utf8Length) {
+        int count = 0;
+        final int end = buffer.position() + utf8Length;
+        while (buffer.position() < end) {
+            final int b = buffer.get() & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if (b < 0xE0) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | (buffer.get() & 0x3F));
+            } else if (b < 0xF0) {
+                chars[count++] = (char) (((b & 0x0F) << 12) | ((buffer.get() & 0x3F) << 6) | (buffer.get() & 0x3F));
+            } else {
+                final int codePoint = ((b & 0x07) << 18) | ((buffer.get() & 0x3F) << 12)
+                        | ((buffer.get() & 0x3F) << 6) | (buffer.get() & 0x3F);
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            }
+        }
+        return count;
+    }
+}
@@ -12,9 +12,15 @@
 
 package org.talend.dataprep.transformation.pipeline.model;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.talend.dataprep.transformation.pipeline.Signal.END_OF_STREAM;
 
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
@@ -32,10 +38,30 @@ import org.talend.dataprep.transformation.pipeline.Signal;
 import org.talend.dataprep.transformation.pipeline.Visitor;
 import org.talend.dataprep.transformation.pipeline.node.BasicNode;
 
+/**
+ * Node that writes rows with a {@link TransformerWriter}.
+ * <p>
+ * By default, rows are written in the thread that {@link #receive(DataSetRow, RowMetadata) receives} them. When a queue
+ * size is given, the node works in asynchronous mode: received rows are handed to a bounded queue, drained by a writer
+ * task run by the given executor (rows are still passed to next nodes in the receiving thread). The end of stream goes
+ * through the queue (so all received rows are written before writer is closed) and the node waits for the writer task
+ * to finish before passing the signal to next nodes. Once the writer task failed, its error is raised by every later
+ * call to the node.
+ * </p>
+ */
 public class WriterNode extends BasicNode implements Monitored {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WriterNode.class);
 
+    /** Only one row out of TIMING_SAMPLE_RATE is timed, total time is extrapolated from sampled rows. */
+    private static final int TIMING_SAMPLE_RATE = 16;
+
+    /** How long (in ms) a blocked thread waits on the queue before checking writer task state again. */
+    private static final long QUEUE_TIMEOUT = 100;
+
+    /** Queue element for the end of stream. */
+    private static final QueuedRow END = new QueuedRow(null, null);
+
     private final TransformerWriter writer;
 
     private final ConfiguredCacheWriter metadataCacheWriter;
@@ -49,9 +75,33 @@ public class WriterNode extends BasicNode implements Monitored {
 
     private boolean startRecords = false;
 
-    private long totalTime;
+    /** Size of the rows queue in asynchronous mode, 0 for synchronous mode. */
+    private final int queueSize;
+
+    /** Runs the writer task (asynchronous mode). */
+    private final Executor executor;
+
+    /** Queue of rows to write (asynchronous mode). */
+    private BlockingQueue<QueuedRow> queue;
+
+    /** Released once the writer task is over (asynchronous mode). */
+    private CountDownLatch writerDone;
+
+    /** True if the node received a cancel signal (writer task must stop). */
+    private volatile boolean cancelled;
+
+    /** Error raised in writer task, raised again by every later call to this node. */
+    private volatile RuntimeException failure;
 
-    private int count;
+    /** Total time of sampled rows (in ns). */
+    private volatile long sampledTime;
+
+    private volatile long sampledCount;
+
+    /** Time to end the writer (in ns). */
+    private volatile long endTime;
+
+    private volatile long count;
 
     /** True if the writer is stopped. */
     private AtomicBoolean isStopped = new AtomicBoolean(false);
@@ -67,63 +117,85 @@ public class WriterNode extends BasicNode implements Monitored {
      */
     public WriterNode(final TransformerWriter writer, final ConfiguredCacheWriter metadataCacheWriter,
             final ContentCacheKey metadataKey, RowMetadata fallBackRowMetadata) {
-        this.writer = writer;
-        this.metadataCacheWriter = metadataCacheWriter;
-        this.metadataKey = metadataKey;
-        this.fallBackRowMetadata = fallBackRowMetadata;
-        this.lastRowMetadata = fallBackRowMetadata;
+        this(writer, metadataCacheWriter, metadataKey, fallBackRowMetadata, 0, null);
     }
 
     public WriterNode(TransformerWriter writer, ConfiguredCacheWriter metadataCacheWriter,
             TransformationMetadataCacheKey metadataKey) {
+        this(writer, metadataCacheWriter, metadataKey, null, 0, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param writer the transformer writer.
+     * @param metadataCacheWriter the metadata cache writer.
+     * @param metadataKey the transformation metadata cache key to use.
+     * @param fallBackRowMetadata fallback row metadata to be able to write an empty content even if no row/rowMetadata
+     * was received.
+     * @param queueSize the size of the rows queue to write rows in a writer task, 0 to write rows in the thread that
+     * receives them.
+     * @param executor the executor of the writer task (only used if queue size is greater than 0).
+     */
+    public WriterNode(final TransformerWriter writer, final ConfiguredCacheWriter metadataCacheWriter,
+            final ContentCacheKey metadataKey, RowMetadata fallBackRowMetadata, int queueSize, Executor executor) {
         this.writer = writer;
         this.metadataCacheWriter = metadataCacheWriter;
         this.metadataKey = metadataKey;
+        this.fallBackRowMetadata = fallBackRowMetadata;
+        this.lastRowMetadata = fallBackRowMetadata;
+        this.executor = executor;
+        this.queueSize = executor == null ? 0 : Math.max(0, queueSize);
     }
 
     /**
-     * Synchronized method not to clash with the signal method.
+     * In synchronous mode, synchronized not to clash with the signal method.
      *
      * @see WriterNode#signal(Signal)
      * @see RuntimeNode#receive(DataSetRow, RowMetadata)
      */
     @Override
-    public synchronized void receive(DataSetRow row, RowMetadata metadata) {
-        // do not write this row if the writer is stopped
-        if (isStopped.get()) {
-            LOGGER.debug("already finished or canceled, let's skip this row");
+    public void receive(DataSetRow row, RowMetadata metadata) {
+        if (queueSize > 0) {
+            enqueue(row, metadata);
             return;
         }
-
-        final long start = System.currentTimeMillis();
-        try {
-            if (!startRecords) {
-                startRecords = true;
+        synchronized (this) {
+            // do not write this row if the writer is stopped
+            if (isStopped.get()) {
+                LOGGER.debug("already finished or canceled, let's skip this row");
+                return;
             }
-            lastRowMetadata = metadata;
+            write(row, metadata);
             if (row.shouldWrite()) {
-                writer.write(row);
                 super.receive(row, metadata);
             }
-        } catch (IOException e) {
-            LOGGER.error("Unable to write record.", e);
-        } finally {
-            totalTime += System.currentTimeMillis() - start;
-            count++;
         }
     }
 
     /**
-     * Synchronized method not to clash with the receive method.
+     * In synchronous mode, synchronized not to clash with the receive method.
      *
      * @see WriterNode#receive(DataSetRow, RowMetadata)
      * @see RuntimeNode#signal(Signal)
      */
     @Override
-    public synchronized void signal(Signal signal) {
+    public void signal(Signal signal) {
 
         LOGGER.debug("receive {}", signal);
 
+        if (queueSize > 0) {
+            handleSignal(signal);
+        } else {
+            synchronized (this) {
+                handleSignal(signal);
+            }
+        }
+
+        super.signal(signal);
+    }
+
+    private void handleSignal(Signal signal) {
         switch (signal) {
         case END_OF_STREAM:
             endOfStream();
@@ -134,8 +206,106 @@ public class WriterNode extends BasicNode implements Monitored {
         default:
             LOGGER.debug("Unhandled signal {}.", signal);
         }
+    }
 
-        super.signal(signal);
+    /**
+     * Write a row (in the writer task in asynchronous mode).
+     */
+    private void write(DataSetRow row, RowMetadata metadata) {
+        final boolean timed = count % TIMING_SAMPLE_RATE == 0;
+        final long start = timed ? System.nanoTime() : 0;
+        try {
+            if (!startRecords) {
+                startRecords = true;
+            }
+            lastRowMetadata = metadata;
+            if (row.shouldWrite()) {
+                writer.write(row);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Unable to write record.", e);
+        } finally {
+            if (timed) {
+                sampledTime += System.nanoTime() - start;
+                sampledCount++;
+            }
+            count++;
+        }
+    }
+
+    /**
+     * Hand a row to the writer task (asynchronous mode).
+     */
+    private void enqueue(DataSetRow row, RowMetadata metadata) {
+        rethrowFailure();
+        // do not write this row if the writer is stopped
+        if (isStopped.get()) {
+            LOGGER.debug("already finished or canceled, let's skip this row");
+            return;
+        }
+        if (queue == null) {
+            queue = new ArrayBlockingQueue<>(queueSize);
+            writerDone = new CountDownLatch(1);
+            executor.execute(this::drain);
+        }
+        try {
+            final QueuedRow queuedRow = new QueuedRow(row, metadata);
+            while (!queue.offer(queuedRow, QUEUE_TIMEOUT, MILLISECONDS)) {
+                rethrowFailure();
+                if (cancelled) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queuing row.", e);
+        }
+        if (row.shouldWrite()) {
+            super.receive(row, metadata);
+        }
+    }
+
+    /**
+     * Writer task: write queued rows until end of stream or cancel. Writer is always closed when task is over, but
+     * metadata is only written (and cached) on end of stream.
+     */
+    private void drain() {
+        boolean ended = false;
+        try {
+            while (!cancelled) {
+                final QueuedRow queuedRow = queue.poll(QUEUE_TIMEOUT, MILLISECONDS);
+                if (queuedRow == END) {
+                    ended = true;
+                    closeWriter();
+                    return;
+                } else if (queuedRow != null) {
+                    write(queuedRow.row, queuedRow.metadata);
+                }
+            }
+            LOGGER.debug("Writer task stopped on cancel.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new IllegalStateException("Interrupted while writing rows.", e);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Unable to write records.", e);
+            failure = e;
+        } finally {
+            if (!ended && !cancelled) {
+                try {
+                    writer.close();
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.debug("Unable to close writer.", e);
+                }
+            }
+            writerDone.countDown();
+        }
+    }
+
+    private void rethrowFailure() {
+        final RuntimeException e = failure;
+        if (e != null) {
+            throw e;
+        }
     }
 
     /**
@@ -144,12 +314,14 @@ public class WriterNode extends BasicNode implements Monitored {
     private void cancel() {
         // just set stopped flag to true so that the writer is not used anymore
         this.isStopped.set(true);
+        this.cancelled = true;
     }
 
     /**
      * Deal with end of stream signal.
      */
     private void endOfStream() {
+        rethrowFailure();
         if (isStopped.get()) {
             LOGGER.debug("cannot process {} because WriterNode is already finished or canceled", END_OF_STREAM);
             return;
@@ -158,7 +330,30 @@ public class WriterNode extends BasicNode implements Monitored {
         // set this writer to stopped
         this.isStopped.set(true);
 
-        final long start = System.currentTimeMillis();
+        if (queue == null) {
+            // synchronous mode (or no row received)
+            closeWriter();
+            return;
+        }
+
+        // end of stream goes through the queue so that all received rows are written
+        try {
+            while (writerDone.getCount() > 0 && !queue.offer(END, QUEUE_TIMEOUT, MILLISECONDS)) {
+                LOGGER.debug("Waiting for writer task to write queued rows.");
+            }
+            writerDone.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for writer task.", e);
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * Write the row metadata, close writer and cache the row metadata (in the writer task in asynchronous mode).
+     */
+    private void closeWriter() {
+        final long start = System.nanoTime();
 
         try {
             // no row received, let's switch to the fallback row metadata
@@ -174,7 +369,7 @@ public class WriterNode extends BasicNode implements Monitored {
             } catch (IOException e) {
                 LOGGER.error("unable to close writer", e);
             }
-            totalTime += System.currentTimeMillis() - start;
+            endTime += System.nanoTime() - start;
         }
 
         // Cache computed metadata for later reuse
@@ -193,12 +388,17 @@ public class WriterNode extends BasicNode implements Monitored {
 
     @Override
     public Node copyShallow() {
-        return new WriterNode(writer, metadataCacheWriter, metadataKey, fallBackRowMetadata);
+        return new WriterNode(writer, metadataCacheWriter, metadataKey, fallBackRowMetadata, queueSize, executor);
     }
 
+    /**
+     * @return the total time (in ms) spent writing rows (extrapolated from sampled rows) and closing writer.
+     */
     @Override
     public long getTotalTime() {
-        return totalTime;
+        final long samples = sampledCount;
+        final long rowsTime = samples == 0 ? 0 : (long) ((double) sampledTime / samples * count);
+        return TimeUnit.NANOSECONDS.toMillis(rowsTime + endTime);
     }
 
     @Override
@@ -209,4 +409,19 @@ public class WriterNode extends BasicNode implements Monitored {
     public TransformerWriter getWriter() {
         return writer;
     }
+
+    /**
+     * A row (and its metadata) queued for the writer task.
+     */
+    private static class QueuedRow {
+
+        private final DataSetRow row;
+
+        private final RowMetadata metadata;
+
+        private QueuedRow(DataSetRow row, RowMetadata metadata) {
+            this.row = row;
+            this.metadata = metadata;
+        }
+    }
 }
@@ -33,7 +33,6 @@ import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.cache.ContentCache;
 import org.talend.dataprep.command.preparation.PreparationDetailsGet;
 import org.talend.dataprep.command.preparation.PreparationGetActions;
-import org.talend.dataprep.command.preparation.PreparationSummaryGet;
 import org.talend.dataprep.dataset.adapter.DatasetClient;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
@@ -198,12 +197,7 @@ public abstract class BaseExportStrategy {
      * @return the preparation out of its id.
      */
     protected PreparationDTO getPreparation(String preparationId, String stepId) {
-        if ("origin".equals(stepId)) {
-            stepId = Step.ROOT_STEP.id();
-        }
-        final PreparationSummaryGet preparationSummaryGet =
-                applicationContext.getBean(PreparationSummaryGet.class, preparationId, stepId);
-        return preparationSummaryGet.execute();
+        return ExportUtils.getPreparation(applicationContext, preparationId, stepId);
     }
 
     /**
@@ -27,6 +27,8 @@ import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.api.transformer.TransformerFactory;
 import org.talend.dataprep.transformation.format.FormatRegistrationService;
+import org.talend.dataprep.transformation.service.export.ExportPlanner;
+import org.talend.dataprep.transformation.service.export.ExportPlanningContext;
 import org.talend.dataprep.transformation.service.export.SampleExportStrategy;
 import org.talend.dataprep.util.OrderedBeans;
 
@@ -63,6 +65,10 @@ public abstract class BaseTransformationService {
     @Autowired
     protected OrderedBeans<SampleExportStrategy> sampleExportStrategies;
 
+    /** Elects the export strategy (preparation and cache lookups are shared between strategies). */
+    @Autowired
+    protected ExportPlanner exportPlanner;
+
     /**
      * Return the format that matches the given name or throw an error if the format is unknown.
      *
@@ -81,11 +87,11 @@ public abstract class BaseTransformationService {
     StreamingResponseBody executeSampleExportStrategy(final ExportParameters parameters) {
         LOG.debug("Export for preparation #{}.", parameters.getPreparationId());
         try {
-            final Optional<SampleExportStrategy> electedStrategy =
-                    chooseExportStrategy(sampleExportStrategies, parameters);
+            final ExportPlanningContext context = exportPlanner.newContext(parameters);
+            final Optional<SampleExportStrategy> electedStrategy = exportPlanner.plan(sampleExportStrategies, context);
             if (electedStrategy.isPresent()) {
                 LOG.debug("Strategy for execution: {}", electedStrategy.get().getClass());
-                return electedStrategy.get().execute(parameters);
+                return electedStrategy.get().execute(context);
             } else {
                 throw new IllegalArgumentException("Not valid export parameters (no preparation id nor data set id).");
             }
@@ -17,8 +17,12 @@ import java.nio.charset.Charset;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.util.UriUtils;
+import org.talend.dataprep.api.preparation.PreparationDTO;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.command.preparation.PreparationSummaryGet;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.format.export.ExportFormat;
@@ -52,4 +56,20 @@ public final class ExportUtils {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
     }
+
+    /**
+     * @param applicationContext the application context (to get the preparation command).
+     * @param preparationId the wanted preparation id.
+     * @param stepId the preparation step (might be different from head's to navigate through versions).
+     * @return the preparation out of its id.
+     */
+    public static PreparationDTO getPreparation(ApplicationContext applicationContext, String preparationId,
+            String stepId) {
+        if ("origin".equals(stepId)) {
+            stepId = Step.ROOT_STEP.id();
+        }
+        final PreparationSummaryGet preparationSummaryGet =
+                applicationContext.getBean(PreparationSummaryGet.class, preparationId, stepId);
+        return preparationSummaryGet.execute();
+    }
 }
@@ -71,6 +71,7 @@ import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.dataset.row.Flag;
 import org.talend.dataprep.api.dataset.statistics.SemanticDomain;
 import org.talend.dataprep.api.export.ExportParameters;
@@ -366,6 +367,17 @@ public class TransformationService extends BaseTransformationService {
             throw new TDPException(CommonErrorCodes.BAD_AGGREGATION_PARAMETERS, e);
         }
 
+        // aggregate data set content directly from its records (no JSON round trip)
+        if (StringUtils.isBlank(parameters.getPreparationId())) {
+            final DataSet dataSet = datasetClient.getDataSet(parameters.getDatasetId(), false, true);
+            if (dataSet == null) {
+                throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE);
+            }
+            try (Stream<DataSetRow> records = dataSet.getRecords()) {
+                return aggregationService.aggregate(parameters, dataSet);
+            }
+        }
+
         // apply the aggregation
         try (InputStream contentToAggregate = getContentToAggregate(parameters);
                 JsonParser parser =
@@ -377,39 +389,35 @@ public class TransformationService extends BaseTransformationService {
         }
     }
 
+    /**
+     * @return the content of the preparation to aggregate (internal call with piped streams).
+     */
     private InputStream getContentToAggregate(AggregationParameters parameters) {
-        InputStream contentToAggregate;
-
-        // get the content of the preparation (internal call with piped streams)
-        if (StringUtils.isNotBlank(parameters.getPreparationId())) {
-            try {
-                PipedOutputStream temp = new PipedOutputStream();
-                contentToAggregate = new PipedInputStream(temp);
-
-                // because of piped streams, processing must be asynchronous
-                Runnable r = () -> {
-                    try {
-                        final ExportParameters exportParameters = new ExportParameters();
-                        exportParameters.setPreparationId(parameters.getPreparationId());
-                        exportParameters.setDatasetId(parameters.getDatasetId());
-                        exportParameters.setFilter(parameters.getFilter());
-                        exportParameters.setExportType(JSON);
-                        exportParameters.setStepId(parameters.getStepId());
-
-                        final StreamingResponseBody body = executeSampleExportStrategy(exportParameters);
-                        body.writeTo(temp);
-                    } catch (IOException e) {
-                        throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
-                    }
-                };
-                executor.execute(r);
-            } catch (IOException e) {
-                throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
-            }
-        } else {
-            contentToAggregate = datasetClient.getDataSetGetCommand(parameters.getDatasetId(), false, true).execute();
+        try {
+            PipedOutputStream temp = new PipedOutputStream();
+            InputStream contentToAggregate = new PipedInputStream(temp);
+
+            // because of piped streams, processing must be asynchronous
+            Runnable r = () -> {
+                try {
+                    final ExportParameters exportParameters = new ExportParameters();
+                    exportParameters.setPreparationId(parameters.getPreparationId());
+                    exportParameters.setDatasetId(parameters.getDatasetId());
+                    exportParameters.setFilter(parameters.getFilter());
+                    exportParameters.setExportType(JSON);
+                    exportParameters.setStepId(parameters.getStepId());
+
+                    final StreamingResponseBody body = executeSampleExportStrategy(exportParameters);
+                    body.writeTo(temp);
+                } catch (IOException e) {
+                    throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
+                }
+            };
+            executor.execute(r);
+            return contentToAggregate;
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
         }
-        return contentToAggregate;
     }
 
     /**
@@ -14,6 +14,7 @@
 package org.talend.dataprep.transformation.service.export;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.transformation.service.BaseExportStrategy;
 
 /**
@@ -26,4 +27,13 @@ public abstract class BaseSampleExportStrategy extends BaseExportStrategy implem
     @Value("${dataset.records.limit:10000}")
     protected long limit;
 
+    /**
+     * @param parameters the export parameters.
+     * @return a planning context for strategies called without one (e.g. called directly, not through
+     * {@link ExportPlanner}).
+     */
+    protected ExportPlanningContext newPlanningContext(ExportParameters parameters) {
+        return new ExportPlanningContext(parameters, this::getPreparation, contentCache::has);
+    }
+
 }
@@ -12,21 +12,39 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
+
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.util.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.PreparationDTO;
 import org.talend.dataprep.cache.CacheKeyGenerator;
 import org.talend.dataprep.cache.TransformationCacheKey;
+import org.talend.dataprep.cache.ZippedContentCache;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.format.export.ExportFormat;
+import org.talend.dataprep.http.HttpRequestContext;
 import org.talend.dataprep.transformation.format.CSVFormat;
 import org.talend.dataprep.transformation.service.BaseExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
@@ -34,6 +52,11 @@ import org.talend.dataprep.transformation.service.ExportUtils;
 /**
  * A {@link BaseExportStrategy strategy} to reuse previous preparation export if available (if no previous content found
  * {@link #test(ExportParameters)} returns <code>false</code>). This strategy works fine when from equals to FILTER.
+ * <p>
+ * When client accepts GZIP content and the cache entry is stored as GZIP, the entry is sent as is (with a
+ * <code>Content-Encoding: gzip</code> header) instead of being decompressed. This only applies when content is written
+ * to the HTTP response: content is always decompressed for any other output (e.g. when only warming the cache).
+ * </p>
  */
 @Component
 public class CachedExportStrategy extends BaseSampleExportStrategy {
@@ -43,8 +66,18 @@ public class CachedExportStrategy extends BaseSampleExportStrategy {
     @Autowired
     private CacheKeyGenerator cacheKeyGenerator;
 
+    /** <code>true</code> to send GZIP cache entries as is to clients that accept GZIP content. */
+    @Value("${transformation.export.cache.gzip-passthrough:true}")
+    private boolean gzipPassthrough = true;
+
     @Override
     public boolean test(ExportParameters parameters) {
+        return parameters != null && test(newPlanningContext(parameters));
+    }
+
+    @Override
+    public boolean test(ExportPlanningContext context) {
+        final ExportParameters parameters = context.getParameters();
         if (parameters == null) {
             return false;
         }
@@ -55,8 +88,8 @@ public class CachedExportStrategy extends BaseSampleExportStrategy {
             return false;
         }
         try {
-            final TransformationCacheKey contentKey = getCacheKey(parameters);
-            return contentCache.has(contentKey);
+            final TransformationCacheKey contentKey = getCacheKey(context);
+            return context.hasCacheEntry(contentKey);
         } catch (TDPException e) {
             LOGGER.debug("Unable to use cached export strategy.", e);
             return false;
@@ -65,28 +98,99 @@ public class CachedExportStrategy extends BaseSampleExportStrategy {
 
     @Override
     public StreamingResponseBody execute(ExportParameters parameters) {
-        final TransformationCacheKey contentKey = getCacheKey(parameters);
+        return execute(newPlanningContext(parameters));
+    }
+
+    @Override
+    public StreamingResponseBody execute(ExportPlanningContext context) {
+        final ExportParameters parameters = context.getParameters();
+        final TransformationCacheKey contentKey = getCacheKey(context);
         ExportUtils.setExportHeaders(parameters.getExportName(), //
                 parameters.getArguments().get(ExportFormat.PREFIX + CSVFormat.ParametersCSV.ENCODING), //
                 getFormat(parameters.getExportType()));
         LOGGER.debug("Using '{}' content cache entry.", contentKey.getKey());
+        final HttpServletResponse response = gzipPassthrough && acceptsGzip() ? getResponse() : null;
         return outputStream -> {
+            // Encoded content is only sent to the client (internal callers may write content anywhere else)
+            if (response != null && isResponseBody(response, outputStream)) {
+                final InputStream encodedContent =
+                        contentCache.getEncoded(contentKey, ZippedContentCache.GZIP_ENCODING);
+                if (encodedContent != null) {
+                    LOGGER.debug("Send '{}' content cache entry as is (gzip).", contentKey.getKey());
+                    response.setHeader(HttpHeaders.CONTENT_ENCODING, ZippedContentCache.GZIP_ENCODING);
+                    try (InputStream cachedContent = encodedContent) {
+                        transfer(cachedContent, outputStream);
+                    }
+                    return;
+                }
+            }
             try (InputStream cachedContent = contentCache.get(contentKey)) {
                 IOUtils.copy(cachedContent, outputStream);
             }
         };
     }
 
-    private TransformationCacheKey getCacheKey(ExportParameters parameters) {
-        final PreparationDTO preparation = getPreparation(parameters.getPreparationId());
-        return cacheKeyGenerator.generateContentKey(preparation.getDataSetId(), //
-                parameters.getPreparationId(), //
-                getCleanStepId(preparation, parameters.getStepId()), //
-                parameters.getExportType(), //
-                parameters.getFrom(), //
-                parameters.getArguments(), //
-                parameters.getFilter() //
-        );
+    /**
+     * @return the HTTP response of the current request, or <code>null</code> if not called in a web context.
+     */
+    private static HttpServletResponse getResponse() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            return ((ServletRequestAttributes) attributes).getResponse();
+        }
+        return null;
+    }
+
+    /**
+     * @return <code>true</code> if output is the body of the (not yet committed) HTTP response.
+     */
+    private static boolean isResponseBody(HttpServletResponse response, OutputStream output) {
+        if (!(output instanceof ServletOutputStream) || response.isCommitted()) {
+            return false;
+        }
+        try {
+            return output == response.getOutputStream();
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.debug("Unable to get response output stream.", e);
+            return false;
+        }
+    }
+
+    private static boolean acceptsGzip() {
+        return containsIgnoreCase(HttpRequestContext.header(HttpHeaders.ACCEPT_ENCODING),
+                ZippedContentCache.GZIP_ENCODING);
+    }
+
+    /**
+     * Copy content to output, using {@link FileChannel#transferTo(long, long, WritableByteChannel)} for file content.
+     */
+    private static void transfer(InputStream content, OutputStream output) throws IOException {
+        if (content instanceof FileInputStream) {
+            final FileChannel channel = ((FileInputStream) content).getChannel();
+            final WritableByteChannel target = Channels.newChannel(output);
+            long position = channel.position();
+            final long size = channel.size();
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        } else {
+            IOUtils.copy(content, output);
+        }
+    }
+
+    private TransformationCacheKey getCacheKey(ExportPlanningContext context) {
+        return context.getPlan(CachedExportStrategy.class, () -> {
+            final ExportParameters parameters = context.getParameters();
+            final PreparationDTO preparation = context.getPreparation();
+            return cacheKeyGenerator.generateContentKey(preparation.getDataSetId(), //
+                    parameters.getPreparationId(), //
+                    getCleanStepId(preparation, parameters.getStepId()), //
+                    parameters.getExportType(), //
+                    parameters.getFrom(), //
+                    parameters.getArguments(), //
+                    parameters.getFilter() //
+            );
+        });
     }
 
 }
@@ -0,0 +1,116 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.service.export;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.transformation.service.ExportUtils;
+import org.talend.dataprep.util.OrderedBeans;
+
+/**
+ * Creates {@link ExportPlanningContext export planning contexts} and elects the export strategy for a context. Keeps
+ * planning metrics (exposed as a JMX bean).
+ */
+@Component
+@ManagedResource(objectName = "org.talend.dataprep:type=ExportPlanner", description = "Export planning metrics")
+public class ExportPlanner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExportPlanner.class);
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ContentCache contentCache;
+
+    private final AtomicLong plannings = new AtomicLong();
+
+    private final AtomicLong planningTime = new AtomicLong();
+
+    private final AtomicLong preparationLookups = new AtomicLong();
+
+    private final AtomicLong cacheLookups = new AtomicLong();
+
+    private final AtomicLong reusedLookups = new AtomicLong();
+
+    /**
+     * @param parameters the export parameters.
+     * @return a new context to plan the export with given parameters.
+     */
+    public ExportPlanningContext newContext(ExportParameters parameters) {
+        return new ExportPlanningContext(parameters,
+                (preparationId, stepId) -> ExportUtils.getPreparation(applicationContext, preparationId, stepId),
+                contentCache::has);
+    }
+
+    /**
+     * Elects the first strategy that accepts the export context.
+     *
+     * @param strategies the strategies (by order of priority).
+     * @param context the export context.
+     * @return the elected strategy, if any.
+     */
+    public <T extends SampleExportStrategy> Optional<T> plan(OrderedBeans<T> strategies,
+            ExportPlanningContext context) {
+        final long start = System.nanoTime();
+        try {
+            return strategies.filter(strategy -> strategy.test(context)).findFirst();
+        } finally {
+            final long time = System.nanoTime() - start;
+            plannings.incrementAndGet();
+            planningTime.addAndGet(time);
+            preparationLookups.addAndGet(context.getPreparationLookups());
+            cacheLookups.addAndGet(context.getCacheLookups());
+            reusedLookups.addAndGet(context.getReusedLookups());
+            LOGGER.debug("Export planned in {} ms ({} preparation lookup(s), {} cache lookup(s), {} reused).",
+                    TimeUnit.NANOSECONDS.toMillis(time), context.getPreparationLookups(), context.getCacheLookups(),
+                    context.getReusedLookups());
+        }
+    }
+
+    @ManagedAttribute(description = "Number of planned exports")
+    public long getPlannings() {
+        return plannings.get();
+    }
+
+    @ManagedAttribute(description = "Total time spent in export planning (in milliseconds)")
+    public long getPlanningTime() {
+        return TimeUnit.NANOSECONDS.toMillis(planningTime.get());
+    }
+
+    @ManagedAttribute(description = "Number of preparations fetched during export planning")
+    public long getPreparationLookups() {
+        return preparationLookups.get();
+    }
+
+    @ManagedAttribute(description = "Number of cache lookups during export planning")
+    public long getCacheLookups() {
+        return cacheLookups.get();
+    }
+
+    @ManagedAttribute(description = "Number of preparation and cache lookups reused during export planning")
+    public long getReusedLookups() {
+        return reusedLookups.get();
+    }
+}
@@ -0,0 +1,154 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.service.export;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.StringUtils;
+import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.api.preparation.PreparationDTO;
+import org.talend.dataprep.cache.ContentCacheKey;
+
+/**
+ * Information resolved while planning an export for a single request: the strategies
+ * {@link SampleExportStrategy#test(ExportPlanningContext) selection} and the elected strategy
+ * {@link SampleExportStrategy#execute(ExportPlanningContext) execution} share the same preparations, cache lookups and
+ * strategy plans instead of resolving them again.
+ *
+ * This is not intended to be thread-safe (one context per export request).
+ *
+ * @see ExportPlanner#newContext(ExportParameters)
+ */
+public class ExportPlanningContext {
+
+    private final ExportParameters parameters;
+
+    /** Loads a preparation summary (preparation id, step id -> preparation). */
+    private final BiFunction<String, String, PreparationDTO> preparationLoader;
+
+    /** Checks whether the content cache has an entry. */
+    private final Predicate<ContentCacheKey> cacheLookup;
+
+    /** Step id ("" for default step) -> preparation. */
+    private final Map<String, PreparationDTO> preparations = new HashMap<>();
+
+    /** Cache key -> presence in cache. */
+    private final Map<String, Boolean> cacheEntries = new HashMap<>();
+
+    /** Strategy class -> plan computed by strategy. */
+    private final Map<Class<?>, Object> plans = new HashMap<>();
+
+    private int preparationLookups;
+
+    private int cacheLookups;
+
+    private int reusedLookups;
+
+    ExportPlanningContext(ExportParameters parameters, BiFunction<String, String, PreparationDTO> preparationLoader,
+            Predicate<ContentCacheKey> cacheLookup) {
+        this.parameters = parameters;
+        this.preparationLoader = preparationLoader;
+        this.cacheLookup = cacheLookup;
+    }
+
+    public ExportParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the exported preparation (summary with all steps), or <code>null</code> if export has no preparation.
+     */
+    public PreparationDTO getPreparation() {
+        return getPreparation(null);
+    }
+
+    /**
+     * @param stepId the preparation step (might be different from head's to navigate through versions).
+     * @return the exported preparation at given step, or <code>null</code> if export has no preparation.
+     */
+    public PreparationDTO getPreparation(String stepId) {
+        final String preparationId = parameters.getPreparationId();
+        if (StringUtils.isEmpty(preparationId)) {
+            return null;
+        }
+        final String key = StringUtils.defaultString(stepId);
+        PreparationDTO preparation = preparations.get(key);
+        if (preparation == null) {
+            preparationLookups++;
+            preparation = preparationLoader.apply(preparationId, stepId);
+            preparations.put(key, preparation);
+        } else {
+            reusedLookups++;
+        }
+        return preparation;
+    }
+
+    /**
+     * @param key content cache key.
+     * @return <code>true</code> if content cache has an entry for key (checked once per context).
+     */
+    public boolean hasCacheEntry(ContentCacheKey key) {
+        Boolean present = cacheEntries.get(key.getKey());
+        if (present == null) {
+            cacheLookups++;
+            present = cacheLookup.test(key);
+            cacheEntries.put(key.getKey(), present);
+        } else {
+            reusedLookups++;
+        }
+        return present;
+    }
+
+    /**
+     * Returns the plan of a strategy, computing it on first call (plan may be <code>null</code>, e.g. when strategy
+     * is not applicable).
+     *
+     * @param strategy the strategy class.
+     * @param planner computes the plan.
+     * @return the strategy plan.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getPlan(Class<? extends SampleExportStrategy> strategy, Supplier<T> planner) {
+        if (plans.containsKey(strategy)) {
+            return (T) plans.get(strategy);
+        }
+        final T plan = planner.get();
+        plans.put(strategy, plan);
+        return plan;
+    }
+
+    /**
+     * @return the number of preparations fetched by this context.
+     */
+    int getPreparationLookups() {
+        return preparationLookups;
+    }
+
+    /**
+     * @return the number of cache lookups performed by this context.
+     */
+    int getCacheLookups() {
+        return cacheLookups;
+    }
+
+    /**
+     * @return the number of preparation and cache lookups answered without any remote call.
+     */
+    int getReusedLookups() {
+        return reusedLookups;
+    }
+}
@@ -25,7 +25,9 @@ import org.apache.commons.io.output.TeeOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.dataprep.api.dataset.DataSet;
@@ -42,6 +44,7 @@ import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.transformation.api.transformer.configuration.Configuration;
 import org.talend.dataprep.transformation.format.CSVFormat;
+import org.talend.dataprep.transformation.format.JsonFormat;
 import org.talend.dataprep.transformation.service.BaseExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
@@ -49,7 +52,16 @@ import com.fasterxml.jackson.core.JsonParser;
 
 /**
  * A {@link BaseExportStrategy strategy} to export a preparation (using its default data set), using any information
- * available in cache (metadata and content).
+ * available in cache (metadata and content): only the steps after the nearest step with cached content are replayed.
+ * <p>
+ * When checkpoints are enabled, the content of every N-th step is cached while steps are replayed (this may start from
+ * the data set content), so that a later export of a modified preparation does not have to replay all its steps.
+ * </p>
+ * <p>
+ * Step content is always read from (and checkpoints written to) the JSON cache entries: this JSON content is the
+ * format-independent step result. Exports in other formats are rendered from the JSON content of the exported step
+ * (cached first if needed), so that an export in a new format does not replay any step.
+ * </p>
  */
 @Component
 public class OptimizedExportStrategy extends BaseSampleExportStrategy {
@@ -59,8 +71,26 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
     @Autowired
     private CacheKeyGenerator cacheKeyGenerator;
 
+    /** Number of steps between two checkpoints cached while replaying steps (0 to disable checkpoints). */
+    @Value("${transformation.export.checkpoint.interval:0}")
+    private int checkpointInterval;
+
+    /** Number of checkpoints (before the exported step) looked up in cache to replay steps from. */
+    @Value("${transformation.export.checkpoint.lookback:3}")
+    private int checkpointLookback;
+
+    /** <code>true</code> to cache the JSON content of the exported step before rendering it in another format. */
+    @Value("${transformation.export.json-step-cache:false}")
+    private boolean jsonStepCache;
+
     @Override
     public boolean test(ExportParameters parameters) {
+        return parameters != null && test(newPlanningContext(parameters));
+    }
+
+    @Override
+    public boolean test(ExportPlanningContext context) {
+        final ExportParameters parameters = context.getParameters();
         if (parameters == null) {
             return false;
         }
@@ -70,55 +100,80 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
         if (StringUtils.isEmpty(parameters.getPreparationId())) {
             return false;
         }
-        final OptimizedPreparationInput optimizedPreparationInput = new OptimizedPreparationInput(parameters);
-        return optimizedPreparationInput.applicable();
+        return getOptimizedPreparationInput(context) != null;
     }
 
     @Override
     public StreamingResponseBody execute(ExportParameters parameters) {
+        return execute(newPlanningContext(parameters));
+    }
+
+    @Override
+    public StreamingResponseBody execute(ExportPlanningContext context) {
+        final ExportParameters parameters = context.getParameters();
         final String formatName = parameters.getExportType();
         final ExportFormat format = getFormat(formatName);
         ExportUtils.setExportHeaders(parameters.getExportName(), //
                 parameters.getArguments().get(ExportFormat.PREFIX + CSVFormat.ParametersCSV.ENCODING), //
                 format);
 
-        return outputStream -> performOptimizedTransform(parameters, outputStream);
+        return outputStream -> performOptimizedTransform(context, outputStream);
     }
 
-    private void performOptimizedTransform(ExportParameters parameters, OutputStream outputStream) throws IOException {
+    /**
+     * @return the information to run this strategy (computed once per context), or <code>null</code> if strategy is
+     * not applicable.
+     */
+    private OptimizedPreparationInput getOptimizedPreparationInput(ExportPlanningContext context) {
+        return context.getPlan(OptimizedExportStrategy.class, () -> {
+            try {
+                return new OptimizedPreparationInput(context).invoke();
+            } catch (IOException e) {
+                LOGGER.debug("Unable to check if optimized preparation path is applicable.", e);
+                return null;
+            }
+        });
+    }
+
+    private void performOptimizedTransform(ExportPlanningContext context, OutputStream outputStream) {
         // Initial check
         LOGGER.debug("Prepare optimized transformation");
-        final OptimizedPreparationInput optimizedPreparationInput = new OptimizedPreparationInput(parameters).invoke();
-        if (optimizedPreparationInput == null) {
+        final ExportParameters parameters = context.getParameters();
+        final OptimizedPreparationInput input = getOptimizedPreparationInput(context);
+        if (input == null) {
             throw new IllegalStateException("Unable to use this strategy (call accept() before calling this).");
         }
         LOGGER.debug("End prepare optimized transformation.");
         final String preparationId = parameters.getPreparationId();
-        final String dataSetId = optimizedPreparationInput.getDataSetId();
-        final TransformationCacheKey transformationCacheKey = optimizedPreparationInput.getTransformationCacheKey();
-        final DataSetMetadata metadata = optimizedPreparationInput.getMetadata();
-        final String previousVersion = optimizedPreparationInput.getPreviousVersion();
-        final String version = optimizedPreparationInput.getVersion();
+        final String version = input.getVersion();
         final ExportFormat format = getFormat(parameters.getExportType());
+        final ExportFormat checkpointFormat = getFormat(JsonFormat.JSON);
+
+        try {
+            // Replay steps up to each checkpoint (checkpoints are only written in cache)
+            String fromVersion = input.getPreviousVersion();
+            DataSetMetadata fromMetadata = input.getMetadata();
+            for (String checkpoint : input.getCheckpoints()) {
+                final TransformationCacheKey checkpointKey = input.getContentKey(checkpoint);
+                LOGGER.debug("Write checkpoint for preparation {} @ step #{} (key: {})", preparationId, checkpoint,
+                        checkpointKey.getKey());
+                try (OutputStream checkpointOutput = contentCache.put(checkpointKey, ContentCache.TimeToLive.DEFAULT)) {
+                    replay(input, fromVersion, fromMetadata, checkpoint, checkpointFormat, checkpointOutput);
+                } catch (Throwable e) { // NOSONAR
+                    contentCache.evict(checkpointKey);
+                    throw e;
+                }
+                fromVersion = checkpoint;
+                fromMetadata = readMetadata(cacheKeyGenerator.generateMetadataKey(preparationId, checkpoint,
+                        parameters.getFrom()));
+            }
 
-        // Get content from previous step
-        LOGGER.debug("Before get cache content");
-        try (JsonParser parser = mapper
-                .getFactory()
-                .createParser(new InputStreamReader(contentCache.get(transformationCacheKey), UTF_8));
-                final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser)) {
-            dataSet.setMetadata(metadata);
-
-            // get the actions to apply (no preparation ==> dataset export ==> no actions)
-            final String actions = getActions(preparationId, previousVersion, version);
-            final PreparationDTO preparation = getPreparation(preparationId);
-            preparation.setSteps(getMatchingSteps(preparation.getSteps(), previousVersion, version));
-
-            LOGGER.debug("Running optimized strategy for preparation {} @ step #{}", preparationId, version);
+            LOGGER.debug("Running optimized strategy for preparation {} @ step #{} (from step #{})", preparationId,
+                    version, fromVersion);
 
             // create tee to broadcast to cache + service output
             final TransformationCacheKey key = cacheKeyGenerator.generateContentKey( //
-                    dataSetId, //
+                    input.getDataSetId(), //
                     preparationId, //
                     version, //
                     parameters.getExportType(), //
@@ -131,20 +186,7 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
 
             try (final TeeOutputStream tee =
                     new TeeOutputStream(outputStream, contentCache.put(key, ContentCache.TimeToLive.DEFAULT))) {
-                final Configuration configuration = Configuration
-                        .builder() //
-                        .args(parameters.getArguments()) //
-                        .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
-                        .sourceType(parameters.getFrom())
-                        .format(format.getName()) //
-                        .actions(actions) //
-                        .preparation(preparation) //
-                        .stepId(version) //
-                        .volume(Configuration.Volume.SMALL) //
-                        .output(tee) //
-                        .limit(limit) //
-                        .build();
-                factory.get(configuration).buildExecutable(dataSet, configuration).execute();
+                replay(input, fromVersion, fromMetadata, version, format, tee);
                 tee.flush();
             } catch (Throwable e) { // NOSONAR
                 contentCache.evict(key);
@@ -157,6 +199,76 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
         }
     }
 
+    /**
+     * Apply the preparation steps after <code>fromVersion</code> up to <code>toVersion</code>, starting from the
+     * content cached for <code>fromVersion</code> (or the data set content if <code>fromVersion</code> is the root step).
+     */
+    private void replay(OptimizedPreparationInput input, String fromVersion, DataSetMetadata fromMetadata,
+            String toVersion, ExportFormat format, OutputStream output) throws IOException {
+        if (Step.ROOT_STEP.id().equals(fromVersion)) {
+            try (DataSet dataSet = getDataSet(input.getDataSetId())) {
+                transform(input, dataSet, fromVersion, toVersion, format, output);
+            }
+        } else {
+            final TransformationCacheKey fromKey = input.getContentKey(fromVersion);
+            LOGGER.debug("Previous content cache key: {}", fromKey.getKey());
+            try (JsonParser parser =
+                    mapper.getFactory().createParser(new InputStreamReader(contentCache.get(fromKey), UTF_8));
+                    final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser)) {
+                dataSet.setMetadata(fromMetadata);
+                transform(input, dataSet, fromVersion, toVersion, format, output);
+            }
+        }
+    }
+
+    private void transform(OptimizedPreparationInput input, DataSet dataSet, String fromVersion, String toVersion,
+            ExportFormat format, OutputStream output) {
+        final ExportParameters parameters = input.getParameters();
+        // get the actions to apply between the two steps (none to render step content in another format)
+        final String actions = fromVersion.equals(toVersion) ? "{\"actions\": []}"
+                : getActions(input.getPreparationId(), fromVersion, toVersion);
+        // copy the preparation: it is shared with the planning context (and its cached preparations)
+        final PreparationDTO preparation = new PreparationDTO();
+        BeanUtils.copyProperties(input.getPreparation(), preparation);
+        preparation.setSteps(getMatchingSteps(input.getSteps(), fromVersion, toVersion));
+
+        final Configuration configuration = Configuration
+                .builder() //
+                .args(parameters.getArguments()) //
+                .outFilter(rm -> filterService.build(parameters.getFilter(), rm)) //
+                .sourceType(parameters.getFrom())
+                .format(format.getName()) //
+                .actions(actions) //
+                .preparation(preparation) //
+                .stepId(toVersion) //
+                .volume(Configuration.Volume.SMALL) //
+                .output(output) //
+                .limit(limit) //
+                .build();
+        factory.get(configuration).buildExecutable(dataSet, configuration).execute();
+    }
+
+    /**
+     * @return the data set sample (read as technical user as data set might not be shared).
+     */
+    private DataSet getDataSet(String dataSetId) {
+        securityProxy.asTechnicalUserForDataSet();
+        try {
+            return datasetClient.getDataSet(dataSetId, false, true);
+        } finally {
+            securityProxy.releaseIdentity();
+        }
+    }
+
+    private DataSetMetadata readMetadata(TransformationMetadataCacheKey key) throws IOException {
+        try (InputStream input = contentCache.get(key)) {
+            if (input == null) {
+                throw new IOException("No metadata cached for key '" + key.getKey() + "'.");
+            }
+            return mapper.readerFor(DataSetMetadata.class).readValue(input);
+        }
+    }
+
     /**
      * Return the steps that are between the from and the to steps IDs.
      *
@@ -190,6 +302,8 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
      */
     private class OptimizedPreparationInput {
 
+        private final ExportPlanningContext context;
+
         private final String stepId;
 
         private final String preparationId;
@@ -202,25 +316,28 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
 
         private final ExportParameters.SourceType sourceType;
 
-        private String version;
+        private final String filter;
 
-        private DataSetMetadata metadata;
+        /** All the preparation steps (the preparation steps are modified for each replay). */
+        private List<String> steps;
 
-        private TransformationCacheKey transformationCacheKey;
+        private String version;
 
+        /** The nearest ancestor of version with cached content (or root step). */
         private String previousVersion;
 
-        private String filter;
+        private DataSetMetadata metadata;
+
+        /** The steps to write in cache while replaying steps from previous version to version. */
+        private final List<String> checkpoints = new ArrayList<>();
 
-        private OptimizedPreparationInput(ExportParameters parameters) {
+        private OptimizedPreparationInput(ExportPlanningContext context) {
+            final ExportParameters parameters = context.getParameters();
+            this.context = context;
             this.stepId = parameters.getStepId();
             this.preparationId = parameters.getPreparationId();
             this.sourceType = parameters.getFrom();
-            if (preparationId != null) {
-                this.preparation = getPreparation(preparationId);
-            } else {
-                preparation = null;
-            }
+            this.preparation = context.getPreparation();
             if (StringUtils.isEmpty(parameters.getDatasetId()) && preparation != null) {
                 this.dataSetId = preparation.getDataSetId();
             } else {
@@ -230,6 +347,22 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
             this.filter = parameters.getFilter();
         }
 
+        private ExportParameters getParameters() {
+            return context.getParameters();
+        }
+
+        private String getPreparationId() {
+            return preparationId;
+        }
+
+        private PreparationDTO getPreparation() {
+            return preparation;
+        }
+
+        private List<String> getSteps() {
+            return steps;
+        }
+
         private String getDataSetId() {
             return dataSetId;
         }
@@ -242,25 +375,56 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
             return metadata;
         }
 
-        private String getFilter() {
-            return filter;
+        private String getPreviousVersion() {
+            return previousVersion;
         }
 
-        private TransformationCacheKey getTransformationCacheKey() {
-            return transformationCacheKey;
+        private List<String> getCheckpoints() {
+            return checkpoints;
         }
 
-        private boolean applicable() {
-            try {
-                return invoke() != null;
-            } catch (IOException e) {
-                LOGGER.debug("Unable to check if optimized preparation path is applicable.", e);
-                return false;
+        /**
+         * @return the key of the cached content for the step (in JSON, whatever the export format).
+         */
+        private TransformationCacheKey getContentKey(String step) {
+            return cacheKeyGenerator.generateContentKey( //
+                    dataSetId, //
+                    preparationId, //
+                    step, //
+                    JsonFormat.JSON, //
+                    sourceType, //
+                    filter //
+            );
+        }
+
+        /**
+         * @return the indexes of the steps that may have cached content to replay <code>versionIndex</code> from,
+         * nearest first (bounded by the checkpoint lookback, whatever the preparation length).
+         */
+        private List<Integer> getCandidateIndexes(int versionIndex, boolean render) {
+            final List<Integer> candidates = new ArrayList<>();
+            if (render) {
+                candidates.add(versionIndex);
             }
+            if (versionIndex > 1) {
+                candidates.add(versionIndex - 1);
+            }
+            if (checkpointInterval > 0) {
+                int checkpoint = (versionIndex - 2) / checkpointInterval * checkpointInterval;
+                for (int i = 0; i < checkpointLookback && checkpoint > 0; i++) {
+                    candidates.add(checkpoint);
+                    checkpoint -= checkpointInterval;
+                }
+            }
+            return candidates;
         }
 
-        private String getPreviousVersion() {
-            return previousVersion;
+        /**
+         * @return <code>true</code> if both metadata and content of the step are cached.
+         */
+        private boolean isCached(String step) {
+            return context.hasCacheEntry(getContentKey(step))
+                    && context.hasCacheEntry(cacheKeyGenerator.generateMetadataKey(preparationId, step, sourceType));
         }
 
         // Extract information or returns null is not applicable.
@@ -269,47 +433,61 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
                 // Not applicable (need preparation to work on).
                 return null;
             }
-            // head is not allowed as step id
-            version = stepId;
-            previousVersion = Step.ROOT_STEP.getId();
-            final List<String> steps = new ArrayList<>(preparation.getSteps());
+            steps = new ArrayList<>(preparation.getSteps());
             if (steps.size() <= 2) {
                 LOGGER.debug("Not enough steps ({}) in preparation.", steps.size());
                 return null;
             }
+            // head is not allowed as step id
             if (StringUtils.equals("head", stepId) || StringUtils.isEmpty(stepId)) {
                 version = steps.get(steps.size() - 1);
-                previousVersion = steps.get(steps.size() - 2);
-            } else if (preparation.getSteps().indexOf(version) >= 1) {
+            } else {
                 version = stepId;
-                previousVersion = steps.get(preparation.getSteps().indexOf(version) - 1);
             }
-            // Get metadata of previous step
-            final TransformationMetadataCacheKey transformationMetadataCacheKey =
-                    cacheKeyGenerator.generateMetadataKey(preparationId, previousVersion, sourceType);
-            if (!contentCache.has(transformationMetadataCacheKey)) {
-                LOGGER.debug("No metadata cached for previous version '{}' (key for lookup: '{}')", previousVersion,
-                        transformationMetadataCacheKey.getKey());
+            final int versionIndex = steps.indexOf(version);
+            if (versionIndex < 1) {
+                LOGGER.debug("Step '{}' is not a step (other than root step) of preparation.", version);
                 return null;
             }
-            try (InputStream input = contentCache.get(transformationMetadataCacheKey)) {
-                metadata = mapper.readerFor(DataSetMetadata.class).readValue(input);
+
+            // Find nearest ancestor with cached metadata and content (or the step itself if it has to be rendered
+            // in another format). Only the steps that may be cached are looked up: the step itself, its parent
+            // (previous export of the preparation) and the last checkpoints before them.
+            final boolean render = !JsonFormat.JSON.equalsIgnoreCase(formatName);
+            int previousIndex = 0;
+            for (int candidate : getCandidateIndexes(versionIndex, render)) {
+                if (isCached(steps.get(candidate))) {
+                    previousIndex = candidate;
+                    break;
+                }
+            }
+            previousVersion = steps.get(previousIndex);
+
+            // Checkpoints content must not depend on export filter
+            if (StringUtils.isEmpty(filter)) {
+                for (int i = previousIndex + 1; checkpointInterval > 0 && i < versionIndex; i++) {
+                    if (i % checkpointInterval == 0) {
+                        checkpoints.add(steps.get(i));
+                    }
+                }
+                if (render && jsonStepCache && previousIndex < versionIndex) {
+                    checkpoints.add(version);
+                }
             }
-            transformationCacheKey = cacheKeyGenerator.generateContentKey( //
-                    dataSetId, //
-                    preparationId, //
-                    previousVersion, //
-                    formatName, //
-                    sourceType, //
-                    filter //
-            );
-            LOGGER.debug("Previous content cache key: {}", transformationCacheKey.getKey());
-            LOGGER.debug("Previous content cache key details: {}", transformationCacheKey);
 
-            if (!contentCache.has(transformationCacheKey)) {
-                LOGGER.debug("No content cached for previous version '{}'", previousVersion);
-                return null;
+            if (previousIndex == 0) {
+                // Replay from data set is only worth it (compared to the preparation export) to write checkpoints
+                final boolean fromHead = sourceType == null || sourceType == ExportParameters.SourceType.HEAD;
+                if (checkpoints.isEmpty() || !fromHead || !StringUtils.equals(dataSetId, preparation.getDataSetId())) {
+                    LOGGER.debug("No content cached for any previous version of '{}'", version);
+                    return null;
+                }
+                LOGGER.debug("Replay '{}' from data set with {} checkpoint(s)", version, checkpoints.size());
+                return this;
             }
+            LOGGER.debug("Replay '{}' from cached step '{}' ({} step(s) to replay, {} checkpoint(s))", version,
+                    previousVersion, versionIndex - previousIndex, checkpoints.size());
+            metadata = readMetadata(cacheKeyGenerator.generateMetadataKey(preparationId, previousVersion, sourceType));
             return this;
         }
     }
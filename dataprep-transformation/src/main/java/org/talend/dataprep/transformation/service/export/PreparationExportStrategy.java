@@ -71,20 +71,31 @@ public class PreparationExportStrategy extends BaseSampleExportStrategy {
 
     @Override
     public StreamingResponseBody execute(final ExportParameters parameters) {
+        return execute(newPlanningContext(parameters));
+    }
+
+    @Override
+    public StreamingResponseBody execute(final ExportPlanningContext context) {
+        final ExportParameters parameters = context.getParameters();
         final String formatName = parameters.getExportType();
         final ExportFormat format = getFormat(formatName);
         ExportUtils.setExportHeaders(parameters.getExportName(), //
                 parameters.getArguments().get(ExportFormat.PREFIX + CSVFormat.ParametersCSV.ENCODING), //
                 format);
 
-        return outputStream -> performPreparation(parameters, outputStream);
+        return outputStream -> performPreparation(context, outputStream);
     }
 
     public void performPreparation(final ExportParameters parameters, final OutputStream outputStream) {
+        performPreparation(newPlanningContext(parameters), outputStream);
+    }
+
+    private void performPreparation(final ExportPlanningContext context, final OutputStream outputStream) {
+        final ExportParameters parameters = context.getParameters();
         final String stepId = parameters.getStepId();
         final String preparationId = parameters.getPreparationId();
         final String formatName = parameters.getExportType();
-        final PreparationDTO preparation = getPreparation(preparationId, stepId);
+        final PreparationDTO preparation = context.getPreparation(stepId);
         final String dataSetId = preparation.getDataSetId();
         final ExportFormat format = getFormat(parameters.getExportType());
 
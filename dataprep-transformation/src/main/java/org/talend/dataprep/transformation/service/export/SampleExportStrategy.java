@@ -28,4 +28,26 @@ public interface SampleExportStrategy extends Predicate<ExportParameters> {
      * @return A {@link StreamingResponseBody} that streams the export data to the provided output stream.
      */
     StreamingResponseBody execute(ExportParameters parameters);
+
+    /**
+     * Check whether this strategy can export with the context parameters. Strategies that need a preparation or cache
+     * lookups should override this method and use the context to share them with other strategies.
+     *
+     * @param context the export planning context.
+     * @return <code>true</code> if this strategy can be used.
+     */
+    default boolean test(ExportPlanningContext context) {
+        return test(context.getParameters());
+    }
+
+    /**
+     * Execute export strategy with the context parameters, reusing what was resolved by
+     * {@link #test(ExportPlanningContext)}.
+     *
+     * @param context the export planning context.
+     * @return A {@link StreamingResponseBody} that streams the export data to the provided output stream.
+     */
+    default StreamingResponseBody execute(ExportPlanningContext context) {
+        return execute(context.getParameters());
+    }
 }
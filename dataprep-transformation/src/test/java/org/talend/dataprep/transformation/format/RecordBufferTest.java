@@ -0,0 +1,88 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.format;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class RecordBufferTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldWriteBufferedRecords() throws Exception {
+        shouldWriteBufferedRecords(false);
+    }
+
+    @Test
+    public void shouldWriteMemoryMappedBufferedRecords() throws Exception {
+        shouldWriteBufferedRecords(true);
+    }
+
+    private void shouldWriteBufferedRecords(boolean memoryMapped) throws Exception {
+        // Given
+        final Map<String, Object> first = new LinkedHashMap<>();
+        first.put("0000", "David Bowie");
+        first.put("0001", "Z\u00fcrich \ud83c\udfb8 \u266b");
+        first.put("0002", null);
+        first.put("tdpId", 1L);
+        final Map<String, Object> second = new LinkedHashMap<>();
+        second.put("0000", StringUtils.repeat("long value ", 10000));
+        second.put("0003", Collections.singletonMap("0000", "update"));
+        second.put("tdpId", 2L);
+
+        final StringWriter output = new StringWriter();
+        try (RecordBuffer buffer = new RecordBuffer(mapper, memoryMapped);
+                JsonGenerator generator = mapper.getFactory().createGenerator(output)) {
+            // When
+            buffer.append(first);
+            buffer.append(second);
+            generator.writeStartArray();
+            buffer.writeTo(generator);
+            generator.writeEndArray();
+        }
+
+        // Then
+        assertEquals(mapper.writeValueAsString(new Object[] { first, second }), output.toString());
+    }
+
+    @Test
+    public void testCloseCleanUp() throws Exception {
+        // Given
+        RecordBuffer buffer = new RecordBuffer(mapper, false);
+
+        Path tempFile = (Path) ReflectionTestUtils.getField(buffer, "tempFile");
+
+        // When
+        assertTrue(Files.exists(tempFile));
+        buffer.close();
+
+        // Then
+        assertFalse(Files.exists(tempFile));
+    }
+}
@@ -0,0 +1,134 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.pipeline.model;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.cache.ContentCacheKey;
+import org.talend.dataprep.transformation.api.transformer.ConfiguredCacheWriter;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+import org.talend.dataprep.transformation.pipeline.Signal;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WriterNodeTest {
+
+    @Mock
+    private TransformerWriter writer;
+
+    @Mock
+    private ConfiguredCacheWriter metadataCacheWriter;
+
+    @Mock
+    private ContentCacheKey metadataKey;
+
+    private final TaskExecutor executor = new SimpleAsyncTaskExecutor("writer-node-test-");
+
+    @Test
+    public void shouldWriteAllRowsInWriterThread() throws Exception {
+        // given
+        final WriterNode node =
+                new WriterNode(writer, metadataCacheWriter, metadataKey, new RowMetadata(), 4, executor);
+        final RowMetadata metadata = new RowMetadata();
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final DataSetRow row = new DataSetRow(new HashMap<>(singletonMap("0000", String.valueOf(i))));
+            row.setTdpId((long) i);
+            rows.add(row);
+        }
+
+        // when
+        rows.forEach(row -> node.receive(row, metadata));
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        final InOrder inOrder = inOrder(writer, metadataCacheWriter);
+        for (DataSetRow row : rows) {
+            inOrder.verify(writer).write(row);
+        }
+        inOrder.verify(writer).write(metadata);
+        inOrder.verify(writer).flush();
+        inOrder.verify(metadataCacheWriter).write(eq(metadataKey), eq(metadata));
+        assertEquals(1000, node.getCount());
+    }
+
+    @Test
+    public void shouldNotWriteRowsAfterCancel() throws Exception {
+        // given
+        final WriterNode node =
+                new WriterNode(writer, metadataCacheWriter, metadataKey, new RowMetadata(), 4, executor);
+
+        // when
+        node.signal(Signal.CANCEL);
+        node.receive(new DataSetRow(new HashMap<>(singletonMap("0000", "value"))), new RowMetadata());
+        node.signal(Signal.END_OF_STREAM);
+
+        // then
+        verify(writer, never()).write(any(DataSetRow.class));
+        verify(writer, never()).close();
+    }
+
+    @Test(timeout = 30000)
+    public void shouldRaiseWriterFailureUntilEndOfStream() throws Exception {
+        // given
+        doThrow(new IllegalStateException("on purpose")).when(writer).write(any(DataSetRow.class));
+        final WriterNode node =
+                new WriterNode(writer, metadataCacheWriter, metadataKey, new RowMetadata(), 4, executor);
+        final RowMetadata metadata = new RowMetadata();
+
+        // when (rows are received until failure is raised)
+        int failures = 0;
+        for (int i = 0; i < 1000; i++) {
+            try {
+                node.receive(new DataSetRow(new HashMap<>(singletonMap("0000", String.valueOf(i)))), metadata);
+            } catch (IllegalStateException e) {
+                assertEquals("on purpose", e.getMessage());
+                failures++;
+            }
+        }
+        try {
+            node.signal(Signal.END_OF_STREAM);
+            fail("End of stream should raise writer failure");
+        } catch (IllegalStateException e) {
+            assertEquals("on purpose", e.getMessage());
+        }
+
+        // then (failure is raised for every row once writer failed, writer is closed, no metadata is cached)
+        assertTrue(failures > 0);
+        verify(writer, times(1)).write(any(DataSetRow.class));
+        verify(writer).close();
+        verify(metadataCacheWriter, never()).write(any(ContentCacheKey.class), any());
+    }
+}
@@ -12,17 +12,30 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static junit.framework.TestCase.assertFalse;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.talend.dataprep.api.export.ExportParameters.SourceType.FILTER;
 import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.talend.ServiceBaseTest;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.export.ExportParameters;
@@ -35,6 +48,8 @@ import org.talend.dataprep.cache.TransformationCacheKey;
 
 public class CachedExportStrategyTest extends ServiceBaseTest {
 
+    private static final String JSON_CONTENT = "{\"records\":[{\"0000\":\"a\"}]}";
+
     @Autowired
     ContentCache cache;
 
@@ -64,8 +79,12 @@ public class CachedExportStrategyTest extends ServiceBaseTest {
     }
 
     private void putKeyInCache(TransformationCacheKey cacheKey) {
+        putKeyInCache(cacheKey, "{}");
+    }
+
+    private void putKeyInCache(TransformationCacheKey cacheKey, String content) {
         try (OutputStream text = cache.put(cacheKey, ContentCache.TimeToLive.DEFAULT)) {
-            text.write("{}".getBytes());
+            text.write(content.getBytes());
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -108,6 +127,61 @@ public class CachedExportStrategyTest extends ServiceBaseTest {
         assertFalse(cachedExportStrategy.test(parameters));
     }
 
+    @Test
+    public void shouldSendGzipEntryAsIsToHttpResponse() throws Exception {
+        // given
+        final ExportParameters parameters = putJsonContentInCache();
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            // when
+            cachedExportStrategy.execute(parameters).writeTo(response.getOutputStream());
+
+            // then
+            assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            final byte[] body = response.getContentAsByteArray();
+            try (InputStream content = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertEquals(JSON_CONTENT, IOUtils.toString(content, UTF_8));
+            }
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    public void shouldDecompressEntryForOtherOutputs() throws Exception {
+        // given (internal caller in a request that accepts gzip content)
+        final ExportParameters parameters = putJsonContentInCache();
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            // when
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            cachedExportStrategy.execute(parameters).writeTo(output);
+
+            // then
+            assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+            assertEquals(JSON_CONTENT, output.toString("UTF-8"));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private ExportParameters putJsonContentInCache() {
+        putKeyInCache(cacheKeyGenerator.generateContentKey("1234", "1234", "0", "JSON", HEAD, ""), JSON_CONTENT);
+        final ExportParameters parameters = new ExportParameters();
+        parameters.setDatasetId("1234");
+        parameters.setPreparationId("1234");
+        parameters.setStepId("0");
+        parameters.setExportType("JSON");
+        parameters.setFrom(HEAD);
+        return parameters;
+    }
+
     @Test
     public void shouldNotAcceptNullParameter() throws Exception {
         // Then
@@ -0,0 +1,106 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.service.export;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.talend.dataprep.api.export.ExportParameters;
+import org.talend.dataprep.api.preparation.PreparationDTO;
+
+public class ExportPlanningContextTest {
+
+    private final AtomicInteger preparationLoads = new AtomicInteger();
+
+    private final AtomicInteger cacheLookups = new AtomicInteger();
+
+    private ExportPlanningContext newContext(String preparationId) {
+        final ExportParameters parameters = new ExportParameters();
+        parameters.setPreparationId(preparationId);
+        return new ExportPlanningContext(parameters, (id, stepId) -> {
+            preparationLoads.incrementAndGet();
+            final PreparationDTO preparation = new PreparationDTO();
+            preparation.setId(id);
+            preparation.setHeadId(stepId);
+            return preparation;
+        }, key -> cacheLookups.incrementAndGet() > 0);
+    }
+
+    @Test
+    public void shouldFetchPreparationOncePerStep() {
+        // given
+        final ExportPlanningContext context = newContext("prep-1234");
+
+        // when
+        final PreparationDTO head = context.getPreparation();
+        final PreparationDTO step = context.getPreparation("step-1234");
+
+        // then
+        assertSame(head, context.getPreparation());
+        assertSame(head, context.getPreparation(null));
+        assertSame(step, context.getPreparation("step-1234"));
+        assertEquals("step-1234", step.getHeadId());
+        assertEquals(2, preparationLoads.get());
+        assertEquals(3, context.getReusedLookups());
+    }
+
+    @Test
+    public void shouldNotFetchPreparationWithoutPreparationId() {
+        // given
+        final ExportPlanningContext context = newContext("");
+
+        // then
+        assertNull(context.getPreparation());
+        assertEquals(0, preparationLoads.get());
+    }
+
+    @Test
+    public void shouldLookupCacheOncePerKey() {
+        // given
+        final ExportPlanningContext context = newContext("prep-1234");
+
+        // when
+        assertTrue(context.hasCacheEntry(() -> "key-1"));
+        assertTrue(context.hasCacheEntry(() -> "key-1"));
+        assertTrue(context.hasCacheEntry(() -> "key-2"));
+
+        // then
+        assertEquals(2, cacheLookups.get());
+        assertEquals(2, context.getCacheLookups());
+    }
+
+    @Test
+    public void shouldComputePlanOnce() {
+        // given
+        final ExportPlanningContext context = newContext("prep-1234");
+        final AtomicInteger plannings = new AtomicInteger();
+
+        // when
+        context.getPlan(OptimizedExportStrategy.class, () -> {
+            plannings.incrementAndGet();
+            return null;
+        });
+        context.getPlan(OptimizedExportStrategy.class, () -> {
+            plannings.incrementAndGet();
+            return null;
+        });
+
+        // then
+        assertEquals(1, plannings.get());
+    }
+}
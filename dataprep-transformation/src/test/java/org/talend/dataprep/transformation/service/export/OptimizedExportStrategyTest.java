@@ -12,18 +12,26 @@
 
 package org.talend.dataprep.transformation.service.export;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.talend.dataprep.api.export.ExportParameters.SourceType.HEAD;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.Preparation;
@@ -38,9 +46,14 @@ import org.talend.dataprep.transformation.service.TransformationServiceBaseTest;
 
 public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
 
+    private static final String RESOURCES = "/org/talend/dataprep/transformation/service/";
+
     @Autowired
     OptimizedExportStrategy optimizedExportStrategy;
 
+    @Autowired
+    PreparationExportStrategy preparationExportStrategy;
+
     @Autowired
     PreparationRepository preparationRepository;
 
@@ -190,7 +203,7 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
     public void testAcceptOK() throws Exception {
         // Given
         final String datasetId = "1234";
-        final String format = "";
+        final String format = "JSON";
         final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
         applyAction(preparation, "[{}]");
         applyAction(preparation, "[{}]");
@@ -208,6 +221,263 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
         assertTrue(optimizedExportStrategy.test(exportParameters));
     }
 
+    @Test
+    public void testAcceptOK_withCachedAncestorStep() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String format = "JSON";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        // only the first step (a checkpoint, not the previous one) is cached
+        final PreparationDTO preparationDetails = getPreparation(preparation);
+        putTransformationAndMetadataInCacheForSteps(Collections.singletonList(preparationDetails.getSteps().get(1)),
+                preparation, datasetId, format);
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType(format);
+        exportParameters.setFrom(HEAD);
+
+        // Then
+        ReflectionTestUtils.setField(optimizedExportStrategy, "checkpointInterval", 1);
+        try {
+            assertTrue(optimizedExportStrategy.test(exportParameters));
+        } finally {
+            ReflectionTestUtils.setField(optimizedExportStrategy, "checkpointInterval", 0);
+        }
+    }
+
+    @Test
+    public void shouldBoundCachedAncestorLookups() {
+        // given (a long preparation without anything in cache)
+        final PreparationDTO preparation = new PreparationDTO();
+        preparation.setId("prep-1234");
+        final List<String> steps = new ArrayList<>();
+        steps.add(Step.ROOT_STEP.id());
+        for (int i = 1; i <= 100; i++) {
+            steps.add("step-" + i);
+        }
+        preparation.setSteps(steps);
+
+        final ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId("prep-1234");
+        exportParameters.setExportType("JSON");
+        exportParameters.setFrom(HEAD);
+        final List<String> lookups = new ArrayList<>();
+
+        // when
+        ReflectionTestUtils.setField(optimizedExportStrategy, "checkpointInterval", 10);
+        try {
+            final ExportPlanningContext context =
+                    new ExportPlanningContext(exportParameters, (id, stepId) -> preparation, key -> {
+                        lookups.add(key.getKey());
+                        return false;
+                    });
+            optimizedExportStrategy.test(context);
+        } finally {
+            ReflectionTestUtils.setField(optimizedExportStrategy, "checkpointInterval", 0);
+        }
+
+        // then (parent step and the 3 last checkpoints)
+        final List<String> expected = new ArrayList<>();
+        for (String step : new String[] { "step-99", "step-90", "step-80", "step-70" }) {
+            expected.add(getJsonContentKey(null, "prep-1234", step).getKey());
+        }
+        assertEquals(expected, lookups);
+    }
+
+    @Test
+    public void shouldReplayFromCachedAncestorStep() throws Exception {
+        // given (step #3 is cached, head is step #4)
+        final String datasetId = createDataset(RESOURCES + "input_dataset.csv", "optimized", "text/csv");
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "optimized prep");
+        applyUpperThenLowerCase(preparation, 2);
+        final List<String> steps = getPreparation(preparation).getSteps();
+        exportWithPreparationStrategy(preparation, steps.get(3));
+
+        // data set is no longer available: content can only come from cache
+        dataSetMetadataRepository.remove(datasetId);
+
+        final ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setExportType("JSON");
+        exportParameters.setFrom(HEAD);
+
+        // when
+        assertTrue(optimizedExportStrategy.test(exportParameters));
+        final String content = execute(exportParameters);
+
+        // then
+        JSONAssert.assertEquals(getExpectedContent(), content, false);
+        assertTrue(contentCache.has(getJsonContentKey(datasetId, preparation, steps.get(4))));
+    }
+
+    @Test
+    public void shouldWriteAndReuseCheckpoints() throws Exception {
+        // given
+        final String datasetId = createDataset(RESOURCES + "input_dataset.csv", "checkpoints", "text/csv");
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "checkpoints prep");
+        applyUpperThenLowerCase(preparation, 2);
+        final ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setExportType("JSON");
+        exportParameters.setFrom(HEAD);
+
+        ReflectionTestUtils.setField(optimizedExportStrategy, "checkpointInterval", 2);
+        try {
+            // when (replay from data set)
+            assertTrue(optimizedExportStrategy.test(exportParameters));
+            final String content = execute(exportParameters);
+
+            // then (step #2 is written as checkpoint)
+            JSONAssert.assertEquals(getExpectedContent(), content, false);
+            final List<String> steps = getPreparation(preparation).getSteps();
+            assertTrue(contentCache.has(getJsonContentKey(datasetId, preparation, steps.get(2))));
+            assertTrue(contentCache.has(cacheKeyGenerator.generateMetadataKey(preparation, steps.get(2), HEAD)));
+
+            // given (only the checkpoint remains, data set is no longer available)
+            applyUpperThenLowerCase(preparation, 2);
+            contentCache.evict(getJsonContentKey(datasetId, preparation, steps.get(4)));
+            dataSetMetadataRepository.remove(datasetId);
+
+            // when (replay from checkpoint #2)
+            assertTrue(optimizedExportStrategy.test(exportParameters));
+            final String newContent = execute(exportParameters);
+
+            // then (steps #4 and #6 are written as checkpoints)
+            JSONAssert.assertEquals(getExpectedContent(), newContent, false);
+            final List<String> newSteps = getPreparation(preparation).getSteps();
+            assertTrue(contentCache.has(getJsonContentKey(datasetId, preparation, newSteps.get(4))));
+            assertTrue(contentCache.has(getJsonContentKey(datasetId, preparation, newSteps.get(6))));
+        } finally {
+            ReflectionTestUtils.setField(optimizedExportStrategy, "checkpointInterval", 0);
+        }
+    }
+
+    @Test
+    public void shouldNotModifyPlannedPreparation() throws Exception {
+        // given (step #3 is cached, head is step #4)
+        final String datasetId = createDataset(RESOURCES + "input_dataset.csv", "planned", "text/csv");
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "planned prep");
+        applyUpperThenLowerCase(preparation, 2);
+        final List<String> steps = getPreparation(preparation).getSteps();
+        exportWithPreparationStrategy(preparation, steps.get(3));
+
+        final ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setExportType("JSON");
+        exportParameters.setFrom(HEAD);
+        final List<PreparationDTO> loaded = new ArrayList<>();
+        final ExportPlanningContext context = new ExportPlanningContext(exportParameters, (id, stepId) -> {
+            final PreparationDTO preparationDTO = getPreparation(id);
+            loaded.add(preparationDTO);
+            return preparationDTO;
+        }, contentCache::has);
+
+        // when (only step #4 is replayed)
+        assertTrue(optimizedExportStrategy.test(context));
+        optimizedExportStrategy.execute(context).writeTo(new NullOutputStream());
+
+        // then
+        assertFalse(loaded.isEmpty());
+        for (PreparationDTO preparationDTO : loaded) {
+            assertEquals(steps, preparationDTO.getSteps());
+        }
+    }
+
+    /**
+     * Add <code>count</code> times an uppercase then a lowercase (filtered) action: content of every even step is
+     * the same.
+     */
+    private void applyUpperThenLowerCase(String preparationId, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            applyActionFromFile(preparationId, RESOURCES + "uppercase_action.json");
+            applyActionFromFile(preparationId, RESOURCES + "lowercase_filtered_action.json");
+        }
+    }
+
+    private void exportWithPreparationStrategy(String preparationId, String stepId) {
+        final ExportParameters parameters = new ExportParameters();
+        parameters.setPreparationId(preparationId);
+        parameters.setStepId(stepId);
+        parameters.setExportType("JSON");
+        parameters.setFrom(HEAD);
+        preparationExportStrategy.performPreparation(parameters, new NullOutputStream());
+    }
+
+    private String execute(ExportParameters parameters) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        optimizedExportStrategy.execute(parameters).writeTo(output);
+        return output.toString("UTF-8");
+    }
+
+    private TransformationCacheKey getJsonContentKey(String datasetId, String preparationId, String stepId) {
+        return cacheKeyGenerator.generateContentKey(datasetId, preparationId, stepId, "JSON", HEAD, "");
+    }
+
+    private String getExpectedContent() throws IOException {
+        return IOUtils.toString(getClass().getResourceAsStream(RESOURCES + "uppercase_expected.json"), UTF_8);
+    }
+
+    @Test
+    public void testAcceptOK_renderCachedJsonStep() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        // exported step is only cached in JSON
+        final PreparationDTO preparationDetails = getPreparation(preparation);
+        final List<String> steps = preparationDetails.getSteps();
+        putTransformationAndMetadataInCacheForSteps(Collections.singletonList(steps.get(steps.size() - 1)),
+                preparation, datasetId, "JSON");
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType("CSV");
+        exportParameters.setFrom(HEAD);
+
+        // Then (without JSON step caching, so that steps cannot be replayed from data set)
+        assertTrue(optimizedExportStrategy.test(exportParameters));
+    }
+
+    @Test
+    public void shouldRenderCachedJsonStepWithoutReplay() throws Exception {
+        // given (step #3 is cached, head is step #4)
+        final String datasetId = createDataset(RESOURCES + "input_dataset.csv", "rendered", "text/csv");
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "rendered prep");
+        applyUpperThenLowerCase(preparation, 2);
+        final List<String> steps = getPreparation(preparation).getSteps();
+        exportWithPreparationStrategy(preparation, steps.get(3));
+
+        final ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setExportType("CSV");
+        exportParameters.setFrom(HEAD);
+
+        ReflectionTestUtils.setField(optimizedExportStrategy, "jsonStepCache", true);
+        try {
+            // when (step #4 is replayed and its JSON content cached)
+            assertTrue(optimizedExportStrategy.test(exportParameters));
+            final String content = execute(exportParameters);
+            assertTrue(contentCache.has(getJsonContentKey(datasetId, preparation, steps.get(4))));
+
+            // then (no step can be replayed: step #3 and data set are no longer available)
+            contentCache.evict(getJsonContentKey(datasetId, preparation, steps.get(3)));
+            dataSetMetadataRepository.remove(datasetId);
+            assertTrue(optimizedExportStrategy.test(exportParameters));
+            assertEquals(content, execute(exportParameters));
+        } finally {
+            ReflectionTestUtils.setField(optimizedExportStrategy, "jsonStepCache", false);
+        }
+    }
+
     @Test
     public void testExecute() throws Exception {
         // Given
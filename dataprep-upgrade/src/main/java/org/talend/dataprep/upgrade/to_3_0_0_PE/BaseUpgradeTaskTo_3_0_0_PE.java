@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * This source code is available under agreement available at
+ * https://github.com/Talend/data-prep/blob/master/LICENSE
+ *
+ * You should have received a copy of the agreement
+ * along with this program; if not, write to Talend SA
+ * 9 rue Pages 92150 Suresnes, France
+ */
+
+package org.talend.dataprep.upgrade.to_3_0_0_PE;
+
+import org.talend.dataprep.upgrade.model.UpgradeTask;
+import org.talend.dataprep.upgrade.model.UpgradeTaskId;
+
+/**
+ * Base class for the 3.0.0-PE upgrade.
+ */
+public abstract class BaseUpgradeTaskTo_3_0_0_PE implements UpgradeTask {
+
+    @Override
+    public UpgradeTaskId getId() {
+        return getTaskId("3.0.0-PE", this.getClass().getSimpleName());
+    }
+
+}
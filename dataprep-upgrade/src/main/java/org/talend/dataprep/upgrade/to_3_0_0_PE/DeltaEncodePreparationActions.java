@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * This source code is available under agreement available at
+ * https://github.com/Talend/data-prep/blob/master/LICENSE
+ *
+ * You should have received a copy of the agreement
+ * along with this program; if not, write to Talend SA
+ * 9 rue Pages 92150 Suresnes, France
+ */
+
+package org.talend.dataprep.upgrade.to_3_0_0_PE;
+
+import static java.util.stream.Collectors.toList;
+import static org.talend.dataprep.upgrade.model.UpgradeTask.target.VERSION;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
+import org.talend.dataprep.preparation.store.PersistentStep;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.upgrade.model.UpgradeTask;
+
+/**
+ * Stores the preparation actions as deltas of their parent content (the content of the parent step) instead of
+ * complete lists of actions.
+ */
+@Component
+public class DeltaEncodePreparationActions extends BaseUpgradeTaskTo_3_0_0_PE {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeltaEncodePreparationActions.class);
+
+    /** The preparation repository. */
+    @Autowired
+    private PreparationRepository repository;
+
+    @Override
+    public void run() {
+        // content id -> content id of the parent step
+        final Map<String, String> parentContents = new HashMap<>();
+        repository.list(PersistentStep.class) //
+                .filter(step -> !Step.ROOT_STEP.id().equals(step.id())) //
+                .forEach(step -> {
+                    final PersistentStep parent = repository.get(step.getParentId(), PersistentStep.class);
+                    // a step may not change the content (same content as parent step), ignore it as parent content
+                    if (parent != null && !step.getContent().equals(parent.getContent())) {
+                        parentContents.putIfAbsent(step.getContent(), parent.getContent());
+                    }
+                });
+
+        final List<String> contentIds = repository.list(PreparationActions.class) //
+                .map(PreparationActions::id) //
+                .filter(id -> !PreparationActions.ROOT_ACTIONS.id().equals(id)) //
+                .filter(id -> repository.get(id, PersistentPreparationActions.class) == null) //
+                .collect(toList());
+        LOGGER.info("Starting a potentially long migration task, there are {} preparation actions to process",
+                contentIds.size());
+
+        int deltas = 0;
+        for (String contentId : contentIds) {
+            final PreparationActions content = repository.get(contentId, PreparationActions.class);
+            if (content == null) {
+                continue;
+            }
+            final PersistentPreparationActions persistentActions = new PersistentPreparationActions();
+            persistentActions.setId(contentId);
+
+            final String parentId = parentContents.get(contentId);
+            final List<Action> parentActions = getActions(parentId);
+            final List<Action> actions = content.getActions();
+            // a step with the same content as its parent step has parentId == contentId: never write it as a delta
+            if (parentActions != null && !contentId.equals(parentId) && parentActions.size() < actions.size()
+                    && parentActions.equals(actions.subList(0, parentActions.size()))) {
+                persistentActions.setParentId(parentId);
+                persistentActions.setActions(new ArrayList<>(actions.subList(parentActions.size(), actions.size())));
+                deltas++;
+            } else {
+                // parent unknown, same content or not a strict prefix of this content, keep all actions
+                persistentActions.setActions(new ArrayList<>(actions));
+            }
+            // adding the delta first: it then replaces the previous content (no window where the content is lost)
+            repository.add(persistentActions);
+        }
+        LOGGER.info("Finished storing preparation actions, {} of {} stored as deltas", deltas, contentIds.size());
+    }
+
+    /**
+     * @param contentId a content id.
+     * @return the complete list of actions of the content, or <code>null</code> if not found.
+     */
+    private List<Action> getActions(String contentId) {
+        if (contentId == null) {
+            return null;
+        }
+        final PreparationActions content = repository.get(contentId, PreparationActions.class);
+        return content == null ? null : content.getActions();
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+    @Override
+    public UpgradeTask.target getTarget() {
+        return VERSION;
+    }
+}
@@ -0,0 +1,174 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.upgrade.to_3_0_0_PE;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.conversions.BeanConversionService;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
+import org.talend.dataprep.preparation.store.PersistentPreparationRepository;
+import org.talend.dataprep.preparation.store.PersistentStep;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.preparation.store.inmemory.InMemoryPreparationRepository;
+import org.talend.dataprep.upgrade.model.UpgradeTaskId;
+
+public class DeltaEncodePreparationActionsTest extends Base_3_0_0_PE_Test {
+
+    @Autowired
+    private DeltaEncodePreparationActions task;
+
+    @Autowired
+    private PreparationRepository preparationRepository;
+
+    @Autowired
+    private BeanConversionService beanConversionService;
+
+    /** Store as seen by the task (holds the legacy complete contents before the task runs). */
+    private InMemoryPreparationRepository delegate;
+
+    private PreparationRepository repository;
+
+    @Before
+    public void setUp() {
+        delegate = new InMemoryPreparationRepository();
+        repository = new PersistentPreparationRepository(delegate, beanConversionService);
+        ReflectionTestUtils.setField(task, "repository", repository);
+    }
+
+    @After
+    public void tearDown() {
+        ReflectionTestUtils.setField(task, "repository", preparationRepository);
+    }
+
+    @Test
+    public void shouldStoreChainAsDeltas() {
+        // given root <- step1 (a) <- step2 (a, b)
+        final PreparationActions content1 = addContent(action("a"));
+        final PreparationActions content2 = addContent(action("a"), action("b"));
+        addStep("step1", Step.ROOT_STEP.id(), content1);
+        addStep("step2", "step1", content2);
+
+        // when
+        task.run();
+
+        // then
+        assertDelta(content1, PreparationActions.ROOT_ACTIONS.id(), action("a"));
+        assertDelta(content2, content1.id(), action("b"));
+        assertEquals(content2.getActions(), repository.get(content2.id(), PreparationActions.class).getActions());
+    }
+
+    @Test
+    public void shouldKeepAllActionsWhenParentIsNotPrefix() {
+        // given root <- step1 (a) <- step2 (b) (e.g. first action deleted)
+        final PreparationActions content1 = addContent(action("a"));
+        final PreparationActions content2 = addContent(action("b"));
+        addStep("step1", Step.ROOT_STEP.id(), content1);
+        addStep("step2", "step1", content2);
+
+        // when
+        task.run();
+
+        // then
+        assertDelta(content2, null, action("b"));
+        assertEquals(content2.getActions(), repository.get(content2.id(), PreparationActions.class).getActions());
+    }
+
+    @Test
+    public void shouldNotUseContentAsItsOwnParent() {
+        // given root <- step1 (a) <- step2 (a): both steps share the same content
+        final PreparationActions content1 = addContent(action("a"));
+        addStep("step1", Step.ROOT_STEP.id(), content1);
+        addStep("step2", "step1", content1);
+
+        // when
+        task.run();
+
+        // then (content is not its own parent and can still be read)
+        assertDelta(content1, PreparationActions.ROOT_ACTIONS.id(), action("a"));
+        assertEquals(content1.getActions(), repository.get(content1.id(), PreparationActions.class).getActions());
+    }
+
+    @Test
+    public void shouldKeepAllActionsWhenOnlyParentHasSameContent() {
+        // given unknown <- step1 (a) <- step2 (a): parent of step1 no longer in store
+        final PreparationActions content1 = addContent(action("a"));
+        addStep("step1", "unknown", content1);
+        addStep("step2", "step1", content1);
+
+        // when
+        task.run();
+
+        // then
+        assertDelta(content1, null, action("a"));
+        assertEquals(content1.getActions(), repository.get(content1.id(), PreparationActions.class).getActions());
+    }
+
+    private void assertDelta(PreparationActions content, String parentId, Action... actions) {
+        final PersistentPreparationActions delta = delegate.get(content.id(), PersistentPreparationActions.class);
+        assertNotNull(delta);
+        if (parentId == null) {
+            assertNull(delta.getParentId());
+        } else {
+            assertEquals(parentId, delta.getParentId());
+        }
+        assertEquals(Arrays.asList(actions), delta.getActions());
+    }
+
+    private PreparationActions addContent(Action... actions) {
+        final PreparationActions content = new PreparationActions();
+        content.setActions(new ArrayList<>(Arrays.asList(actions)));
+        delegate.add(content);
+        return content;
+    }
+
+    private void addStep(String id, String parentId, PreparationActions content) {
+        final PersistentStep step = new PersistentStep();
+        step.setId(id);
+        step.setParentId(parentId);
+        step.setContent(content.id());
+        delegate.add(step);
+    }
+
+    private static Action action(String column) {
+        final Action action = new Action();
+        action.setName("uppercase");
+        action.getParameters().put("column_id", column);
+        return action;
+    }
+
+    @Override
+    protected UpgradeTaskId getTaskId() {
+        return task.getId();
+    }
+
+    @Override
+    protected int getExpectedTaskOrder() {
+        return 1;
+    }
+
+}